@@ -0,0 +1,82 @@
+#!/bin/bash
+
+# Login throughput benchmark (HTTP Basic -> BCrypt check on every request).
+#
+# Run it against the docker-compose stack, where the app container is
+# limited to 0.5 CPU (deploy.resources.limits in docker-compose.yml):
+#
+#   docker compose up -d --build
+#   ./benchmark_logins.sh                 # 30s, 16 concurrent clients
+#   DURATION=60 CONCURRENCY=64 ./benchmark_logins.sh
+#
+# Every request authenticates as the bootstrap admin, so each one costs one
+# bcrypt verification. The request itself (/actuator/health) does no other
+# work, so requests/sec here is logins/sec.
+#
+# What to look for:
+# - 200s/sec: sustained logins/sec at the calibrated strength
+# - 503s: requests turned away by the bounded hashing pool (Retry-After),
+#   which is expected once CONCURRENCY exceeds threads + queue-capacity
+# - any other status (000 = timeout/connection error) means something is wrong
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+USERNAME="${USERNAME:-admin1}"
+PASSWORD="${PASSWORD:-default}"
+DURATION="${DURATION:-30}"
+CONCURRENCY="${CONCURRENCY:-16}"
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+if ! curl -s -o /dev/null -u "$USERNAME:$PASSWORD" "$BASE_URL/actuator/health"; then
+    echo -e "${RED}App is not reachable at $BASE_URL. Start it with: docker compose up -d --build${NC}"
+    exit 1
+fi
+
+STRENGTH=$(curl -s -u "$USERNAME:$PASSWORD" "$BASE_URL/actuator/metrics/password.hashing.strength" \
+    | grep -o '"value":[0-9.]*' | head -1 | awk -F: '{ printf "%d", $2 }')
+CPUS=$(docker inspect --format '{{.HostConfig.NanoCpus}}' "$(docker compose ps -q app 2>/dev/null)" 2>/dev/null \
+    | awk '{ if ($1 > 0) print $1 / 1000000000; else print "unlimited" }')
+echo -e "${GREEN}Benchmarking logins: ${CONCURRENCY} clients for ${DURATION}s (bcrypt strength ${STRENGTH:-?}, app CPUs ${CPUS:-unknown})${NC}"
+
+RESULTS=$(mktemp -d)
+END=$(( $(date +%s) + DURATION ))
+
+worker() {
+    while [ "$(date +%s)" -lt "$END" ]; do
+        # One status code and latency per line
+        RESULT=$(curl -s -o /dev/null -m 10 -w '%{http_code} %{time_total}' \
+            -u "$USERNAME:$PASSWORD" "$BASE_URL/actuator/health")
+        echo "$RESULT"
+        # Back off like a real client would, instead of hammering a full pool
+        # (and stealing the CPU the app needs when both run on one machine)
+        if [ "${RESULT%% *}" = "503" ]; then
+            sleep 1
+        fi
+    done > "$RESULTS/worker-$1.txt"
+}
+
+for i in $(seq 1 "$CONCURRENCY"); do
+    worker "$i" &
+done
+wait
+
+cat "$RESULTS"/worker-*.txt > "$RESULTS/all.txt"
+awk -v duration="$DURATION" '
+    { count[$1]++; total++; if ($1 == "200") ok++ }
+    END {
+        for (code in count) printf "  HTTP %s: %d\n", code, count[code]
+        printf "Logins/sec (200s): %.1f\n", ok / duration
+        printf "Requests/sec (all): %.1f\n", total / duration
+    }' "$RESULTS/all.txt"
+
+# Latency percentiles of the successful logins
+grep '^200 ' "$RESULTS/all.txt" | awk '{ print $2 * 1000 }' | sort -n > "$RESULTS/latencies.txt"
+N=$(wc -l < "$RESULTS/latencies.txt")
+if [ "$N" -gt 0 ]; then
+    P50=$(sed -n "$(( (N * 50 + 99) / 100 ))p" "$RESULTS/latencies.txt")
+    P99=$(sed -n "$(( (N * 99 + 99) / 100 ))p" "$RESULTS/latencies.txt")
+    echo "Latency of successful logins: p50 ${P50} ms, p99 ${P99} ms"
+fi
+rm -rf "$RESULTS"
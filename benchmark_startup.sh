@@ -0,0 +1,128 @@
+#!/bin/bash
+
+# Startup benchmark: how soon a new instance answers its first request, and
+# how much memory it holds by then, for each way of packaging the app.
+#
+#   mvn -B -Pfast-startup -DskipTests package     # plain jar + AOT/CDS variant
+#   mvn -B -Pnative -DskipTests native:compile    # optional, needs GraalVM
+#   ./benchmark_startup.sh                        # 5 runs per variant
+#   RUNS=10 ./benchmark_startup.sh
+#
+# Variants (skipped when not built):
+# - jar:    java -jar on the fat jar, as the Dockerfile runs it today
+# - aot-cds: the extracted jar with Spring AOT and the CDS archive
+# - native: the GraalVM native image
+#
+# Each run starts the app on its own port against an in-memory H2 database
+# and polls /actuator/health until it answers 200: that is time to first
+# request, the moment the autoscaler can send traffic. RSS is read right
+# after. Medians are printed and all runs go to target/startup-benchmark.csv.
+
+JAR="${JAR:-$(ls target/AssessmentApplication-*.jar 2>/dev/null | head -1)}"
+CDS_DIR="${CDS_DIR:-target/fast-startup}"
+NATIVE="${NATIVE:-target/assessment-application}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT="${TIMEOUT:-120}"
+CSV="target/startup-benchmark.csv"
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+# Same settings for every variant: throwaway database, bootstrap admin
+# without a slow hash, nothing scheduled
+APP_ARGS=(
+    "--server.port=$PORT"
+    "--spring.datasource.url=jdbc:h2:mem:startup"
+    "--app.security.password.bcrypt-strength=4"
+    "--app.renewals.cron=-"
+    "--app.spend-summary.reconcile-cron=-"
+)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Runs one variant once; prints "<ms to first request> <rss kB>"
+measure() {
+    local started pid rss elapsed
+    started=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    while [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health")" != "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null || [ $(( $(now_ms) - started )) -gt $(( TIMEOUT * 1000 )) ]; then
+            kill "$pid" 2>/dev/null
+            wait "$pid" 2>/dev/null
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - started ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR) print v[int((NR + 1) / 2)] }'
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local results
+    results=$(mktemp)
+    echo -e "${GREEN}$name${NC}: $RUNS runs"
+    for i in $(seq 1 "$RUNS"); do
+        if ! result=$(measure "$@"); then
+            echo -e "${RED}  run $i: no answer within ${TIMEOUT}s (or the process died)${NC}"
+            continue
+        fi
+        echo "  run $i: ${result% *} ms, RSS $(( ${result#* } / 1024 )) MB"
+        echo "$result" >> "$results"
+        echo "$name,$i,${result% *},${result#* }" >> "$CSV"
+    done
+    if [ -s "$results" ]; then
+        SUMMARY+=("$(printf '%-8s %8s ms %8s MB' "$name" \
+            "$(awk '{ print $1 }' "$results" | median)" \
+            "$(( $(awk '{ print $2 }' "$results" | median) / 1024 ))")")
+    fi
+    rm -f "$results"
+}
+
+if curl -s -o /dev/null "http://localhost:$PORT"; then
+    echo -e "${RED}Port $PORT is already in use; set PORT to a free one${NC}"
+    exit 1
+fi
+
+mkdir -p target
+echo "variant,run,first_request_ms,rss_kb" > "$CSV"
+SUMMARY=()
+
+if [ -n "$JAR" ] && [ -f "$JAR" ]; then
+    run_variant jar java -jar "$JAR"
+else
+    echo -e "${RED}No jar in target/, build it with: mvn -B -Pfast-startup -DskipTests package${NC}"
+    exit 1
+fi
+
+CDS_JAR=$(ls "$CDS_DIR"/AssessmentApplication-*.jar 2>/dev/null | head -1)
+if [ -n "$CDS_JAR" ] && [ -f "$CDS_DIR/application.jsa" ]; then
+    run_variant aot-cds java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Xlog:cds=off \
+        -Dspring.aot.enabled=true -jar "$CDS_JAR"
+else
+    echo "aot-cds: not built (mvn -B -Pfast-startup -DskipTests package), skipped"
+fi
+
+if [ -x "$NATIVE" ]; then
+    run_variant native "$NATIVE"
+else
+    echo "native: not built (mvn -B -Pnative -DskipTests native:compile), skipped"
+fi
+
+echo
+echo "Median time to first request and RSS:"
+printf '  %s\n' "${SUMMARY[@]}"
+echo "All runs: $CSV"
@@ -0,0 +1,102 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (e.g. main vs a branch) benchmark by
+ * benchmark:
+ *
+ * mvn -Pbenchmarks exec:java@compare-benchmarks -Dbaseline=old.json -Dcurrent=new.json
+ *
+ * A result counts as a regression when it is worse than the baseline by more
+ * than -Dthreshold percent (default 10) and by more than the two error
+ * margins combined, so run-to-run noise isn't reported. "Worse" means slower
+ * for time-per-op modes and fewer ops for throughput. The build fails if
+ * there is any regression.
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: BenchmarkComparison <baseline.json> <current.json>");
+        }
+        double threshold = Double.parseDouble(System.getProperty("threshold", "10"));
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.score, "new");
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100;
+            // Positive = worse, whichever direction the mode counts in
+            double worseBy = now.higherIsBetter ? -change : change;
+            boolean beyondNoise = Math.abs(now.score - before.score) > now.error + before.error;
+            String verdict = "";
+            if (worseBy > threshold && beyondNoise) {
+                verdict = "  REGRESSION";
+                regressions++;
+            } else if (worseBy < -threshold && beyondNoise) {
+                verdict = "  improved";
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s  (%s)%n", entry.getKey(), before.score, now.score,
+                    change, verdict, now.unit);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-90s %14s%n", missing, "missing in current run");
+            }
+        }
+        if (regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String mode = run.get("mode").asText();
+            JsonNode metric = run.get("primaryMetric");
+            // scoreError is "NaN" when there was only one measurement iteration
+            double error = metric.path("scoreError").asDouble(0);
+            results.put(key(run), new Result(metric.get("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                    metric.get("scoreUnit").asText(), mode.equals("thrpt")));
+        }
+        return results;
+    }
+
+    // Benchmark name plus its @Param values, e.g. SubscriptionRepositoryBenchmark.findByUserId {rows=1000}
+    private static String key(JsonNode run) {
+        String name = run.get("benchmark").asText().replace("com.example.assessmentapplication.benchmark.", "");
+        JsonNode params = run.get("params");
+        if (params == null || params.isEmpty()) {
+            return name;
+        }
+        Map<String, String> sorted = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            sorted.put(field.getKey(), field.getValue().asText());
+        }
+        return name + " " + sorted;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.assessmentapplication.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.assessmentapplication.AssessmentApplication;
+
+/**
+ * Starts the real application (services, repositories, Hibernate) against a
+ * private in-memory H2 database, without the web server. Each benchmark
+ * class gets its own database so their data can't affect each other.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        // Devtools would restart the context in a second class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(AssessmentApplication.class)
+                .properties(extraProperties)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        // SQL logging would dominate the measurements
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=OFF",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF",
+                        "management.tracing.enabled=false",
+                        "app.spend-summary.reconcile-cron=-",
+                        "app.security.password.bcrypt-strength=4")
+                .run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Serializing a page of SubscriptionResponse in each response format (see
+ * config.ResponseEncodingConfig). Time per list is the benchmark score; the
+ * bytes each format puts on the wire, with and without gzip, are printed
+ * once per trial.
+ *
+ * - json: Jackson with reflection, as before Blackbird
+ * - json-blackbird, smile, cbor: as the application serves them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({ "json", "json-blackbird", "smile", "cbor" })
+    public String format;
+
+    @Param({ "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<SubscriptionResponse> subscriptions;
+
+    @Setup(Level.Trial)
+    public void createList() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "json" -> {
+            }
+            case "json-blackbird" -> builder.modulesToInstall(new BlackbirdModule());
+            case "smile" -> builder.factory(new SmileFactory()).modulesToInstall(new BlackbirdModule());
+            case "cbor" -> builder.factory(new CBORFactory()).modulesToInstall(new BlackbirdModule());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        objectMapper = builder.build();
+
+        subscriptions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            subscriptions.add(new SubscriptionResponse(i + 1, 1, "bench-encoding", "Service " + i, "Premium",
+                    LocalDate.of(2030, 1, 1).plusDays(i % 365), BigDecimal.valueOf(999 + i, 2),
+                    i % 2 == 0 ? "USD" : "INR", 0));
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(subscriptions);
+        System.out.printf("%n[wire size] format=%s size=%d: %d bytes, %d gzipped%n", format, size, body.length,
+                gzip(body).length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(subscriptions);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts SELECT statements and the
+ * columns in their select lists, so benchmarks can report how much each
+ * read path asks the database for. Registered through
+ * hibernate.session_factory.statement_inspector; Hibernate instantiates it,
+ * hence the static counters.
+ */
+public class SelectColumnCounter implements StatementInspector {
+
+    static final AtomicLong STATEMENTS = new AtomicLong();
+    static final AtomicLong COLUMNS = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        String lower = sql.toLowerCase();
+        if (lower.startsWith("select ")) {
+            int from = lower.indexOf(" from ");
+            String selectList = lower.substring("select ".length(), from < 0 ? lower.length() : from);
+            // Generated select lists are plain column references, so commas
+            // separate columns
+            COLUMNS.addAndGet(selectList.chars().filter(c -> c == ',').count() + 1);
+            STATEMENTS.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of List<Subscription>, as returned by the listing
+ * and analytics endpoints. No database or Spring context involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionJsonBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Subscription> subscriptions;
+
+    @Setup(Level.Trial)
+    public void createList() {
+        // Same defaults (modules, date handling) as the ObjectMapper Spring MVC uses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        User user = new User();
+        user.setId(1);
+        user.setUsername("bench-json");
+        subscriptions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setId(i + 1);
+            subscription.setUser(user);
+            subscription.setServiceName("Service " + i);
+            subscription.setPlanType("Premium");
+            subscription.setNextRenewalDate(LocalDate.of(2030, 1, 1).plusDays(i % 365));
+            subscription.setAmount(BigDecimal.valueOf(999 + i, 2));
+            subscription.setCurrency(i % 2 == 0 ? "USD" : "INR");
+            subscriptions.add(subscription);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(subscriptions);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The subscription listing end to end, minus HTTP: query plus JSON.
+ *
+ * - entities: how the endpoint used to work. Load Subscription entities,
+ * then serialize them, which initializes the lazy user proxy and writes the
+ * whole User (password hash included).
+ * - projection: the current read path. One query selecting straight into
+ * SubscriptionResponse, serialized as is.
+ *
+ * The statements and selectedColumns counters report what each call asked
+ * the database for. Add the GC profiler to see allocations per call
+ * (gc.alloc.rate.norm):
+ *
+ * mvn -Pbenchmarks verify -Djmh.args="SubscriptionReadPathBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionReadPathBenchmark {
+
+    @Param({ "10", "500" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionRepository subscriptionRepository;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private int userId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SqlCounters {
+        // Per call, not totals: each invocation overwrites them
+        public long statements;
+        public long selectedColumns;
+    }
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("read_path_bench_" + rows,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SelectColumnCounter.class.getName());
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        User user = new User();
+        user.setUsername("bench-read-path");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO subscriptions (id, user_id, service_name, plan_type, next_renewal_date, amount, currency)"
+                        + " SELECT NEXT VALUE FOR subscriptions_seq, ?, 'Service ' || X, 'Premium',"
+                        + " DATEADD('DAY', MOD(X, 365), CURRENT_DATE), 1 + MOD(X, 50), 'USD'"
+                        + " FROM SYSTEM_RANGE(1, ?)",
+                userId, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities(SqlCounters counters) {
+        long statements = SelectColumnCounter.STATEMENTS.get();
+        long columns = SelectColumnCounter.COLUMNS.get();
+        // Serialized inside the transaction, as open-session-in-view used to allow
+        byte[] json = readOnly.execute(status -> {
+            List<Subscription> subscriptions = subscriptionRepository.findByUserId(userId);
+            return write(subscriptions);
+        });
+        counters.statements = SelectColumnCounter.STATEMENTS.get() - statements;
+        counters.selectedColumns = SelectColumnCounter.COLUMNS.get() - columns;
+        return json;
+    }
+
+    @Benchmark
+    public byte[] projection(SqlCounters counters) {
+        long statements = SelectColumnCounter.STATEMENTS.get();
+        long columns = SelectColumnCounter.COLUMNS.get();
+        byte[] json = readOnly.execute(status -> write(
+                subscriptionRepository.findPageByUserId(userId, 0, Limit.of(rows))));
+        counters.statements = SelectColumnCounter.STATEMENTS.get() - statements;
+        counters.selectedColumns = SelectColumnCounter.COLUMNS.get() - columns;
+        return json;
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+/**
+ * Read path for one user's subscriptions at different sizes, and the two
+ * ways of totalling them: SUM() in the database vs loading the rows and
+ * adding them up in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionRepositoryBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionRepository subscriptionRepository;
+    private TransactionTemplate readOnly;
+    private int userId;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("repository_bench_" + rows);
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        User user = new User();
+        user.setUsername("bench-repository");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        // Set-based insert: seeding 100k rows through JPA would take longer
+        // than the benchmark itself
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO subscriptions (id, user_id, service_name, plan_type, next_renewal_date, amount, currency)"
+                        + " SELECT NEXT VALUE FOR subscriptions_seq, ?, 'Service ' || X, 'Premium',"
+                        + " DATEADD('DAY', MOD(X, 365), CURRENT_DATE), 1 + MOD(X, 50), 'USD'"
+                        + " FROM SYSTEM_RANGE(1, ?)",
+                userId, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Subscription> findByUserId() {
+        return readOnly.execute(status -> subscriptionRepository.findByUserId(userId));
+    }
+
+    @Benchmark
+    public BigDecimal sumInDatabase() {
+        return subscriptionRepository.calculateAmountForUser(userId);
+    }
+
+    @Benchmark
+    public BigDecimal loadAndSumInMemory() {
+        return readOnly.execute(status -> subscriptionRepository.findByUserId(userId).stream()
+                .map(Subscription::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+}
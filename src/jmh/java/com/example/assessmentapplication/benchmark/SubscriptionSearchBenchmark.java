@@ -0,0 +1,187 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Service.SubscriptionSearchIndex;
+import com.example.assessmentapplication.dto.SearchEntry;
+import com.example.assessmentapplication.dto.SearchHit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * One page (51 hits) of subscription search over millions of synthetic
+ * subscriptions, against the scan a LIKE '%x%' query has to do.
+ *
+ * Service names are one or two words drawn from a vocabulary of 50000
+ * made-up words, skewed so a few are very common (like "Netflix" would be);
+ * plan types are one of five. Queries use a mid-frequency word.
+ *
+ * - prefix: first 4 letters of the word ("as you type")
+ * - exact: the whole word plus a plan type prefix ("word prem")
+ * - fuzzy: the word with one letter changed, typo matching on
+ * - likeScan: the baseline, a contains() over every lowercased name in
+ * memory. The database does at least this much work per keystroke, plus I/O.
+ *
+ * Load time (as at startup) and heap used by the index are printed once per
+ * trial.
+ *
+ * mvn -Pbenchmarks verify -Djmh.args="SubscriptionSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SubscriptionSearchBenchmark {
+
+    private static final String[] PLAN_TYPES = { "Basic", "Standard", "Premium", "Family", "Student" };
+    private static final int VOCABULARY = 50_000;
+    private static final int PAGE = 51;
+
+    @Param({ "1000000", "5000000" })
+    public int subscriptions;
+
+    private SubscriptionSearchIndex index;
+    private String[] lowercaseNames;
+    private String word;
+    private String typo;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+        // A mid-frequency word: rank 200 of the skewed draw below
+        word = vocabulary[200];
+        char[] letters = word.toCharArray();
+        letters[letters.length / 2] = letters[letters.length / 2] == 'x' ? 'y' : 'x';
+        typo = new String(letters);
+
+        String[] names = new String[subscriptions];
+        byte[] planTypes = new byte[subscriptions];
+        lowercaseNames = new String[subscriptions];
+        for (int i = 0; i < subscriptions; i++) {
+            String name = capitalize(vocabulary[skewed(random)]);
+            if (random.nextInt(3) == 0) {
+                name += " " + capitalize(vocabulary[skewed(random)]);
+            }
+            names[i] = name;
+            planTypes[i] = (byte) random.nextInt(PLAN_TYPES.length);
+            lowercaseNames[i] = name.toLowerCase(Locale.ROOT);
+        }
+
+        // Loaded the way the application does it, from pages of SearchEntry
+        System.gc();
+        long heapBefore = usedHeap();
+        long started = System.nanoTime();
+        index = new SubscriptionSearchIndex(pagedRepository(names, planTypes), new SimpleMeterRegistry(), true,
+                10_000);
+        index.load();
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+        System.gc();
+        System.out.printf("%n[search index] subscriptions=%d: loaded in %d ms, ~%d MB heap, query word '%s'"
+                + ", typo '%s'%n", subscriptions, loadMillis, (usedHeap() - heapBefore) / (1024 * 1024), word,
+                typo);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefix() {
+        return index.search(word.substring(0, 4), false, false, 0, PAGE);
+    }
+
+    @Benchmark
+    public List<SearchHit> exact() {
+        return index.search(word + " prem", false, false, 0, PAGE);
+    }
+
+    @Benchmark
+    public List<SearchHit> fuzzy() {
+        return index.search(typo, true, false, 0, PAGE);
+    }
+
+    @Benchmark
+    public List<Integer> likeScan() {
+        String needle = word.substring(0, 4);
+        List<Integer> hits = new ArrayList<>(PAGE);
+        for (int i = 0; i < lowercaseNames.length && hits.size() < PAGE; i++) {
+            if (lowercaseNames[i].contains(needle)) {
+                hits.add(i + 1);
+            }
+        }
+        // A LIKE can't stop at a page when sorted or counted: finish the scan
+        int matches = hits.size();
+        for (int i = hits.isEmpty() ? 0 : hits.get(hits.size() - 1); i < lowercaseNames.length; i++) {
+            if (lowercaseNames[i].contains(needle)) {
+                matches++;
+            }
+        }
+        return matches > 0 ? hits : List.of();
+    }
+
+    // Only findSearchEntriesAfter is called by SubscriptionSearchIndex.load()
+    private static SubscriptionRepository pagedRepository(String[] names, byte[] planTypes) {
+        return (SubscriptionRepository) Proxy.newProxyInstance(SubscriptionRepository.class.getClassLoader(),
+                new Class<?>[] { SubscriptionRepository.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("findSearchEntriesAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    int afterId = (Integer) args[0];
+                    int end = Math.min(names.length, afterId + ((Limit) args[1]).max());
+                    List<SearchEntry> page = new ArrayList<>(Math.max(0, end - afterId));
+                    for (int id = afterId + 1; id <= end; id++) {
+                        page.add(new SearchEntry(id, names[id - 1], PLAN_TYPES[planTypes[id - 1]]));
+                    }
+                    return page;
+                });
+    }
+
+    // Index into the vocabulary, low ranks much more likely (roughly Zipf)
+    private static int skewed(SplittableRandom random) {
+        double u = random.nextDouble();
+        return (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, u)) - 1);
+    }
+
+    private static String randomWord(SplittableRandom random) {
+        String consonants = "bcdfghjklmnprstvz";
+        String vowels = "aeiou";
+        int syllables = 2 + random.nextInt(3);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(consonants.charAt(random.nextInt(consonants.length())));
+            word.append(vowels.charAt(random.nextInt(vowels.length())));
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
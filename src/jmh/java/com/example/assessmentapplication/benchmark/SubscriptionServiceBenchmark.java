@@ -0,0 +1,98 @@
+package com.example.assessmentapplication.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+/**
+ * Write path through SubscriptionService against H2: the transaction, the
+ * user lookup, the insert/update/delete and the change event listeners
+ * (analytics cache, spend summary, renewal index).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private JdbcTemplate jdbcTemplate;
+    private int userId;
+    private int existingId;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start("service_bench");
+        subscriptionService = context.getBean(SubscriptionService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        User user = new User();
+        user.setUsername("bench-service");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        existingId = subscriptionService.createSubscription(userId, newSubscription()).id();
+    }
+
+    // create() adds a row per call; keep the table the same size across iterations
+    @TearDown(Level.Iteration)
+    public void removeCreatedRows() {
+        jdbcTemplate.update("DELETE FROM subscriptions WHERE user_id = ? AND id <> ?", userId, existingId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public SubscriptionResponse create() {
+        return subscriptionService.createSubscription(userId, newSubscription());
+    }
+
+    @Benchmark
+    public SubscriptionResponse update() {
+        Subscription changes = newSubscription();
+        changes.setAmount(BigDecimal.valueOf(10 + (counter++ % 100)));
+        return subscriptionService.updateSubscription(existingId, changes);
+    }
+
+    @Benchmark
+    public void createThenDelete() {
+        int id = subscriptionService.createSubscription(userId, newSubscription()).id();
+        subscriptionService.deleteById(id);
+    }
+
+    private Subscription newSubscription() {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName("Netflix");
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("9.99"));
+        subscription.setCurrency("USD");
+        subscription.setNextRenewalDate(LocalDate.now().plusDays(30));
+        return subscription;
+    }
+}
@@ -2,8 +2,15 @@ package com.example.assessmentapplication;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+import com.example.assessmentapplication.config.NativeHints;
+
+// R2DBC is only used for reads, through config.ReactiveDatabase. Boot's own
+// R2DBC setup would replace the JDBC DataSource that JPA and Flyway need.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ImportRuntimeHints(NativeHints.class)
 public class AssessmentApplication {
 
     public static void main(String[] args) {
@@ -9,20 +9,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.assessmentapplication.Service.SpendSummaryService;
 import com.example.assessmentapplication.Service.SubscriptionService;
-import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.dto.CurrencySpend;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
 
 @RequestMapping("api/analytics")
 @RestController() // Sets the bean name
 public class AnalyticsController {
     private final SubscriptionService subscriptionService;
+    private final SpendSummaryService spendSummaryService;
 
-    public AnalyticsController(SubscriptionService subscriptionService) {
+    public AnalyticsController(SubscriptionService subscriptionService, SpendSummaryService spendSummaryService) {
         this.subscriptionService = subscriptionService;
+        this.spendSummaryService = spendSummaryService;
     }
 
     @GetMapping("/upcomingRenewals/{userId}")
-    public List<Subscription> getUpcomingRenewals(@PathVariable int userId) {
+    public List<SubscriptionResponse> getUpcomingRenewals(@PathVariable int userId) {
         return subscriptionService.getUpcomingRenewals(userId);
     }
 
@@ -31,4 +35,9 @@ public class AnalyticsController {
         return subscriptionService.calculateTotalAmount(userId);
     }
 
+    // One row per currency, read from the user_spend_summary table
+    @GetMapping("/spendByCurrency/{userId}")
+    public List<CurrencySpend> getSpendByCurrency(@PathVariable int userId) {
+        return spendSummaryService.getSpendByCurrency(userId);
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.assessmentapplication.Controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.assessmentapplication.Service.ChangeFeed;
+
+/**
+ * Subscription changes as Server-Sent Events, instead of polling
+ * /api/subscriptions/user/{userId}.
+ *
+ * Each "changes" event carries a JSON array of changes and, as its id, the
+ * offset of the last one. To resume, reconnect with Last-Event-ID (browsers
+ * do this by themselves) or ?after=offset. A "reset" event means the changes
+ * since that offset are no longer available: re-read over REST, then keep
+ * listening. userId limits the stream to one user's subscriptions; without
+ * it the stream carries everyone's and needs ROLE_ADMIN (see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+    private final Duration timeout;
+
+    public ChangeFeedController(ChangeFeed changeFeed,
+            @Value("${app.change-feed.timeout:30m}") Duration timeout) {
+        this.changeFeed = changeFeed;
+        this.timeout = timeout;
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer userId) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : after, userId, timeout.toMillis());
+    }
+}
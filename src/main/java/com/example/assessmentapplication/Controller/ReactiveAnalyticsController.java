@@ -0,0 +1,53 @@
+package com.example.assessmentapplication.Controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.assessmentapplication.Service.ReactiveAnalyticsService;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variants of the AnalyticsController dashboard reads, same paths
+ * under /api/analytics/reactive and same JSON.
+ *
+ * Spring MVC treats a Flux/Mono return value as an async request: the
+ * Tomcat thread goes back to the pool as soon as the query is started, and
+ * the response is written when the database answers. Ask for
+ * application/x-ndjson to get the renewals streamed one JSON object per line
+ * as rows arrive; anything else gets them collected into a JSON array.
+ */
+@RequestMapping("api/analytics/reactive")
+@RestController
+public class ReactiveAnalyticsController {
+    private final ReactiveAnalyticsService reactiveAnalyticsService;
+
+    public ReactiveAnalyticsController(ReactiveAnalyticsService reactiveAnalyticsService) {
+        this.reactiveAnalyticsService = reactiveAnalyticsService;
+    }
+
+    @GetMapping("/upcomingRenewals/{userId}")
+    public Mono<List<SubscriptionResponse>> getUpcomingRenewals(@PathVariable int userId) {
+        return reactiveAnalyticsService.getUpcomingRenewals(userId).collectList();
+    }
+
+    // Separate mapping: MVC streams any Flux it may send as NDJSON, so
+    // without it a client accepting */* would get NDJSON instead of an array
+    @GetMapping(value = "/upcomingRenewals/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SubscriptionResponse> streamUpcomingRenewals(@PathVariable int userId) {
+        return reactiveAnalyticsService.getUpcomingRenewals(userId);
+    }
+
+    @GetMapping("/totalAmount/{userId}")
+    public Mono<BigDecimal> getTotalAmount(@PathVariable int userId) {
+        return reactiveAnalyticsService.calculateTotalAmount(userId);
+    }
+}
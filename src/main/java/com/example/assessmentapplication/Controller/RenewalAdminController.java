@@ -0,0 +1,59 @@
+package com.example.assessmentapplication.Controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.assessmentapplication.Service.RenewalEngine;
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.RenewalRunReport;
+import com.example.assessmentapplication.dto.SubscriptionPage;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+@RestController
+@RequestMapping("/api/admin/renewals")
+public class RenewalAdminController {
+
+    private final RenewalEngine renewalEngine;
+    private final SubscriptionService subscriptionService;
+
+    public RenewalAdminController(RenewalEngine renewalEngine, SubscriptionService subscriptionService) {
+        this.renewalEngine = renewalEngine;
+        this.subscriptionService = subscriptionService;
+    }
+
+    // Everything renewing between from and to (inclusive) across all users,
+    // for billing. Dates are ISO (2025-01-31); the window defaults to the next
+    // 7 days. Paginated like /api/subscriptions/user/{userId}: follow the
+    // X-Next-Cursor header until it is absent.
+    @GetMapping
+    public ResponseEntity<List<SubscriptionResponse>> getRenewalsDue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        SubscriptionPage page = subscriptionService.getRenewalsDue(from, to, cursor, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.add(SubscriptionController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    // Runs the scheduled renewal pass on demand. Partitions another node is
+    // working on are skipped; 409 while a pass is already running on this
+    // node (the scheduled one or an earlier call).
+    @PostMapping("/run")
+    public RenewalRunReport run() {
+        return renewalEngine.runOnce();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.assessmentapplication.Controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.assessmentapplication.Service.SpendSummaryReconciler;
+import com.example.assessmentapplication.dto.SpendReconcileReport;
+
+@RestController
+@RequestMapping("/api/admin/spend-summary")
+public class SpendSummaryAdminController {
+
+    private final SpendSummaryReconciler reconciler;
+
+    public SpendSummaryAdminController(SpendSummaryReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    // Runs the same check as the nightly job, on demand (e.g. after a manual
+    // data fix, or to fill the table for existing data)
+    @PostMapping("/reconcile")
+    public SpendReconcileReport reconcile() {
+        return reconciler.reconcileAll();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.assessmentapplication.Controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +12,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.IdBatchRequest;
+import com.example.assessmentapplication.dto.SubscriptionPage;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.dto.UserSubscriptions;
 import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.exception.BadRequestException;
+import com.example.assessmentapplication.exception.PreconditionFailedException;
 
 import jakarta.validation.Valid;
 
@@ -26,39 +36,101 @@ public class SubscriptionController {
     @Autowired
     private SubscriptionService subscriptionService;
 
-    // 1. Get All Subscriptions for a User
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // 1. Get All Subscriptions for a User, one page at a time.
+    // The body stays a plain JSON array; the continuation token for the next
+    // page travels in the X-Next-Cursor header (absent on the last page).
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Subscription>> getAllSubscriptions(@PathVariable int userId) {
-        List<Subscription> subscriptions = subscriptionService.getSubscriptionByUserId(userId);
-        return new ResponseEntity<>(subscriptions, HttpStatus.OK);
+    public ResponseEntity<List<SubscriptionResponse>> getAllSubscriptions(@PathVariable int userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        SubscriptionPage page = subscriptionService.getSubscriptionPage(userId, cursor, size, sort);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
     }
 
     @PostMapping("/user/{userId}")
-    public ResponseEntity<Subscription> createSubscription(@PathVariable int userId,
+    public ResponseEntity<SubscriptionResponse> createSubscription(@PathVariable int userId,
             @Valid @RequestBody Subscription subscription) {
-        Subscription createdSubscription = subscriptionService.createSubscription(userId, subscription);
-        return new ResponseEntity<>(createdSubscription, HttpStatus.CREATED);
+        SubscriptionResponse createdSubscription = subscriptionService.createSubscription(userId, subscription);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(createdSubscription)).body(createdSubscription);
+    }
+
+    // Batch reads for callers that need many users at once. Each takes
+    // {"ids": [...]} and costs a handful of IN-list queries however many ids
+    // are sent (up to app.subscriptions.batch.max-ids).
+    @PostMapping("/batch/by-user")
+    public ResponseEntity<List<UserSubscriptions>> getSubscriptionsForUsers(
+            @Valid @RequestBody IdBatchRequest request,
+            @RequestParam(defaultValue = "false") boolean includeUser) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionsForUsers(request.ids(), includeUser));
+    }
+
+    @PostMapping("/batch/by-id")
+    public ResponseEntity<List<SubscriptionResponse>> getSubscriptionsByIds(
+            @Valid @RequestBody IdBatchRequest request) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionsByIds(request.ids()));
     }
 
+    // Single subscriptions carry their version as a strong ETag ("3").
+    // GET with If-None-Match: "3" answers 304 with no body while it is
+    // unchanged; PUT/DELETE with If-Match: "3" only go through if nobody
+    // changed it since (412 otherwise). Without If-Match they still never
+    // overwrite a concurrent change, but fail with 409 instead.
     @GetMapping("/{id}")
-    public ResponseEntity<Subscription> getSubscriptionById(@PathVariable int id) {
-        Subscription subscription = subscriptionService.getSubscriptionById(id);
-        return new ResponseEntity<>(subscription, HttpStatus.OK);
+    public ResponseEntity<SubscriptionResponse> getSubscriptionById(@PathVariable int id, WebRequest request) {
+        SubscriptionResponse subscription = subscriptionService.getSubscriptionById(id);
+        if (request.checkNotModified(eTag(subscription))) {
+            return null; // 304, headers already set
+        }
+        return ResponseEntity.ok().eTag(eTag(subscription)).body(subscription);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Subscription> updateSubscription(@PathVariable int id,
-            @Valid @RequestBody Subscription subscription)
+    public ResponseEntity<SubscriptionResponse> updateSubscription(@PathVariable int id,
+            @Valid @RequestBody Subscription subscription,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     // id is also taken as input to verify if the subscription exists and we're
     // updating the correct subscription
     {
-        Subscription updatedSubscription = subscriptionService.updateSubscription(id, subscription);
-        return new ResponseEntity<>(updatedSubscription, HttpStatus.OK);
+        SubscriptionResponse updatedSubscription = subscriptionService.updateSubscription(id, subscription,
+                ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedSubscription)).body(updatedSubscription);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteSubscription(@PathVariable int id) {
-        subscriptionService.deleteById(id);
+    public ResponseEntity<String> deleteSubscription(@PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        subscriptionService.deleteById(id, ifMatchVersion(ifMatch));
         return new ResponseEntity<>("Subscription deleted successfully", HttpStatus.OK);
     }
+
+    private static String eTag(SubscriptionResponse subscription) {
+        return "\"" + subscription.version() + "\"";
+    }
+
+    // The version in an If-Match header, or null for none / "*". A weak or
+    // malformed tag can never match (If-Match compares strongly).
+    static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new BadRequestException("If-Match must name a single ETag");
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through: not one of our ETags
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the subscription", null);
+    }
 }
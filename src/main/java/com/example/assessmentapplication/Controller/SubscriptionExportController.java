@@ -0,0 +1,50 @@
+package com.example.assessmentapplication.Controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.assessmentapplication.Service.ExportFormat;
+import com.example.assessmentapplication.Service.SubscriptionExportService;
+import com.example.assessmentapplication.config.AsyncTimeoutConfig;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/admin/subscriptions")
+public class SubscriptionExportController {
+
+    private final SubscriptionExportService exportService;
+    private final Duration requestTimeout;
+
+    public SubscriptionExportController(SubscriptionExportService exportService,
+            @Value("${app.export.request-timeout:1h}") Duration requestTimeout) {
+        this.exportService = exportService;
+        this.requestTimeout = requestTimeout;
+    }
+
+    // StreamingResponseBody writes straight to the socket from an async
+    // thread, so the response is never built up in memory. Only this
+    // request gets the long timeout, see AsyncTimeoutConfig.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        request.setAttribute(AsyncTimeoutConfig.TIMEOUT_ATTRIBUTE, requestTimeout);
+        StreamingResponseBody body = out -> exportService.export(out, exportFormat);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"subscriptions." + exportFormat.fileExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.assessmentapplication.Controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.assessmentapplication.Service.SubscriptionImportService;
+import com.example.assessmentapplication.dto.ImportResult;
+
+/**
+ * Bulk import of subscriptions. The same endpoint accepts a JSON array, a raw
+ * CSV body or a CSV file upload; Spring picks the method by Content-Type.
+ * Bad rows are reported in the result instead of failing the whole request.
+ */
+@RestController
+@RequestMapping("/api/subscriptions/import")
+public class SubscriptionImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final SubscriptionImportService importService;
+
+    public SubscriptionImportController(SubscriptionImportService importService) {
+        this.importService = importService;
+    }
+
+    // Reads the body itself rather than binding a List, so the row limit is
+    // checked while parsing instead of after the whole array is in memory
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResult> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importJson(body));
+    }
+
+    @PostMapping(consumes = TEXT_CSV)
+    public ResponseEntity<ImportResult> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(reader(body)));
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importCsv(reader(in)));
+        }
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
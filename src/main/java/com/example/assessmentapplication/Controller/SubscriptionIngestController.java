@@ -0,0 +1,56 @@
+package com.example.assessmentapplication.Controller;
+
+import java.net.URI;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.assessmentapplication.Service.SubscriptionIngestBuffer;
+import com.example.assessmentapplication.dto.IngestStatus;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.exception.ResourceNotFoundException;
+
+import jakarta.validation.Valid;
+
+/**
+ * Asynchronous subscription creation for high-volume callers (partner
+ * syncs). Only present with app.ingest.enabled=true.
+ *
+ * POST answers 202 Accepted with a ticket and a Location to poll; the row is
+ * written shortly after, together with others (see SubscriptionIngestBuffer).
+ * A full queue answers 503 with Retry-After.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+@ConditionalOnProperty(name = "app.ingest.enabled", havingValue = "true")
+public class SubscriptionIngestController {
+
+    private final SubscriptionIngestBuffer ingestBuffer;
+
+    public SubscriptionIngestController(SubscriptionIngestBuffer ingestBuffer) {
+        this.ingestBuffer = ingestBuffer;
+    }
+
+    @PostMapping("/user/{userId}/async")
+    public ResponseEntity<IngestStatus> createSubscriptionAsync(@PathVariable int userId,
+            @Valid @RequestBody Subscription subscription) {
+        IngestStatus status = ingestBuffer.submit(userId, subscription);
+        return ResponseEntity.accepted().location(URI.create("/api/subscriptions/ingest/" + status.ticket()))
+                .body(status);
+    }
+
+    @GetMapping("/ingest/{ticket}")
+    public IngestStatus getIngestStatus(@PathVariable String ticket) {
+        IngestStatus status = ingestBuffer.status(ticket);
+        if (status == null) {
+            throw new ResourceNotFoundException("Unknown or expired ticket");
+        }
+        return status;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.assessmentapplication.Controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.SubscriptionPage;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+// Search across every user's subscriptions, for support staff, so admin only
+@RestController
+@RequestMapping("/api/admin/subscriptions")
+public class SubscriptionSearchController {
+
+    private final SubscriptionService subscriptionService;
+
+    public SubscriptionSearchController(SubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    // ?q=netflix prem matches subscriptions with a word starting with
+    // "netflix" and one starting with "prem" in serviceName or planType.
+    // With fuzzy (the default), near misses like "netflx" follow the exact
+    // matches. Paginated like /api/subscriptions/user/{userId}: follow the
+    // X-Next-Cursor header until it is absent. 503 while the index loads.
+    @GetMapping("/search")
+    public ResponseEntity<List<SubscriptionResponse>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        SubscriptionPage page = subscriptionService.searchSubscriptions(q, fuzzy, cursor, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.add(SubscriptionController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.assessmentapplication.Controller;
 
 import com.example.assessmentapplication.Service.UserService;
-import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.dto.RegisterRequest;
+import com.example.assessmentapplication.dto.UserResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
@@ -18,14 +19,18 @@ public class UserController {
         this.userService = userService;
     }
 
+    // Returns a UserResponse rather than the entity, so the password hash
+    // can't leak into the response
     @GetMapping("/getUser")
-    public User getUser(@RequestParam("username") String username) {
+    public UserResponse getUser(@RequestParam("username") String username) {
         log.info("Fetching user with username: {}", username);
         return userService.findByUsername(username);
     }
 
+    // Open to anonymous callers (see SecurityConfig), so it binds only the
+    // credentials, never the User entity
     @PostMapping("/register")
-    public void registerUser(@RequestBody @Valid User user) {
-        userService.registerUser(user);
+    public void registerUser(@RequestBody @Valid RegisterRequest request) {
+        userService.registerUser(request);
     }
 }
@@ -0,0 +1,29 @@
+package com.example.assessmentapplication.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.assessmentapplication.entity.JobLease;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Compare-and-set on the lease row: succeeds (returns 1) only if the
+    // lease is free, expired, or already ours. Two nodes racing for the same
+    // lease can't both win, the row lock makes the second UPDATE see the
+    // first one's owner. "Ours" means this node, not this caller: work that
+    // can be started twice on one node needs its own guard (see RenewalEngine).
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :until"
+            + " WHERE l.name = :name AND (l.owner = :owner OR l.owner IS NULL OR l.expiresAt < :now)")
+    int claim(@Param("name") String name, @Param("owner") String owner, @Param("now") long now,
+            @Param("until") long until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = NULL, l.expiresAt = 0 WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,34 @@
+package com.example.assessmentapplication.Repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.assessmentapplication.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Committed rows the relay hasn't given an offset yet, oldest first
+    @Query("SELECT e FROM OutboxEvent e WHERE e.feedOffset IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnsequenced(Limit limit);
+
+    @Query("SELECT MAX(e.feedOffset) FROM OutboxEvent e")
+    Long findHeadOffset();
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.feedOffset > :after ORDER BY e.feedOffset")
+    List<OutboxEvent> findSequencedAfter(@Param("after") long after, Limit limit);
+
+    // The newest sequenced rows, newest first: fills the replay buffer at startup
+    @Query("SELECT e FROM OutboxEvent e WHERE e.feedOffset IS NOT NULL ORDER BY e.feedOffset DESC")
+    List<OutboxEvent> findLatestSequenced(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :cutoff AND e.feedOffset IS NOT NULL")
+    int deleteSequencedBefore(@Param("cutoff") long cutoff);
+}
@@ -0,0 +1,66 @@
+package com.example.assessmentapplication.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Repository;
+
+import com.example.assessmentapplication.config.ReactiveDatabase;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The analytics reads of SubscriptionRepository, over R2DBC. Same results
+ * (ReactiveAnalyticsIT compares them), but nothing blocks: rows are emitted
+ * one by one as the driver decodes them.
+ *
+ * Plain SQL, as there is no JPA here. The queries use the same indexes as
+ * their JPQL counterparts: idx_subscriptions_user_renewal and
+ * idx_subscriptions_user_amount.
+ */
+@Repository
+public class ReactiveAnalyticsRepository {
+
+    private final ReactiveDatabase database;
+
+    public ReactiveAnalyticsRepository(ReactiveDatabase database) {
+        this.database = database;
+    }
+
+    // Ordered, unlike the JPQL version, so a streamed response arrives in a
+    // stable order
+    public Flux<SubscriptionResponse> findUpcomingRenewals(int userId, LocalDate startDate, LocalDate endDate) {
+        return database.client()
+                .sql("SELECT s.id, u.id AS user_id, u.username, s.service_name, s.plan_type,"
+                        + " s.next_renewal_date, s.amount, s.currency, s.version"
+                        + " FROM subscriptions s JOIN users u ON u.id = s.user_id"
+                        + " WHERE s.user_id = :userId AND s.next_renewal_date BETWEEN :startDate AND :endDate"
+                        + " ORDER BY s.next_renewal_date, s.id")
+                .bind("userId", userId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map(ReactiveAnalyticsRepository::toResponse)
+                .all()
+                .subscribeOn(database.scheduler());
+    }
+
+    public Mono<BigDecimal> calculateAmountForUser(int userId) {
+        return database.client()
+                .sql("SELECT COALESCE(SUM(s.amount), 0) AS total FROM subscriptions s WHERE s.user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("total", BigDecimal.class))
+                .one()
+                .subscribeOn(database.scheduler());
+    }
+
+    private static SubscriptionResponse toResponse(Readable row) {
+        return new SubscriptionResponse(row.get("id", Integer.class), row.get("user_id", Integer.class),
+                row.get("username", String.class), row.get("service_name", String.class),
+                row.get("plan_type", String.class), row.get("next_renewal_date", LocalDate.class),
+                row.get("amount", BigDecimal.class), row.get("currency", String.class),
+                row.get("version", Long.class));
+    }
+}
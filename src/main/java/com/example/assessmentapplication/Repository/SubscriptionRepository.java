@@ -2,29 +2,165 @@ package com.example.assessmentapplication.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.example.assessmentapplication.dto.RenewalEntry;
+import com.example.assessmentapplication.dto.SearchEntry;
+import com.example.assessmentapplication.dto.SpendTotal;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
 import com.example.assessmentapplication.entity.Subscription;
 
+import jakarta.persistence.QueryHint;
+
 public interface SubscriptionRepository extends JpaRepository<Subscription, Integer>
 // Subscription is the entity class and Integer is the type of the primary key
 {
     // Find by Id method not needed because JpaRepository already provides
     // it(Returns Optional<Subscription>)
 
-    // Derived Query Method(Spring takes care of generating the SQL query)
-    List<Subscription> findByUserId(int userid); // Just method definition is enough as Spring Data JPA will
-                                                 // automatically generate the query
-
-    List<Subscription> findByUserIdAndNextRenewalDateBetween(int userid, LocalDate startDate, LocalDate endDate);
+    // Written out rather than derived: the derived version LEFT JOINs users
+    // and filters on users.id, which the database can't use to look up
+    // subscriptions by user_id, so it scanned the whole table. s.user.id
+    // compiles to the foreign key column itself.
+    @Query("SELECT s FROM Subscription s WHERE s.user.id = :userId")
+    List<Subscription> findByUserId(@Param("userId") int userid);
 
+    // readOnly here (and on findUpcomingRenewals): SubscriptionService calls
+    // both outside a transaction, and this lets a read replica serve them
+    @Transactional(readOnly = true)
     @Query("SELECT COALESCE(SUM(s.amount),0) FROM Subscription s WHERE s.user.id = :userId")
     // COALESCE is a SQL function that returns the first non-null value in the list
     // of arguments
     // :userId is a named parameter
     BigDecimal calculateAmountForUser(@Param("userId") int userid);
+
+    // Per-currency totals straight from the base table. Only the spend
+    // summary reconciler uses this; the API reads user_spend_summary instead.
+    @Query("SELECT new com.example.assessmentapplication.dto.SpendTotal(s.user.id, COALESCE(s.currency, 'USD'),"
+            + " COUNT(s), SUM(s.amount)) FROM Subscription s WHERE s.user.id IN :userIds"
+            + " GROUP BY s.user.id, COALESCE(s.currency, 'USD')")
+    List<SpendTotal> sumByUserAndCurrency(@Param("userIds") Collection<Integer> userIds);
+
+    // Read-side projection shared by the queries below: the subscription's
+    // own columns plus the owner's id and username, one row per subscription.
+    // The results are DTOs, so nothing ends up in the persistence context.
+    String SELECT_RESPONSE = "SELECT new com.example.assessmentapplication.dto.SubscriptionResponse(s.id, u.id,"
+            + " u.username, s.serviceName, s.planType, s.nextRenewalDate, s.amount, s.currency, s.version)"
+            + " FROM Subscription s JOIN s.user u";
+
+    @Query(SELECT_RESPONSE + " WHERE s.id = :id")
+    Optional<SubscriptionResponse> findResponseById(@Param("id") int id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + " WHERE u.id = :userId AND s.nextRenewalDate BETWEEN :startDate AND :endDate")
+    List<SubscriptionResponse> findUpcomingRenewals(@Param("userId") int userid,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Keyset pagination queries. Limit becomes a LIMIT clause and, unlike
+    // Pageable, never triggers an extra COUNT query.
+
+    // Sort by id: "everything after the last id I saw"
+    @Query(SELECT_RESPONSE + " WHERE u.id = :userId AND s.id > :afterId ORDER BY s.id ASC")
+    List<SubscriptionResponse> findPageByUserId(@Param("userId") int userid, @Param("afterId") int afterId,
+            Limit limit);
+
+    // Sort by nextRenewalDate: first page of the dated rows
+    @Query(SELECT_RESPONSE + " WHERE u.id = :userId AND s.nextRenewalDate IS NOT NULL"
+            + " ORDER BY s.nextRenewalDate ASC, s.id ASC")
+    List<SubscriptionResponse> findRenewalPage(@Param("userId") int userid, Limit limit);
+
+    // Sort by nextRenewalDate: rows after (afterDate, afterId). The id breaks
+    // ties between subscriptions renewing on the same day.
+    @Query(SELECT_RESPONSE + " WHERE u.id = :userId AND s.nextRenewalDate IS NOT NULL"
+            + " AND (s.nextRenewalDate > :afterDate OR (s.nextRenewalDate = :afterDate AND s.id > :afterId))"
+            + " ORDER BY s.nextRenewalDate ASC, s.id ASC")
+    List<SubscriptionResponse> findRenewalPageAfter(@Param("userId") int userid,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") int afterId, Limit limit);
+
+    // Sort by nextRenewalDate: subscriptions without a renewal date come last,
+    // ordered by id
+    @Query(SELECT_RESPONSE + " WHERE u.id = :userId AND s.nextRenewalDate IS NULL AND s.id > :afterId"
+            + " ORDER BY s.id ASC")
+    List<SubscriptionResponse> findUndatedPage(@Param("userId") int userid, @Param("afterId") int afterId,
+            Limit limit);
+
+    // Renewal windows across all users, used until the renewal calendar index
+    // has loaded. Served by the (next_renewal_date, id) index.
+    @Query(SELECT_RESPONSE + " WHERE s.nextRenewalDate BETWEEN :from AND :to"
+            + " ORDER BY s.nextRenewalDate ASC, s.id ASC")
+    List<SubscriptionResponse> findRenewalsDue(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + " WHERE s.nextRenewalDate BETWEEN :from AND :to"
+            + " AND (s.nextRenewalDate > :afterDate OR (s.nextRenewalDate = :afterDate AND s.id > :afterId))"
+            + " ORDER BY s.nextRenewalDate ASC, s.id ASC")
+    List<SubscriptionResponse> findRenewalsDueAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") int afterId, Limit limit);
+
+    // Ids and dates only, in id order, for loading the renewal calendar index
+    @Query("SELECT new com.example.assessmentapplication.dto.RenewalEntry(s.id, s.nextRenewalDate)"
+            + " FROM Subscription s WHERE s.id > :afterId AND s.nextRenewalDate IS NOT NULL ORDER BY s.id")
+    List<RenewalEntry> findRenewalEntriesAfter(@Param("afterId") int afterId, Limit limit);
+
+    // Ids and searchable text only, in id order, for loading the search index
+    @Query("SELECT new com.example.assessmentapplication.dto.SearchEntry(s.id, s.serviceName, s.planType)"
+            + " FROM Subscription s WHERE s.id > :afterId ORDER BY s.id")
+    List<SearchEntry> findSearchEntriesAfter(@Param("afterId") int afterId, Limit limit);
+
+    // Renewals that have passed, for one partition of users (user_id MOD
+    // partitions). The date range comes from the (next_renewal_date, id)
+    // index, so only due rows are read, never the whole table.
+    @Query("SELECT s FROM Subscription s WHERE s.nextRenewalDate < :today"
+            + " AND MOD(s.user.id, :partitions) = :partition ORDER BY s.nextRenewalDate, s.id")
+    List<Subscription> findDueInPartition(@Param("today") LocalDate today, @Param("partitions") int partitions,
+            @Param("partition") int partition, Limit limit);
+
+    @Query(SELECT_RESPONSE + " WHERE s.id IN :ids")
+    List<SubscriptionResponse> findResponsesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Batch lookup for many users at once. Ordered so the caller can group
+    // the rows by user in a single pass.
+    @Query(SELECT_RESPONSE + " WHERE u.id IN :userIds ORDER BY u.id, s.id")
+    List<SubscriptionResponse> findResponsesByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+    // Conditional writes: one statement each, no entity loaded or
+    // dirty-checked. They only touch the row while it still has the version
+    // the caller read, so they return 0 (and change nothing) if the row is
+    // gone or someone else changed it in between.
+    @Modifying
+    @Query("UPDATE Subscription s SET s.serviceName = :serviceName, s.planType = :planType,"
+            + " s.nextRenewalDate = :nextRenewalDate, s.amount = :amount, s.currency = :currency,"
+            + " s.version = s.version + 1 WHERE s.id = :id AND s.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") long version,
+            @Param("serviceName") String serviceName, @Param("planType") String planType,
+            @Param("nextRenewalDate") LocalDate nextRenewalDate, @Param("amount") BigDecimal amount,
+            @Param("currency") String currency);
+
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.id = :id AND s.version = :version")
+    int deleteIfVersion(@Param("id") int id, @Param("version") long version);
+
+    // Forward-only cursor over the whole table for exports. The fetch size
+    // makes the driver pull rows from the database in chunks instead of all
+    // at once (MySQL also needs useCursorFetch=true on the JDBC URL), and the
+    // read-only hint stops Hibernate from keeping dirty-checking snapshots.
+    // Must be called inside a transaction and closed after use.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Subscription s ORDER BY s.id")
+    Stream<Subscription> streamAllForExport();
 }
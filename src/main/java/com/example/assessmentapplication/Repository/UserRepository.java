@@ -1,12 +1,46 @@
 package com.example.assessmentapplication.Repository;
 
+import com.example.assessmentapplication.dto.UserResponse;
 import com.example.assessmentapplication.entity.User;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByUsername(String username);
     // We need to declare this as username is not a primary key
 
-}
\ No newline at end of file
+    boolean existsByUsername(String username);
+
+    // For GET /getUser: the public fields only, the password hash is never read
+    @Query("SELECT new com.example.assessmentapplication.dto.UserResponse(u.id, u.username, u.role)"
+            + " FROM User u WHERE u.username = :username")
+    Optional<UserResponse> findResponseByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.example.assessmentapplication.dto.UserResponse(u.id, u.username, u.role)"
+            + " FROM User u WHERE u.id IN :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Only the ids, so checking thousands of users doesn't load thousands of
+    // entities
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // Keyset walk over all user ids, for jobs that visit every user
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Limit limit);
+
+    // SELECT ... FOR UPDATE: serializes writers that touch the same user
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    List<User> lockAllById(@Param("ids") Collection<Integer> ids);
+}
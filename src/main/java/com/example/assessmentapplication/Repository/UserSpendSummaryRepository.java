@@ -0,0 +1,42 @@
+package com.example.assessmentapplication.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.assessmentapplication.entity.UserSpendSummary;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserSpendSummaryRepository extends JpaRepository<UserSpendSummary, UserSpendSummary.Key> {
+
+    // Primary key prefix lookup: one row per currency the user pays in
+    List<UserSpendSummary> findByUserIdOrderByCurrencyAsc(int userId);
+
+    // Used by the reconciler, which already holds the users' locks; locking
+    // the rows as well keeps them safe from writes that bypass the service
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<UserSpendSummary> findByUserIdIn(Collection<Integer> userIds);
+
+    // Relative update, so concurrent writers never overwrite each other's
+    // changes. Returns 0 when the row doesn't exist yet.
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserSpendSummary s SET s.subscriptionCount = s.subscriptionCount + :countDelta,"
+            + " s.totalAmount = s.totalAmount + :amountDelta WHERE s.userId = :userId AND s.currency = :currency")
+    int applyDelta(@Param("userId") int userId, @Param("currency") String currency,
+            @Param("countDelta") long countDelta, @Param("amountDelta") BigDecimal amountDelta);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserSpendSummary s WHERE s.userId = :userId AND s.currency = :currency"
+            + " AND s.subscriptionCount <= 0")
+    int deleteIfEmpty(@Param("userId") int userId, @Param("currency") String currency);
+}
@@ -0,0 +1,147 @@
+package com.example.assessmentapplication.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-user cache for the analytics endpoints, which dashboards poll far more
+ * often than the underlying subscriptions change.
+ *
+ * - Bounded: at most max-size users per cache, least valuable entries are
+ * evicted first (Caffeine's W-TinyLFU policy).
+ * - TTL: entries expire after ttl even if nobody invalidates them.
+ * - Precise invalidation: when a subscription changes, only its owner's
+ * entries are dropped, and only after the change has committed.
+ * - Midnight rollover: "upcoming renewals" depends on today's date, so those
+ * entries also expire at the next midnight.
+ * - Replica lag: with read replicas, a miss right after a change may be
+ * served by a replica that hasn't caught up yet (only the writer is pinned
+ * to the primary). For the read-your-writes window after a user's change,
+ * that user's values are loaded but not cached, so a stale read isn't kept
+ * for the whole TTL.
+ *
+ * Hit, miss, eviction and size metrics are published to Micrometer as
+ * cache.gets / cache.evictions / cache.size with cache=analytics.*.
+ */
+@Component
+public class AnalyticsCache {
+
+    private final Cache<Integer, BigDecimal> totalAmounts;
+    private final Cache<Integer, List<SubscriptionResponse>> upcomingRenewals;
+    // Users changed within the replica lag window; null without replicas
+    private final Cache<Integer, Boolean> recentlyChanged;
+
+    public AnalyticsCache(MeterRegistry meterRegistry, Clock clock,
+            @Value("${app.analytics.cache.max-size:10000}") long maxSize,
+            @Value("${app.analytics.cache.ttl:5m}") Duration ttl,
+            @Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration replicaLagWindow) {
+        this.totalAmounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.upcomingRenewals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilMidnightOrTtl<Integer, List<SubscriptionResponse>>(ttl, clock))
+                .recordStats()
+                .build();
+        this.recentlyChanged = replicasEnabled && !replicaLagWindow.isZero()
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(replicaLagWindow).build()
+                : null;
+        CaffeineCacheMetrics.monitor(meterRegistry, totalAmounts, "analytics.totalAmount");
+        CaffeineCacheMetrics.monitor(meterRegistry, upcomingRenewals, "analytics.upcomingRenewals");
+    }
+
+    public BigDecimal totalAmount(int userId, IntFunction<BigDecimal> loader) {
+        return get(totalAmounts, userId, loader);
+    }
+
+    public List<SubscriptionResponse> upcomingRenewals(int userId, IntFunction<List<SubscriptionResponse>> loader) {
+        return get(upcomingRenewals, userId, loader);
+    }
+
+    public void evictUser(int userId) {
+        if (recentlyChanged != null) {
+            recentlyChanged.put(userId, Boolean.TRUE); // Before the eviction, so no reader re-caches in between
+        }
+        totalAmounts.invalidate(userId);
+        upcomingRenewals.invalidate(userId);
+    }
+
+    // Runs after commit (or straight away when there is no transaction), so a
+    // reader can't re-cache the old values between eviction and commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        if (event.before() != null) {
+            evictUser(event.before().userId());
+        }
+        if (event.after() != null) {
+            evictUser(event.after().userId());
+        }
+    }
+
+    private <V> V get(Cache<Integer, V> cache, int userId, IntFunction<V> loader) {
+        if (recentlyChanged == null) {
+            return cache.get(userId, loader::apply);
+        }
+        if (recentlyChanged.getIfPresent(userId) != null) {
+            return loader.apply(userId);
+        }
+        V value = cache.get(userId, loader::apply);
+        if (recentlyChanged.getIfPresent(userId) != null) {
+            // Changed while this was loading, so the load may predate it
+            cache.invalidate(userId);
+        }
+        return value;
+    }
+
+    /**
+     * Expires an entry after the TTL or at the next midnight, whichever comes
+     * first, so yesterday's "next 7 days" is never served today.
+     */
+    private static class UntilMidnightOrTtl<K, V> implements Expiry<K, V> {
+        private final long ttlNanos;
+        private final Clock clock;
+
+        UntilMidnightOrTtl(Duration ttl, Clock clock) {
+            this.ttlNanos = ttl.toNanos();
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            ZonedDateTime midnight = LocalDate.from(now).plusDays(1).atStartOfDay(now.getZone());
+            return Math.min(ttlNanos, Duration.between(now, midnight).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration; // reading doesn't extend the lifetime
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.assessmentapplication.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.assessmentapplication.dto.SubscriptionChange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans subscription changes out to Server-Sent Events clients.
+ *
+ * KEY CONCEPT: Bounded replay and per-client back-pressure
+ *
+ * The last replay-size changes are kept in memory, keyed by offset. A client
+ * that reconnects with Last-Event-ID gets everything after that offset from
+ * this buffer, then the live stream, so a dropped connection loses nothing.
+ * A client further behind than the buffer gets a "reset" event with the
+ * current offset instead: it should re-read what it needs over REST and
+ * carry on from there. Replay never reaches back into the database, so a
+ * thousand reconnecting clients cost no queries.
+ *
+ * Clients don't get their own copy of the changes: each is just a position
+ * in the replay buffer, and a small sender pool moves it forward in batches
+ * of up to batch-size changes per SSE event, as fast as that client takes
+ * them. A slow client only delays itself. Once it is more than
+ * client-max-lag changes behind (or the buffer has moved past it) it is
+ * disconnected, counted in change.feed.clients.dropped, and can resume from
+ * its last event id.
+ */
+@Service
+public class ChangeFeed implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    static final String CHANGES_EVENT = "changes";
+    static final String RESET_EVENT = "reset";
+
+    private final int replaySize;
+    private final int maxLag;
+    private final int batchSize;
+    private final ConcurrentSkipListMap<Long, SubscriptionChange> replay = new ConcurrentSkipListMap<>();
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private final Counter dropped;
+    // Offset of the newest change seen; guarded by this for writes
+    private volatile long head;
+
+    public ChangeFeed(MeterRegistry meterRegistry,
+            @Value("${app.change-feed.replay-size:10000}") int replaySize,
+            @Value("${app.change-feed.client-max-lag:5000}") int maxLag,
+            @Value("${app.change-feed.batch-size:100}") int batchSize,
+            @Value("${app.change-feed.sender-threads:2}") int senderThreads) {
+        this.replaySize = replaySize;
+        this.maxLag = maxLag;
+        this.batchSize = batchSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("change.feed.clients", clients, List::size)
+                .description("Connected change feed clients on this node")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("change.feed.clients.dropped")
+                .description("Clients disconnected because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds changes (in offset order, newer than anything added before) and
+     * hands them to the connected clients.
+     */
+    public synchronized void append(List<SubscriptionChange> changes) {
+        for (SubscriptionChange change : changes) {
+            replay.put(change.offset(), change);
+            head = change.offset();
+        }
+        while (replay.size() > replaySize) {
+            replay.pollFirstEntry();
+        }
+        for (Client client : clients) {
+            client.scheduleSend();
+        }
+    }
+
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Connects a client that has seen everything up to after (null: only new
+     * changes), optionally only interested in one user's subscriptions.
+     */
+    public synchronized SseEmitter subscribe(Long after, Integer userId, long timeoutMillis) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Client client = new Client(emitter, userId);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(error -> clients.remove(client));
+
+        if (after == null || after >= head) {
+            client.position = head;
+        } else if (canReplayFrom(after) && head - after <= maxLag) {
+            client.position = after;
+        } else {
+            client.position = head;
+            client.reset = true;
+        }
+        clients.add(client);
+        client.scheduleSend();
+        return emitter;
+    }
+
+    private boolean canReplayFrom(long after) {
+        Map.Entry<Long, SubscriptionChange> oldest = replay.firstEntry();
+        return oldest != null && after >= oldest.getKey() - 1;
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void destroy() {
+        clients.forEach(client -> client.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private class Client {
+
+        private final SseEmitter emitter;
+        private final Integer userId;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean reset;
+        private volatile boolean closed;
+        // Offset of the last change sent (or skipped by the user filter)
+        private volatile long position;
+
+        Client(SseEmitter emitter, Integer userId) {
+            this.emitter = emitter;
+            this.userId = userId;
+        }
+
+        void scheduleSend() {
+            if (closed) {
+                return;
+            }
+            if (head - position > maxLag || !canReplayFrom(position) && position < head) {
+                // Too slow: rather than buffer without limit, let it
+                // reconnect from its last event id
+                dropped.increment();
+                close();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                if (reset) {
+                    reset = false;
+                    emitter.send(SseEmitter.event().name(RESET_EVENT).id(Long.toString(position))
+                            .data(Map.of("offset", position)));
+                }
+                List<SubscriptionChange> batch = nextBatch();
+                while (!closed && !batch.isEmpty()) {
+                    long last = batch.get(batch.size() - 1).offset();
+                    if (userId != null) {
+                        batch.removeIf(change -> change.userId() != userId);
+                    }
+                    if (!batch.isEmpty()) {
+                        emitter.send(SseEmitter.event().name(CHANGES_EVENT).id(Long.toString(last)).data(batch));
+                    }
+                    position = last;
+                    batch = nextBatch();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                log.debug("Change feed client disconnected: {}", e.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+            if (position < head) {
+                scheduleSend(); // Changes arrived after the loop ended
+            }
+        }
+
+        private List<SubscriptionChange> nextBatch() {
+            List<SubscriptionChange> batch = new ArrayList<>(batchSize);
+            for (SubscriptionChange change : replay.tailMap(position, false).values()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(change);
+            }
+            return batch;
+        }
+
+        private void close() {
+            closed = true;
+            clients.remove(this);
+            emitter.complete();
+        }
+    }
+}
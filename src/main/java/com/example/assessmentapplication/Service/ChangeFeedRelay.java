@@ -0,0 +1,189 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.OutboxEventRepository;
+import com.example.assessmentapplication.dto.SubscriptionChange;
+import com.example.assessmentapplication.entity.OutboxEvent;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent.ChangeType;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves committed outbox rows into the change feed.
+ *
+ * KEY CONCEPT: Sequencing after commit
+ *
+ * Outbox ids are handed out before commit, so a row with a lower id can
+ * commit after one with a higher id. A reader that remembered "the highest
+ * id I've seen" would skip it for good. Instead one node, the holder of the
+ * "change-feed-sequencer" lease, gives committed rows their feed_offset: the
+ * next numbers after the current head, in one short transaction per batch.
+ * An offset therefore only ever goes to a row that is already visible, and
+ * everything with a lower offset is visible too. The unique index on
+ * feed_offset guarantees two sequencers can't both succeed.
+ *
+ * Every node then tails feed_offset > last-seen (the same indexed query
+ * whoever sequenced) and appends the rows to its ChangeFeed, which serves
+ * that node's SSE clients. Sequenced rows older than retention are deleted.
+ */
+@Service
+public class ChangeFeedRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedRelay.class);
+
+    static final String SEQUENCER_LEASE = "change-feed-sequencer";
+
+    private final OutboxEventRepository outboxRepository;
+    private final JobLeaseService leaseService;
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int replaySize;
+    private final Duration leaseDuration;
+    private final Duration retention;
+    private final Counter sequenced;
+
+    // Only touched by relay(), which is synchronized
+    private boolean loaded;
+    private long tailedOffset;
+    private long leaseRenewAt;
+    // Also read by cleanup(), which runs on its own scheduler thread and
+    // doesn't take the lock, so a long delete never holds up the relay
+    private volatile boolean sequencer;
+
+    public ChangeFeedRelay(OutboxEventRepository outboxRepository, JobLeaseService leaseService,
+            ChangeFeed changeFeed, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            Clock clock, MeterRegistry meterRegistry,
+            @Value("${app.change-feed.relay-batch-size:500}") int batchSize,
+            @Value("${app.change-feed.replay-size:10000}") int replaySize,
+            @Value("${app.change-feed.lease-duration:30s}") Duration leaseDuration,
+            @Value("${app.change-feed.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.leaseService = leaseService;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.replaySize = replaySize;
+        this.leaseDuration = leaseDuration;
+        this.retention = retention;
+        this.sequenced = Counter.builder("change.feed.events")
+                .description("Outbox rows given a change feed offset by this node")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-feed.poll-interval:200ms}")
+    public synchronized void relay() {
+        if (!loaded) {
+            loadReplay();
+        }
+        if (holdSequencerLease()) {
+            sequence();
+        }
+        tail();
+    }
+
+    // Keeps only sequenced rows, and only while this node is the sequencer:
+    // the tail must have seen a row before it may go
+    @Scheduled(cron = "${app.change-feed.cleanup-cron:0 0 * * * *}")
+    public void cleanup() {
+        if (sequencer) {
+            int deleted = outboxRepository.deleteSequencedBefore(clock.millis() - retention.toMillis());
+            log.debug("Deleted {} relayed outbox rows", deleted);
+        }
+    }
+
+    private void loadReplay() {
+        List<OutboxEvent> latest = new ArrayList<>(outboxRepository.findLatestSequenced(Limit.of(replaySize)));
+        Collections.reverse(latest);
+        appendToFeed(latest);
+        loaded = true;
+    }
+
+    private boolean holdSequencerLease() {
+        long now = clock.millis();
+        if (!sequencer || now >= leaseRenewAt) {
+            sequencer = leaseService.tryAcquire(SEQUENCER_LEASE, leaseDuration);
+            leaseRenewAt = now + leaseDuration.toMillis() / 2;
+        }
+        return sequencer;
+    }
+
+    private void sequence() {
+        int count;
+        do {
+            Integer assigned = transactionTemplate.execute(status -> {
+                List<OutboxEvent> rows = outboxRepository.findUnsequenced(Limit.of(batchSize));
+                Long head = outboxRepository.findHeadOffset();
+                long next = head == null ? 1 : head + 1;
+                for (OutboxEvent row : rows) {
+                    row.setFeedOffset(next++); // Managed entity: written at commit
+                }
+                return rows.size();
+            });
+            count = assigned == null ? 0 : assigned;
+            sequenced.increment(count);
+        } while (count == batchSize);
+    }
+
+    private void tail() {
+        List<OutboxEvent> rows;
+        do {
+            rows = outboxRepository.findSequencedAfter(tailedOffset, Limit.of(batchSize));
+            appendToFeed(rows);
+        } while (rows.size() == batchSize);
+    }
+
+    private void appendToFeed(List<OutboxEvent> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<SubscriptionChange> changes = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            changes.add(new SubscriptionChange(row.getFeedOffset(), ChangeType.valueOf(row.getChangeType()),
+                    row.getSubscriptionId(), row.getUserId(), snapshot(row)));
+        }
+        changeFeed.append(changes);
+        tailedOffset = rows.get(rows.size() - 1).getFeedOffset();
+    }
+
+    private SubscriptionSnapshot snapshot(OutboxEvent row) {
+        if (row.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), SubscriptionSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox row " + row.getId(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (sequencer) {
+            leaseService.release(SEQUENCER_LEASE);
+        }
+    }
+}
@@ -17,10 +17,16 @@ class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository repo;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache; // Called on every authenticated request, so it's cached
+
     @Override // Optional annotation. But best practice.
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return repo.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+        UserDetails user = userDetailsCache.get(username, name -> repo.findByUsername(name).orElse(null));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return user;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.example.assessmentapplication.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.example.assessmentapplication.Repository.JobLeaseRepository;
+import com.example.assessmentapplication.entity.JobLease;
+
+/**
+ * Database leases for scheduled work that must run on only one node at a
+ * time when several replicas of the app are up.
+ *
+ * KEY CONCEPT: Leases instead of locks
+ *
+ * A lease is a row saying "node X owns this work until time T". Taking it is
+ * a single conditional UPDATE (see JobLeaseRepository.claim), so no
+ * transaction or row lock is held while the work runs. If the node dies the
+ * lease simply expires and another node picks the work up. Long-running
+ * work calls renew() as it goes; a renew that fails means the lease expired
+ * and was taken over, and the work must stop.
+ *
+ * Expiry times come from each node's own clock, so lease durations should be
+ * well above any clock skew between nodes.
+ */
+@Service
+public class JobLeaseService {
+
+    private final JobLeaseRepository leaseRepository;
+    private final Clock clock;
+    // pid@host plus a random part, so two instances on one host differ
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    public JobLeaseService(JobLeaseRepository leaseRepository, Clock clock) {
+        this.leaseRepository = leaseRepository;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String name, Duration duration) {
+        if (claim(name, duration)) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false; // Held by another node
+        }
+        try {
+            leaseRepository.save(new JobLease(name, null, 0));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first; the claim below decides
+        }
+        return claim(name, duration);
+    }
+
+    // Extends a lease this node holds; false if it has been lost
+    public boolean renew(String name, Duration duration) {
+        return claim(name, duration);
+    }
+
+    public void release(String name) {
+        leaseRepository.release(name, owner);
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    private boolean claim(String name, Duration duration) {
+        long now = clock.millis();
+        return leaseRepository.claim(name, owner, now, now + duration.toMillis()) == 1;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.assessmentapplication.Service;
+
+import com.example.assessmentapplication.entity.Subscription;
+
+/**
+ * A new subscription together with the id of the user that will own it. The
+ * user itself is attached by SubscriptionBatchWriter as a reference, so no
+ * SELECT is needed per row.
+ */
+public record PendingSubscription(int userId, Subscription subscription) {
+}
@@ -0,0 +1,238 @@
+package com.example.assessmentapplication.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The sorted subscription ids of one search term, for
+ * SubscriptionSearchIndex.
+ *
+ * Ids are kept in blocks of at most BLOCK_SIZE, keyed by their first id, so
+ * a change copies one small block even when the term ("premium") is on
+ * millions of subscriptions. New subscriptions have the highest ids, so the
+ * common write is an append to the last block: done in place when the block
+ * has room, and published through the volatile length, so readers never see
+ * a half-written id. Any other change builds a new block and swaps it in.
+ *
+ * Writers must be serialized by the caller (the index lock). Readers don't
+ * lock; while a block is being split or re-keyed they may briefly see an id
+ * twice, which id-ordered readers skip anyway.
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final class Block {
+        final int[] ids;
+        volatile int length;
+
+        Block(int[] ids, int length) {
+            this.ids = ids;
+            this.length = length;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Integer, Block> blocks = new ConcurrentSkipListMap<>();
+    private volatile int size;
+    // The last block, so appends skip the skip list. Only writers use these.
+    private Integer tailKey;
+    private Block tail;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int id) {
+        Map.Entry<Integer, Block> entry = blocks.floorEntry(id);
+        if (entry == null) {
+            return false;
+        }
+        Block block = entry.getValue();
+        return Arrays.binarySearch(block.ids, 0, block.length, id) >= 0;
+    }
+
+    void add(int id) {
+        if (tail != null && id > tail.ids[tail.length - 1]) {
+            // Past the end (new subscriptions, the startup load)
+            appendTo(tailKey, tail, id, true);
+            size++;
+            return;
+        }
+        Map.Entry<Integer, Block> entry = blocks.floorEntry(id);
+        if (entry == null) {
+            // Smaller than every id so far: becomes the first block's new key
+            Map.Entry<Integer, Block> first = blocks.firstEntry();
+            if (first == null || first.getValue().length >= BLOCK_SIZE) {
+                blocks.put(id, new Block(new int[] { id }, 1));
+            } else {
+                Block block = first.getValue();
+                int[] ids = new int[block.length + 1];
+                ids[0] = id;
+                System.arraycopy(block.ids, 0, ids, 1, block.length);
+                blocks.put(id, new Block(ids, ids.length));
+                blocks.remove(first.getKey());
+            }
+            refreshTail();
+            size++;
+            return;
+        }
+        Block block = entry.getValue();
+        int length = block.length;
+        int found = Arrays.binarySearch(block.ids, 0, length, id);
+        if (found >= 0) {
+            return;
+        }
+        int insertAt = -found - 1;
+        if (insertAt == length) {
+            appendTo(entry.getKey(), block, id, blocks.higherKey(entry.getKey()) == null);
+        } else {
+            int[] ids = new int[length + 1];
+            System.arraycopy(block.ids, 0, ids, 0, insertAt);
+            ids[insertAt] = id;
+            System.arraycopy(block.ids, insertAt, ids, insertAt + 1, length - insertAt);
+            replace(entry.getKey(), ids);
+        }
+        refreshTail();
+        size++;
+    }
+
+    void remove(int id) {
+        Map.Entry<Integer, Block> entry = blocks.floorEntry(id);
+        if (entry == null) {
+            return;
+        }
+        Block block = entry.getValue();
+        int length = block.length;
+        int found = Arrays.binarySearch(block.ids, 0, length, id);
+        if (found < 0) {
+            return;
+        }
+        if (length == 1) {
+            blocks.remove(entry.getKey());
+        } else {
+            int[] ids = new int[length - 1];
+            System.arraycopy(block.ids, 0, ids, 0, found);
+            System.arraycopy(block.ids, found + 1, ids, found, length - found - 1);
+            if (found == 0) {
+                // The block's key was this id: publish under the new key first
+                blocks.put(ids[0], new Block(ids, ids.length));
+                blocks.remove(entry.getKey());
+            } else {
+                blocks.put(entry.getKey(), new Block(ids, ids.length));
+            }
+        }
+        refreshTail();
+        size--;
+    }
+
+    /**
+     * An ascending walk over ids that can jump ahead, so intersecting lists
+     * skips the ids that can't match instead of visiting each one.
+     */
+    interface Cursor {
+
+        /** Returned once the walk is past the last id. */
+        int END = Integer.MAX_VALUE;
+
+        /**
+         * Moves to the first id at or after target and returns it, END if
+         * there is none. Never moves backwards.
+         */
+        int advance(int target);
+    }
+
+    /**
+     * A cursor over this list, starting before its first id.
+     */
+    Cursor cursor() {
+        return new Cursor() {
+            private int[] ids = new int[0];
+            private int length;
+            private int position;
+            private int current = -1;
+
+            @Override
+            public int advance(int target) {
+                if (current >= target) {
+                    return current;
+                }
+                if (position < length && ids[length - 1] >= target) {
+                    // Still in the block we're on
+                    return current = seek(target, position);
+                }
+                Map.Entry<Integer, Block> entry = blocks.floorEntry(target);
+                if (entry == null) {
+                    entry = blocks.firstEntry();
+                }
+                while (entry != null) {
+                    Block block = entry.getValue();
+                    int blockLength = block.length;
+                    if (block.ids[blockLength - 1] >= target) {
+                        ids = block.ids;
+                        length = blockLength;
+                        return current = seek(target, 0);
+                    }
+                    entry = blocks.higherEntry(entry.getKey());
+                }
+                length = 0;
+                return current = END;
+            }
+
+            private int seek(int target, int from) {
+                int found = Arrays.binarySearch(ids, from, length, target);
+                position = found >= 0 ? found : -found - 1;
+                return ids[position];
+            }
+        };
+    }
+
+    // Appends after the last id of this block
+    private void appendTo(int key, Block block, int id, boolean lastBlock) {
+        int length = block.length;
+        if (lastBlock && length < block.ids.length) {
+            block.ids[length] = id;
+            block.length = length + 1; // Publishes the id
+            return;
+        }
+        if (length >= BLOCK_SIZE) {
+            blocks.put(id, new Block(lastBlock ? grow(new int[] { id }, 1) : new int[] { id }, 1));
+        } else {
+            int[] ids = Arrays.copyOf(block.ids, length + 1);
+            ids[length] = id;
+            blocks.put(key, new Block(lastBlock ? grow(ids, ids.length) : ids, ids.length));
+        }
+        if (lastBlock) {
+            refreshTail();
+        }
+    }
+
+    private void refreshTail() {
+        Map.Entry<Integer, Block> last = blocks.lastEntry();
+        tailKey = last == null ? null : last.getKey();
+        tail = last == null ? null : last.getValue();
+    }
+
+    // Swaps in a changed block, splitting it once it gets too big
+    private void replace(int key, int[] ids) {
+        if (ids.length <= BLOCK_SIZE) {
+            blocks.put(key, new Block(ids, ids.length));
+            return;
+        }
+        int half = ids.length / 2;
+        int[] upper = Arrays.copyOfRange(ids, half, ids.length);
+        blocks.put(upper[0], new Block(upper, upper.length));
+        blocks.put(key, new Block(Arrays.copyOf(ids, half), half));
+    }
+
+    // Spare room for in-place appends, doubling up to BLOCK_SIZE, so a term
+    // on a handful of subscriptions doesn't hold a 4 KB array
+    private static int[] grow(int[] ids, int length) {
+        int capacity = Math.min(BLOCK_SIZE, Math.max(4, length * 2));
+        return capacity > ids.length ? Arrays.copyOf(ids, capacity) : ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.assessmentapplication.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import com.example.assessmentapplication.Repository.ReactiveAnalyticsRepository;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of SubscriptionService's analytics reads, for
+ * ReactiveAnalyticsController. Same window ("today" plus 7 days, from the
+ * injected Clock) and same answers.
+ *
+ * It bypasses AnalyticsCache: a cache hit would be a synchronous lookup
+ * anyway, and this path is meant for the calls that do reach the database.
+ */
+@Service
+public class ReactiveAnalyticsService {
+
+    private final ReactiveAnalyticsRepository repository;
+    private final Clock clock;
+
+    public ReactiveAnalyticsService(ReactiveAnalyticsRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    public Flux<SubscriptionResponse> getUpcomingRenewals(int userId) {
+        // Deferred so "today" is read when the client subscribes
+        return Flux.defer(() -> {
+            LocalDate today = LocalDate.now(clock);
+            return repository.findUpcomingRenewals(userId, today,
+                    today.plusDays(SubscriptionService.UPCOMING_WINDOW_DAYS));
+        });
+    }
+
+    public Mono<BigDecimal> calculateTotalAmount(int userId) {
+        return repository.calculateAmountForUser(userId);
+    }
+}
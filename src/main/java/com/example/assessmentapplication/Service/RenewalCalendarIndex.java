@@ -0,0 +1,288 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.dto.RenewalEntry;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory calendar of every subscription's next renewal day, for "what
+ * renews between D1 and D2" questions across all users.
+ *
+ * KEY CONCEPT: Day buckets (a timing wheel that never wraps)
+ *
+ * Renewal dates are whole days, so instead of sorting millions of
+ * subscriptions we drop each one into the bucket for its day:
+ *
+ * epochDay 20000 -> [12, 57, 301]
+ * epochDay 20001 -> [8]
+ * epochDay 20005 -> [44, 45, 46, 90]
+ *
+ * A window query jumps to the first bucket with subMap (a skip list is
+ * ordered, so that's O(log days)) and then just walks forward. The cost
+ * depends on the size of the page, not on how many subscriptions exist.
+ *
+ * - Each bucket is a sorted int[] of subscription ids (4 bytes per
+ * subscription, no boxing). Ids sort within a day, so (day, id) is a stable
+ * cursor for pagination.
+ * - Buckets are copy-on-write: writers build a new array and swap it in, so
+ * readers never lock and never see a half-updated bucket. Writes are rare
+ * compared with reads, and only one bucket is copied per change (per loaded
+ * page during the startup load).
+ * - Writers are serialized with a lock on the index.
+ *
+ * The index is filled at startup and then kept in sync by
+ * SubscriptionChangedEvent after each commit. Until the initial load has
+ * finished, isReady() is false and callers should query the database.
+ */
+@Component
+public class RenewalCalendarIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RenewalCalendarIndex.class);
+    private static final Comparator<RenewalEntry> BY_DAY_THEN_ID = Comparator
+            .comparing(RenewalEntry::nextRenewalDate).thenComparingInt(RenewalEntry::id);
+
+    private final ConcurrentSkipListMap<Long, int[]> buckets = new ConcurrentSkipListMap<>();
+    private final SubscriptionRepository subscriptionRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+
+    private volatile boolean ready;
+    private volatile long size;
+    // Ids changed by events while the initial load runs. The event carries the
+    // newer state, so the loader must not overwrite it with what it read.
+    private Set<Integer> changedWhileLoading = new HashSet<>();
+
+    public RenewalCalendarIndex(SubscriptionRepository subscriptionRepository, MeterRegistry meterRegistry,
+            @Value("${app.renewal-index.enabled:true}") boolean enabled,
+            @Value("${app.renewal-index.load-page-size:10000}") int loadPageSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+        Gauge.builder("renewal.index.size", this, index -> index.size)
+                .description("Subscriptions held in the renewal calendar index")
+                .register(meterRegistry);
+        Gauge.builder("renewal.index.days", buckets, Map::size)
+                .description("Distinct renewal days in the renewal calendar index")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Runs once the application has started. Readiness is only reported
+    // after this returns, while the endpoints already work from the database.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Renewal calendar index disabled, renewal windows are served from the database");
+            return;
+        }
+        long started = System.nanoTime();
+        int afterId = 0;
+        while (true) {
+            List<RenewalEntry> entries = subscriptionRepository.findRenewalEntriesAfter(afterId,
+                    Limit.of(loadPageSize));
+            if (entries.isEmpty()) {
+                break;
+            }
+            synchronized (this) {
+                addAll(entries);
+            }
+            afterId = entries.get(entries.size() - 1).id();
+        }
+        synchronized (this) {
+            changedWhileLoading = null;
+            ready = true;
+        }
+        log.info("Renewal calendar index loaded {} subscriptions over {} days in {} ms", size, buckets.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // After commit, so the index never shows a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        SubscriptionSnapshot before = event.before();
+        SubscriptionSnapshot after = event.after();
+        LocalDate oldDay = before == null ? null : before.nextRenewalDate();
+        LocalDate newDay = after == null ? null : after.nextRenewalDate();
+        if (before != null && after != null && Objects.equals(oldDay, newDay)) {
+            return; // Renewal date untouched, nothing to move
+        }
+        move(event.subscriptionId(), oldDay, newDay);
+    }
+
+    /**
+     * Moves a subscription between day buckets. Either day may be null
+     * (created, deleted, or renewal date set / cleared).
+     */
+    public synchronized void move(int id, LocalDate oldDay, LocalDate newDay) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(id);
+        }
+        if (oldDay != null) {
+            remove(id, oldDay);
+        }
+        if (newDay != null) {
+            add(id, newDay);
+        }
+    }
+
+    /**
+     * Up to limit subscriptions renewing between from and to (inclusive),
+     * ordered by (day, id), starting after (afterDay, afterId) when afterDay
+     * is not null.
+     */
+    public List<RenewalEntry> page(LocalDate from, LocalDate to, LocalDate afterDay, int afterId, int limit) {
+        long startDay = from.toEpochDay();
+        long afterEpochDay = afterDay == null ? Long.MIN_VALUE : afterDay.toEpochDay();
+        if (afterEpochDay > startDay) {
+            startDay = afterEpochDay;
+        }
+        long endDay = to.toEpochDay();
+        List<RenewalEntry> page = new ArrayList<>(Math.min(limit, 1024));
+        if (startDay > endDay) {
+            return page;
+        }
+        ConcurrentNavigableMap<Long, int[]> window = buckets.subMap(startDay, true, endDay, true);
+        for (Map.Entry<Long, int[]> bucket : window.entrySet()) {
+            int[] ids = bucket.getValue();
+            int i = 0;
+            if (bucket.getKey() == afterEpochDay) {
+                // Resume just after the cursor's id within its day
+                int found = Arrays.binarySearch(ids, afterId);
+                i = found >= 0 ? found + 1 : -found - 1;
+            }
+            LocalDate day = LocalDate.ofEpochDay(bucket.getKey());
+            for (; i < ids.length && page.size() < limit; i++) {
+                page.add(new RenewalEntry(ids[i], day));
+            }
+            if (page.size() >= limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    // Callers hold the lock
+
+    private void add(int id, LocalDate day) {
+        long key = day.toEpochDay();
+        int[] ids = buckets.get(key);
+        if (ids == null) {
+            buckets.put(key, new int[] { id });
+            size++;
+            return;
+        }
+        int found = Arrays.binarySearch(ids, id);
+        if (found >= 0) {
+            return; // Already there (e.g. the loader and an event both added it)
+        }
+        int insertAt = -found - 1;
+        int[] copy = new int[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        buckets.put(key, copy);
+        size++;
+    }
+
+    // Adds a loaded page. Inserting the ids one by one would copy a busy
+    // day's array once per id, so instead each day's new ids are merged into
+    // its array in one pass.
+    private void addAll(List<RenewalEntry> entries) {
+        RenewalEntry[] sorted = entries.stream()
+                .filter(entry -> !changedWhileLoading.contains(entry.id()))
+                .sorted(BY_DAY_THEN_ID)
+                .toArray(RenewalEntry[]::new);
+        int[] run = new int[sorted.length];
+        int start = 0;
+        while (start < sorted.length) {
+            LocalDate day = sorted[start].nextRenewalDate();
+            int length = 0;
+            while (start + length < sorted.length && sorted[start + length].nextRenewalDate().equals(day)) {
+                run[length] = sorted[start + length].id();
+                length++;
+            }
+            merge(day.toEpochDay(), run, length);
+            start += length;
+        }
+    }
+
+    // Merges the first length ids of added (sorted) into the day's bucket,
+    // skipping ids that are already there
+    private void merge(long key, int[] added, int length) {
+        int[] ids = buckets.get(key);
+        if (ids == null) {
+            buckets.put(key, Arrays.copyOf(added, length));
+            size += length;
+            return;
+        }
+        int[] merged = new int[ids.length + length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < ids.length || j < length) {
+            if (j == length || (i < ids.length && ids[i] < added[j])) {
+                merged[n++] = ids[i++];
+            } else if (i == ids.length || added[j] < ids[i]) {
+                merged[n++] = added[j++];
+            } else {
+                merged[n++] = ids[i++]; // In both: keep one
+                j++;
+            }
+        }
+        buckets.put(key, n == merged.length ? merged : Arrays.copyOf(merged, n));
+        size += n - ids.length;
+    }
+
+    private void remove(int id, LocalDate day) {
+        long key = day.toEpochDay();
+        int[] ids = buckets.get(key);
+        if (ids == null) {
+            return;
+        }
+        int found = Arrays.binarySearch(ids, id);
+        if (found < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            buckets.remove(key); // Drop empty days so windows don't walk them
+        } else {
+            int[] copy = new int[ids.length - 1];
+            System.arraycopy(ids, 0, copy, 0, found);
+            System.arraycopy(ids, found + 1, copy, found, ids.length - found - 1);
+            buckets.put(key, copy);
+        }
+        size--;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.dto.RenewalRunReport;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+import com.example.assessmentapplication.exception.ConflictException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves nextRenewalDate forward once a renewal has passed, so "upcoming
+ * renewals" keeps meaning something.
+ *
+ * KEY CONCEPT: Partitioned chunk processing
+ *
+ * Users are split into a fixed number of partitions (user_id MOD
+ * partitions). Each partition is a unit of work guarded by its own lease
+ * ("renewals-0", "renewals-1", ...), so with several nodes running, each
+ * partition is processed by exactly one of them while the partitions
+ * themselves are spread over all nodes and over this node's thread pool.
+ *
+ * Within a partition, due subscriptions (nextRenewalDate before today) are
+ * claimed chunk-size at a time, each chunk in its own short transaction:
+ * load, advance by the plan's RenewalPeriod, commit. A chunk never holds
+ * locks for long, and a crash loses at most one chunk's work, which the next
+ * run redoes. Only due rows are ever read (see
+ * SubscriptionRepository.findDueInPartition).
+ *
+ * - Updates go through the entities, so @Version protects against a user
+ * editing the same subscription mid-chunk: that chunk rolls back and the
+ * partition is retried next run.
+ * - Every change publishes SubscriptionChangedEvent, keeping the renewal
+ * calendar index and analytics caches in sync.
+ *
+ * Metrics: renewals.subscriptions (renewed), renewals.chunk (timer),
+ * renewals.partitions (outcome=processed|skipped|failed) and renewals.run.
+ */
+@Service
+public class RenewalEngine implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RenewalEngine.class);
+
+    static final String LEASE_PREFIX = "renewals-";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final JobLeaseService leaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int partitions;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter renewed;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+    private final Counter processed;
+    private final Counter skipped;
+    private final Counter failed;
+
+    public RenewalEngine(SubscriptionRepository subscriptionRepository, JobLeaseService leaseService,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            Clock clock, MeterRegistry meterRegistry,
+            @Value("${app.renewals.partitions:16}") int partitions,
+            @Value("${app.renewals.parallelism:4}") int parallelism,
+            @Value("${app.renewals.chunk-size:500}") int chunkSize,
+            @Value("${app.renewals.lease-duration:5m}") Duration leaseDuration) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.leaseService = leaseService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "renewals-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.renewed = Counter.builder("renewals.subscriptions")
+                .description("Subscriptions whose renewal date was moved forward")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("renewals.chunk")
+                .description("Time to claim, advance and commit one chunk")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("renewals.run").register(meterRegistry);
+        this.processed = partitionCounter(meterRegistry, "processed");
+        this.skipped = partitionCounter(meterRegistry, "skipped");
+        this.failed = partitionCounter(meterRegistry, "failed");
+    }
+
+    // Shortly after midnight by default; "-" disables the schedule (the admin
+    // endpoint still works). Every node runs it; the leases share the work out.
+    @Scheduled(cron = "${app.renewals.cron:0 15 0 * * *}")
+    public void scheduledRun() {
+        RenewalRunReport report;
+        try {
+            report = runOnce();
+        } catch (ConflictException e) {
+            log.info("Renewals: skipped, a run started from the admin endpoint is still going");
+            return;
+        }
+        log.info("Renewals: {} subscriptions renewed, partitions {} processed / {} skipped / {} failed in {} ms",
+                report.subscriptionsRenewed(), report.partitionsProcessed(), report.partitionsSkipped(),
+                report.partitionsFailed(), report.elapsedMillis());
+    }
+
+    /**
+     * One pass over all partitions. Throws ConflictException if a pass is
+     * already running on this node: the leases are held per node, so they
+     * would let both passes work on (and release) the same partitions.
+     */
+    public RenewalRunReport runOnce() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A renewal run is already in progress on this node");
+        }
+        try {
+            return runPartitions();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RenewalRunReport runPartitions() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        List<Future<PartitionResult>> futures = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            int current = partition;
+            futures.add(executor.submit(() -> processPartition(current, today)));
+        }
+        int processedCount = 0;
+        int skippedCount = 0;
+        int failedCount = 0;
+        long renewedCount = 0;
+        for (Future<PartitionResult> future : futures) {
+            PartitionResult result = await(future);
+            renewedCount += result.renewed();
+            switch (result.outcome()) {
+                case PROCESSED -> processedCount++;
+                case SKIPPED -> skippedCount++;
+                case FAILED -> failedCount++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        runTimer.record(Duration.ofNanos(elapsedNanos));
+        return new RenewalRunReport(processedCount, skippedCount, failedCount, renewedCount,
+                elapsedNanos / 1_000_000);
+    }
+
+    private enum Outcome {
+        PROCESSED,
+        SKIPPED,
+        FAILED
+    }
+
+    private record PartitionResult(Outcome outcome, long renewed) {
+    }
+
+    private PartitionResult processPartition(int partition, LocalDate today) {
+        String lease = LEASE_PREFIX + partition;
+        if (!leaseService.tryAcquire(lease, leaseDuration)) {
+            skipped.increment();
+            return new PartitionResult(Outcome.SKIPPED, 0);
+        }
+        long total = 0;
+        try {
+            while (true) {
+                Timer.Sample sample = Timer.start();
+                Integer count = transactionTemplate.execute(status -> renewChunk(partition, today));
+                sample.stop(chunkTimer);
+                if (count == null || count == 0) {
+                    break;
+                }
+                renewed.increment(count);
+                total += count;
+                if (count < chunkSize) {
+                    break;
+                }
+                if (!leaseService.renew(lease, leaseDuration)) {
+                    log.warn("Lost the lease on renewal partition {}, leaving it to its new owner", partition);
+                    break;
+                }
+            }
+            processed.increment();
+            return new PartitionResult(Outcome.PROCESSED, total);
+        } catch (RuntimeException e) {
+            // Most likely a user edited a subscription in this chunk; the
+            // chunk rolled back and the next run picks it up again
+            log.warn("Renewal partition {} failed after {} renewals: {}", partition, total, e.getMessage());
+            failed.increment();
+            return new PartitionResult(Outcome.FAILED, total);
+        } finally {
+            leaseService.release(lease);
+        }
+    }
+
+    private int renewChunk(int partition, LocalDate today) {
+        List<Subscription> due = subscriptionRepository.findDueInPartition(today, partitions, partition,
+                Limit.of(chunkSize));
+        for (Subscription subscription : due) {
+            SubscriptionSnapshot before = SubscriptionSnapshot.of(subscription);
+            RenewalPeriod period = RenewalPeriod.forPlan(subscription.getPlanType());
+            // Managed entity: the UPDATE (with its version check) runs at commit
+            subscription.setNextRenewalDate(period.nextOnOrAfter(subscription.getNextRenewalDate(), today));
+            eventPublisher.publishEvent(
+                    SubscriptionChangedEvent.updated(before, SubscriptionSnapshot.of(subscription)));
+        }
+        return due.size();
+    }
+
+    private static PartitionResult await(Future<PartitionResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for renewal partitions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Renewal partition crashed", e.getCause());
+        }
+    }
+
+    private static Counter partitionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("renewals.partitions").tag("outcome", outcome)
+                .description("Renewal partitions per run, by outcome")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Locale;
+
+/**
+ * How often a subscription renews. There is no billing period column, so it
+ * is read from the plan type: "Annual", "Yearly Family" and the like renew
+ * yearly, "Quarterly" every three months, "Weekly" every week, and
+ * everything else monthly.
+ */
+public enum RenewalPeriod {
+    WEEKLY(Period.ofWeeks(1)),
+    MONTHLY(Period.ofMonths(1)),
+    QUARTERLY(Period.ofMonths(3)),
+    YEARLY(Period.ofYears(1));
+
+    private final Period period;
+
+    RenewalPeriod(Period period) {
+        this.period = period;
+    }
+
+    public static RenewalPeriod forPlan(String planType) {
+        String plan = planType == null ? "" : planType.toLowerCase(Locale.ROOT);
+        if (plan.contains("annual") || plan.contains("year")) {
+            return YEARLY;
+        }
+        if (plan.contains("quarter")) {
+            return QUARTERLY;
+        }
+        if (plan.contains("week")) {
+            return WEEKLY;
+        }
+        return MONTHLY;
+    }
+
+    /**
+     * The first renewal on or after today, counting whole periods from
+     * renewalDate. Counted from the original date rather than step by step,
+     * so a subscription renewing on the 31st comes back to the 31st after a
+     * short month instead of drifting to the 28th.
+     */
+    public LocalDate nextOnOrAfter(LocalDate renewalDate, LocalDate today) {
+        LocalDate next = renewalDate;
+        for (int periods = 1; next.isBefore(today); periods++) {
+            next = renewalDate.plus(period.multipliedBy(periods));
+        }
+        return next;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.assessmentapplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.assessmentapplication.exception.BadRequestException;
+
+/**
+ * Position of the last hit a client has seen in a search listing. Hits are
+ * ordered by (fuzzy, id), see SubscriptionSearchIndex. Opaque to clients,
+ * like SubscriptionCursor.
+ */
+public record SearchCursor(boolean fuzzy, int id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = "search|" + (fuzzy ? "fuzzy" : "exact") + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals("search")
+                    || !(parts[1].equals("fuzzy") || parts[1].equals("exact"))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new SearchCursor(parts[1].equals("fuzzy"), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Base64 and number parsing errors both land here
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.assessmentapplication.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Repository.UserSpendSummaryRepository;
+import com.example.assessmentapplication.dto.SpendReconcileReport;
+import com.example.assessmentapplication.dto.SpendTotal;
+import com.example.assessmentapplication.entity.UserSpendSummary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rebuilds user_spend_summary from the subscriptions table, fixing any row
+ * that has drifted (a write that bypassed the service, a manual SQL fix, a
+ * bug). Also the way to fill the table the first time.
+ *
+ * Users are processed in pages of page-size, each page in its own short
+ * transaction: the users are locked, the real totals are recomputed with one
+ * GROUP BY, and only summary rows that differ are written.
+ *
+ * Subscription writes lock their users too, just before commit, when
+ * SpendSummaryService applies their deltas. So while a page holds its locks:
+ * - a write that committed earlier is in the GROUP BY and in the summary;
+ * - a write still in progress is in neither, and its commit waits for the
+ * page, then applies its delta on top of the repaired row.
+ * The totals and the summary rows read under the lock always describe the
+ * same set of committed writes.
+ *
+ * Repairs are counted in the spend.summary.repairs metric; a non-zero rate
+ * means something is writing subscriptions behind the service's back.
+ */
+@Service
+public class SpendSummaryReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendSummaryReconciler.class);
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserSpendSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairs;
+    private final int pageSize;
+
+    public SpendSummaryReconciler(UserRepository userRepository,
+            SubscriptionRepository subscriptionRepository,
+            UserSpendSummaryRepository summaryRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.spend-summary.reconcile-page-size:500}") int pageSize) {
+        this.userRepository = userRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.summaryRepository = summaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairs = Counter.builder("spend.summary.repairs")
+                .description("user_spend_summary rows fixed by the reconciler")
+                .register(meterRegistry);
+        this.pageSize = pageSize;
+    }
+
+    // Nightly by default; "-" disables the schedule (the admin endpoint still works)
+    @Scheduled(cron = "${app.spend-summary.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        SpendReconcileReport report = reconcileAll();
+        log.info("Spend summary reconciled: {} users checked, {} rows repaired in {} ms",
+                report.usersChecked(), report.rowsRepaired(), report.elapsedMillis());
+    }
+
+    public SpendReconcileReport reconcileAll() {
+        long started = System.nanoTime();
+        long usersChecked = 0;
+        long rowsRepaired = 0;
+        int afterId = 0;
+        while (true) {
+            List<Integer> userIds = userRepository.findIdsAfter(afterId, Limit.of(pageSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Long repaired = transactionTemplate.execute(status -> reconcilePage(userIds));
+            rowsRepaired += repaired == null ? 0 : repaired;
+            usersChecked += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new SpendReconcileReport(usersChecked, rowsRepaired, elapsedMillis);
+    }
+
+    private long reconcilePage(List<Integer> userIds) {
+        // Before the GROUP BY, so it sees every write committed up to now
+        userRepository.lockAllById(userIds);
+
+        Map<UserSpendSummary.Key, SpendTotal> expected = new HashMap<>();
+        for (SpendTotal total : subscriptionRepository.sumByUserAndCurrency(userIds)) {
+            expected.put(new UserSpendSummary.Key(total.userId(), total.currency()), total);
+        }
+
+        long repaired = 0;
+        for (UserSpendSummary row : summaryRepository.findByUserIdIn(userIds)) {
+            SpendTotal total = expected.remove(new UserSpendSummary.Key(row.getUserId(), row.getCurrency()));
+            if (total == null) {
+                summaryRepository.delete(row); // No subscriptions left in this currency
+                repaired++;
+            } else if (row.getSubscriptionCount() != total.subscriptionCount()
+                    || !sameAmount(row, total)) {
+                // Managed entity: the change is flushed when the page commits
+                row.setSubscriptionCount(total.subscriptionCount());
+                row.setTotalAmount(total.totalAmount());
+                repaired++;
+            }
+        }
+        // Whatever is left has subscriptions but no summary row
+        for (SpendTotal total : expected.values()) {
+            summaryRepository.save(new UserSpendSummary(total.userId(), total.currency(),
+                    total.subscriptionCount(), total.totalAmount()));
+            repaired++;
+        }
+        repairs.increment(repaired);
+        return repaired;
+    }
+
+    private static boolean sameAmount(UserSpendSummary row, SpendTotal total) {
+        if (row.getTotalAmount() == null || total.totalAmount() == null) {
+            return Objects.equals(row.getTotalAmount(), total.totalAmount());
+        }
+        // compareTo, not equals: 10.0 and 10.00 are the same amount
+        return row.getTotalAmount().compareTo(total.totalAmount()) == 0;
+    }
+}
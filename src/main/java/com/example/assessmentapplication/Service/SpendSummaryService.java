@@ -0,0 +1,176 @@
+package com.example.assessmentapplication.Service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Repository.UserSpendSummaryRepository;
+import com.example.assessmentapplication.dto.CurrencySpend;
+import com.example.assessmentapplication.entity.UserSpendSummary;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keeps user_spend_summary in step with the subscriptions table.
+ *
+ * KEY CONCEPT: Incrementally maintained read model
+ *
+ * Instead of running SUM(amount) over all of a user's rows on every read, we
+ * keep the answer in a small table and adjust it on every write
+ * (+1 / +amount on create, -1 / -amount on delete, both on update).
+ *
+ * The adjustments happen in the same transaction as the subscription write:
+ * this listener collects the deltas while the transaction runs and applies
+ * them just before it commits, one UPDATE per (user, currency). A bulk
+ * import of 1000 rows for one user therefore costs one UPDATE, not 1000. If
+ * the write rolls back, so does the summary. Before applying them it locks
+ * the users' rows, which is what keeps SpendSummaryReconciler from racing
+ * the commit.
+ */
+@Service
+public class SpendSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendSummaryService.class);
+
+    // Subscription.currency defaults to USD; rows saved with an explicit null
+    // are counted as USD too (the reconciler uses the same rule)
+    static final String DEFAULT_CURRENCY = "USD";
+
+    private final UserSpendSummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SpendSummaryService(UserSpendSummaryRepository summaryRepository, UserRepository userRepository) {
+        this.summaryRepository = summaryRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CurrencySpend> getSpendByCurrency(int userId) {
+        return summaryRepository.findByUserIdOrderByCurrencyAsc(userId).stream()
+                .map(row -> new CurrencySpend(row.getCurrency(), row.getSubscriptionCount(), row.getTotalAmount()))
+                .toList();
+    }
+
+    // Plain @EventListener (not transactional): runs inside the writer's
+    // transaction, at the moment the event is published
+    @EventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        PendingDeltas deltas = pendingDeltas();
+        if (event.before() != null) {
+            deltas.add(event.before(), -1);
+        }
+        if (event.after() != null) {
+            deltas.add(event.after(), 1);
+        }
+    }
+
+    static String currencyKey(String currency) {
+        return currency == null || currency.isBlank() ? DEFAULT_CURRENCY : currency;
+    }
+
+    private PendingDeltas pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Subscription changes must be published inside a transaction");
+        }
+        PendingDeltas deltas = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            PendingDeltas created = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SpendSummaryService.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void apply(PendingDeltas deltas) {
+        // Lock the users first, the same lock the reconciler takes for a
+        // page. While it holds them this commit waits, so the reconciler
+        // never compares a summary row with totals that predate it.
+        // TreeMap order: every transaction locks in the same order, so two
+        // writers can't deadlock on each other
+        List<Integer> userIds = deltas.byKey.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .map(entry -> entry.getKey().getUserId())
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.lockAllById(userIds);
+        deltas.byKey.forEach((key, delta) -> {
+            if (delta.isEmpty()) {
+                return; // e.g. an update that didn't touch amount or currency
+            }
+            int userId = key.getUserId();
+            String currency = key.getCurrency();
+            if (summaryRepository.applyDelta(userId, currency, delta.count, delta.amount) == 0) {
+                insertRow(userId, currency, delta);
+            }
+            if (delta.count < 0) {
+                summaryRepository.deleteIfEmpty(userId, currency);
+            }
+        });
+    }
+
+    private void insertRow(int userId, String currency, Delta delta) {
+        // First subscription in this currency. The user row is locked (see
+        // apply), so no other transaction can insert it at the same time.
+        if (delta.count < 0) {
+            // Removing from a row that doesn't exist: the summary has drifted,
+            // leave it for the reconciler rather than store a negative count
+            log.warn("Spend summary for user {} / {} is missing, skipping delta", userId, currency);
+            return;
+        }
+        entityManager.persist(new UserSpendSummary(userId, currency, delta.count, delta.amount));
+    }
+
+    private static class PendingDeltas {
+        private final Map<UserSpendSummary.Key, Delta> byKey = new TreeMap<>(
+                Comparator.comparingInt(UserSpendSummary.Key::getUserId)
+                        .thenComparing(UserSpendSummary.Key::getCurrency));
+
+        void add(SubscriptionSnapshot snapshot, int sign) {
+            UserSpendSummary.Key key = new UserSpendSummary.Key(snapshot.userId(), currencyKey(snapshot.currency()));
+            BigDecimal amount = snapshot.amount() == null ? BigDecimal.ZERO : snapshot.amount();
+            Delta delta = byKey.computeIfAbsent(key, k -> new Delta());
+            delta.count += sign;
+            delta.amount = sign > 0 ? delta.amount.add(amount) : delta.amount.subtract(amount);
+        }
+    }
+
+    private static class Delta {
+        long count;
+        BigDecimal amount = BigDecimal.ZERO;
+
+        boolean isEmpty() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
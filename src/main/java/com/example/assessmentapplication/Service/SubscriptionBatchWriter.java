@@ -0,0 +1,68 @@
+package com.example.assessmentapplication.Service;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Inserts many subscriptions in one transaction using JDBC batching.
+ *
+ * KEY CONCEPT: JDBC batching
+ *
+ * Without batching every INSERT is its own network round trip. With a batch
+ * size of 50 Hibernate queues 50 INSERTs and sends them in one go, which is
+ * where most of the bulk import speed-up comes from. It only works because
+ * Subscription ids come from a pooled sequence (see Subscription.id).
+ */
+@Component
+public class SubscriptionBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batch-size:50}")
+    private int batchSize;
+
+    public SubscriptionBatchWriter(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Persists all subscriptions and returns them with their ids assigned.
+     * getReferenceById-style proxies stand in for the users, so the caller
+     * must have checked that every user id exists.
+     */
+    @Transactional
+    public List<Subscription> insertAll(List<PendingSubscription> pending) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        int count = 0;
+        for (PendingSubscription item : pending) {
+            Subscription subscription = item.subscription();
+            subscription.setUser(entityManager.getReference(User.class, item.userId()));
+            entityManager.persist(subscription); // the sequence assigns the id here, the INSERT waits for flush
+            eventPublisher.publishEvent(SubscriptionChangedEvent.created(SubscriptionSnapshot.of(subscription)));
+            if (++count % batchSize == 0) {
+                // Send this batch and forget the entities so memory stays flat
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return pending.stream().map(PendingSubscription::subscription).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.assessmentapplication.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.assessmentapplication.dto.SubscriptionExportRow;
+
+/**
+ * Minimal RFC 4180 CSV helpers for subscription rows. Values containing a
+ * comma, quote or line break are quoted and inner quotes are doubled.
+ */
+public final class SubscriptionCsv {
+
+    public static final String HEADER = "id,userId,serviceName,planType,nextRenewalDate,amount,currency";
+
+    private SubscriptionCsv() {
+    }
+
+    public static String toLine(SubscriptionExportRow row) {
+        return String.join(",",
+                value(row.id()),
+                value(row.userId()),
+                value(row.serviceName()),
+                value(row.planType()),
+                value(row.nextRenewalDate()),
+                row.amount() == null ? "" : row.amount().toPlainString(),
+                value(row.currency()));
+    }
+
+    private static String value(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Reads one CSV record, or returns null at the end of the input. Quoted
+     * values may contain commas, doubled quotes and line breaks, so anything
+     * written by toLine can be read back.
+     */
+    public static List<String> readRecord(BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean readAnything = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAnything = true;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                int next = reader.read();
+                if (next == '"') {
+                    field.append('"'); // "" inside quotes is an escaped quote
+                } else {
+                    quoted = false;
+                    if (next != -1) {
+                        reader.reset();
+                    }
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!readAnything) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assessmentapplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.assessmentapplication.exception.BadRequestException;
+
+/**
+ * Position of the last row a client has seen in a keyset-paginated listing.
+ *
+ * KEY CONCEPT: Keyset (seek) pagination vs OFFSET pagination
+ *
+ * - OFFSET 10000 LIMIT 50 makes the database read and throw away 10000 rows
+ * before it returns anything, so every page gets slower.
+ * - Keyset pagination remembers the sort key of the last row and asks for
+ * "rows after this one" (WHERE id > :lastId). The index jumps straight to
+ * the right spot, so page 200 costs the same as page 1.
+ *
+ * The cursor is base64url encoded so that clients treat it as opaque and we
+ * are free to change its contents later.
+ *
+ * renewalDate is null when sorting by id, or when a nextRenewalDate listing
+ * has moved past the dated rows and is walking the undated ones.
+ */
+public record SubscriptionCursor(SubscriptionSort sort, LocalDate renewalDate, int id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static SubscriptionCursor after(SubscriptionSort sort, LocalDate renewalDate, int id) {
+        return new SubscriptionCursor(sort, renewalDate, id);
+    }
+
+    public String encode() {
+        String raw = sort.key() + "|" + (renewalDate == null ? "" : renewalDate.toString()) + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SubscriptionCursor decode(String token, SubscriptionSort expectedSort) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            SubscriptionSort sort = SubscriptionSort.fromKey(parts[0]);
+            if (sort != expectedSort) {
+                // A cursor only makes sense for the ordering it was issued for
+                throw new BadRequestException("Cursor was issued for sort '" + sort.key() + "'");
+            }
+            LocalDate renewalDate = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+            return new SubscriptionCursor(sort, renewalDate, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 and number parsing errors both land here
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assessmentapplication.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.dto.SubscriptionExportRow;
+import com.example.assessmentapplication.entity.Subscription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams every subscription to an OutputStream without holding the table in
+ * memory.
+ *
+ * KEY CONCEPT: Why findAll() does not scale
+ *
+ * findAll() builds a List with one managed entity per row, and the
+ * persistence context keeps a reference to every one of them until the
+ * transaction ends. Memory grows with the table size.
+ *
+ * Here the rows come from a forward-only JDBC cursor (fetch size set on the
+ * repository query), each row is written out immediately, and the
+ * persistence context is cleared every few thousand rows so the entities
+ * become garbage. Memory stays flat whether there are 10k rows or 50M.
+ */
+@Service
+public class SubscriptionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionExportService.class);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ObjectWriter rowWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.clear-interval:1000}")
+    private int clearInterval;
+
+    public SubscriptionExportService(SubscriptionRepository subscriptionRepository, ObjectMapper objectMapper) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.rowWriter = objectMapper.writerFor(SubscriptionExportRow.class);
+    }
+
+    /**
+     * Writes all subscriptions in the given format and returns the number of
+     * rows written. The transaction keeps the connection (and the cursor) open
+     * for the whole export.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream target, ExportFormat format) throws IOException {
+        long started = System.nanoTime();
+        long count = 0;
+        // A small buffer turns thousands of tiny writes into a few large ones
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            out.write((SubscriptionCsv.HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        try (Stream<Subscription> rows = subscriptionRepository.streamAllForExport()) {
+            Iterator<Subscription> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SubscriptionExportRow row = SubscriptionExportRow.from(iterator.next());
+                if (format == ExportFormat.CSV) {
+                    out.write(SubscriptionCsv.toLine(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(rowWriter.writeValueAsBytes(row));
+                }
+                out.write('\n');
+                if (++count % clearInterval == 0) {
+                    // Detach everything loaded so far so the GC can reclaim it
+                    entityManager.clear();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} subscriptions as {} in {} ms", count, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+}
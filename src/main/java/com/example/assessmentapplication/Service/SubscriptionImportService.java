@@ -0,0 +1,302 @@
+package com.example.assessmentapplication.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.dto.ImportResult;
+import com.example.assessmentapplication.dto.ImportRowError;
+import com.example.assessmentapplication.dto.SubscriptionImportRow;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk creation of subscriptions (partner onboarding).
+ *
+ * Compared with one POST per row this:
+ * 1. validates every row up front and reports bad rows instead of failing
+ * the whole import,
+ * 2. checks all owners with a few "id IN (...)" queries instead of one
+ * findById per row,
+ * 3. writes the good rows in chunks, each chunk in its own transaction using
+ * JDBC batch inserts (see SubscriptionBatchWriter).
+ */
+@Service
+public class SubscriptionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionImportService.class);
+
+    // Keeps the IN lists well below database parameter limits
+    private static final int USER_LOOKUP_CHUNK = 1000;
+
+    private final UserRepository userRepository;
+    private final SubscriptionBatchWriter batchWriter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${app.import.max-rows:500000}")
+    private int maxRows;
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public SubscriptionImportService(UserRepository userRepository, SubscriptionBatchWriter batchWriter,
+            Validator validator, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.batchWriter = batchWriter;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports a JSON array of SubscriptionImportRow objects. The array is
+     * read one element at a time, like the CSV, so max-rows is enforced
+     * before an oversized body has been turned into objects.
+     */
+    public ImportResult importJson(InputStream in) throws IOException {
+        ImportErrors errors = new ImportErrors(maxReportedErrors);
+        List<SubscriptionImportRow> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON input must be an array of subscriptions");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("JSON input ends before the array is closed");
+                }
+                checkRowLimit(rows.size() + 1);
+                if (token == JsonToken.VALUE_NULL) {
+                    rows.add(null); // keeps row numbers aligned with the input
+                    errors.add(rows.size(), "Row must be an object, not null");
+                } else {
+                    rows.add(objectMapper.readValue(parser, SubscriptionImportRow.class));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON at row " + (rows.size() + 1) + ": " + e.getOriginalMessage());
+        }
+        return doImport(rows, errors);
+    }
+
+    /**
+     * Imports CSV with a header line. Columns are matched by name, so their
+     * order doesn't matter; userId, serviceName, planType and amount are
+     * required, nextRenewalDate (yyyy-MM-dd) and currency are optional.
+     */
+    public ImportResult importCsv(BufferedReader reader) throws IOException {
+        List<String> header = SubscriptionCsv.readRecord(reader);
+        if (header == null) {
+            throw new BadRequestException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : List.of("userId", "serviceName", "planType", "amount")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("CSV header is missing column: " + required);
+            }
+        }
+
+        ImportErrors errors = new ImportErrors(maxReportedErrors);
+        List<SubscriptionImportRow> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = SubscriptionCsv.readRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue; // blank line
+            }
+            checkRowLimit(rows.size() + 1);
+            try {
+                rows.add(new SubscriptionImportRow(
+                        parseOrNull(column(record, columns, "userId"), Integer::valueOf),
+                        column(record, columns, "serviceName"),
+                        column(record, columns, "planType"),
+                        parseOrNull(column(record, columns, "nextRenewalDate"), LocalDate::parse),
+                        parseOrNull(column(record, columns, "amount"), BigDecimal::new),
+                        column(record, columns, "currency")));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                rows.add(null); // keeps row numbers aligned with the input
+                errors.add(rows.size(), "Unparseable value: " + e.getMessage());
+            }
+        }
+        return doImport(rows, errors);
+    }
+
+    private ImportResult doImport(List<SubscriptionImportRow> rows, ImportErrors errors) {
+        checkRowLimit(rows.size());
+        long started = System.nanoTime();
+
+        // 1. Validate each row on its own
+        List<Subscription> candidates = new ArrayList<>(rows.size());
+        Set<Integer> userIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            SubscriptionImportRow row = rows.get(i);
+            // null rows were reported where they were read (unparseable CSV, JSON null)
+            Subscription subscription = row == null ? null : toValidSubscription(row, i + 1, errors);
+            candidates.add(subscription);
+            if (subscription != null) {
+                userIds.add(row.userId());
+            }
+        }
+
+        // 2. Resolve every owner with a handful of IN queries
+        Set<Integer> existingUsers = findExistingUsers(userIds);
+
+        // 3. Write the survivors chunk by chunk
+        int imported = 0;
+        List<PendingSubscription> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkRows = new ArrayList<>(chunkSize);
+        for (int i = 0; i < candidates.size(); i++) {
+            Subscription subscription = candidates.get(i);
+            if (subscription == null) {
+                continue;
+            }
+            int userId = rows.get(i).userId();
+            if (!existingUsers.contains(userId)) {
+                errors.add(i + 1, "User not found: " + userId);
+                continue;
+            }
+            chunk.add(new PendingSubscription(userId, subscription));
+            chunkRows.add(i + 1);
+            if (chunk.size() == chunkSize) {
+                imported += writeChunk(chunk, chunkRows, errors);
+                chunk.clear();
+                chunkRows.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(chunk, chunkRows, errors);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : imported / (elapsedNanos / 1_000_000_000.0);
+        log.info("Imported {} of {} subscriptions in {} ms ({} rows/s)", imported, rows.size(),
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+        return new ImportResult(rows.size(), imported, errors.count(), errors.reported(), elapsedNanos / 1_000_000,
+                rowsPerSecond);
+    }
+
+    private Subscription toValidSubscription(SubscriptionImportRow row, int rowNumber, ImportErrors errors) {
+        if (row.userId() == null) {
+            errors.add(rowNumber, "userId: must not be null");
+            return null;
+        }
+        Subscription subscription = new Subscription();
+        subscription.setServiceName(row.serviceName());
+        subscription.setPlanType(row.planType());
+        subscription.setNextRenewalDate(row.nextRenewalDate());
+        subscription.setAmount(row.amount());
+        if (row.currency() != null && !row.currency().isBlank()) {
+            subscription.setCurrency(row.currency());
+        }
+        // Same constraints as POST /api/subscriptions/user/{userId}
+        Set<ConstraintViolation<Subscription>> violations = validator.validate(subscription);
+        if (!violations.isEmpty()) {
+            errors.add(rowNumber, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return subscription;
+    }
+
+    private Set<Integer> findExistingUsers(Set<Integer> userIds) {
+        Set<Integer> existing = new HashSet<>();
+        List<Integer> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += USER_LOOKUP_CHUNK) {
+            List<Integer> slice = ids.subList(from, Math.min(from + USER_LOOKUP_CHUNK, ids.size()));
+            existing.addAll(userRepository.findExistingIds(slice));
+        }
+        return existing;
+    }
+
+    private int writeChunk(List<PendingSubscription> chunk, List<Integer> rowNumbers, ImportErrors errors) {
+        try {
+            batchWriter.insertAll(chunk);
+            return chunk.size();
+        } catch (DataAccessException e) {
+            // The chunk's transaction rolled back, so none of its rows were saved
+            log.warn("Import chunk of {} rows failed", chunk.size(), e);
+            for (int rowNumber : rowNumbers) {
+                errors.add(rowNumber, "Write failed: " + e.getMostSpecificCause().getMessage());
+            }
+            return 0;
+        }
+    }
+
+    private void checkRowLimit(int rowCount) {
+        if (rowCount > maxRows) {
+            throw new BadRequestException("Import is limited to " + maxRows + " rows per request");
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parseOrNull(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    /**
+     * Counts every error but only keeps the first few for the response, so a
+     * completely broken file doesn't produce a gigantic error list.
+     */
+    private static class ImportErrors {
+        private final int limit;
+        private final List<ImportRowError> reported = new ArrayList<>();
+        private int count;
+
+        ImportErrors(int limit) {
+            this.limit = limit;
+        }
+
+        void add(int row, String message) {
+            count++;
+            if (reported.size() < limit) {
+                reported.add(new ImportRowError(row, message));
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        List<ImportRowError> reported() {
+            return reported.stream().sorted((a, b) -> Integer.compare(a.row(), b.row())).toList();
+        }
+    }
+}
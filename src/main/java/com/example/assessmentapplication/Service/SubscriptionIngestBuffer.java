@@ -0,0 +1,283 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.dto.IngestStatus;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.exception.ServiceBusyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write-behind buffer for subscription creates (app.ingest.enabled=true).
+ *
+ * KEY CONCEPT: Group commit
+ *
+ * A synchronous create costs a user lookup, an INSERT and a commit per row,
+ * and during partner sync bursts the database spends most of its time on
+ * those commits. Here submit() only puts the row in a queue and returns a
+ * ticket. A single writer thread takes up to group-size rows at a time and
+ * inserts them in one transaction with JDBC batching (SubscriptionBatchWriter),
+ * so a burst of 1000 creates costs about 1000 / group-size commits. A group
+ * is written as soon as it is full, or after max-delay if traffic is light.
+ *
+ * - Users are attached with getReference, not loaded. One
+ * SELECT id ... IN (...) per group weeds out unknown users first.
+ * - If a group still fails, its rows are retried one by one so a single bad
+ * row only fails its own ticket.
+ * - Bounded and lock-free: producers reserve a slot with a CAS on the size
+ * counter and enqueue on a ConcurrentLinkedQueue. When all capacity slots
+ * are taken, submit() fails fast with ServiceBusyException (503 +
+ * Retry-After).
+ * - Shutdown: as a SmartLifecycle it stops after the web server. stop()
+ * refuses new rows, waits for submits in progress, then tells the writer to
+ * drain, and returns only when everything queued has been written.
+ *
+ * Statuses are kept for status-ttl. Metrics: subscription.ingest.queued,
+ * subscription.ingest.rejected, subscription.ingest.rows (outcome=written|failed)
+ * and subscription.ingest.group.size.
+ */
+@Service
+@ConditionalOnProperty(name = "app.ingest.enabled", havingValue = "true")
+public class SubscriptionIngestBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionIngestBuffer.class);
+
+    private record Entry(String ticket, PendingSubscription pending) {
+    }
+
+    private final SubscriptionBatchWriter batchWriter;
+    private final UserRepository userRepository;
+    private final int capacity;
+    private final int groupSize;
+    private final long maxDelayNanos;
+    private final long retryAfterSeconds;
+    private final Duration shutdownTimeout;
+
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger submitsInProgress = new AtomicInteger();
+    private final Cache<String, IngestStatus> statuses;
+    private volatile boolean accepting;
+    // Set by stop() once no submit can still enqueue; only then may the
+    // writer take an empty queue as the end
+    private volatile boolean draining;
+    private volatile Thread writer;
+
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter failed;
+    private final DistributionSummary groupSizes;
+
+    public SubscriptionIngestBuffer(SubscriptionBatchWriter batchWriter, UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.capacity:10000}") int capacity,
+            @Value("${app.ingest.group-size:200}") int groupSize,
+            @Value("${app.ingest.max-delay:50ms}") Duration maxDelay,
+            @Value("${app.ingest.retry-after:1s}") Duration retryAfter,
+            @Value("${app.ingest.status-ttl:10m}") Duration statusTtl,
+            @Value("${app.ingest.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.batchWriter = batchWriter;
+        this.userRepository = userRepository;
+        this.capacity = capacity;
+        this.groupSize = groupSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.shutdownTimeout = shutdownTimeout;
+        this.statuses = Caffeine.newBuilder().expireAfterWrite(statusTtl).build();
+        Gauge.builder("subscription.ingest.queued", size, AtomicInteger::get)
+                .description("Subscriptions accepted but not written yet")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("subscription.ingest.rejected")
+                .description("Submits turned away because the queue was full or shutting down")
+                .register(meterRegistry);
+        this.written = Counter.builder("subscription.ingest.rows").tag("outcome", "written")
+                .register(meterRegistry);
+        this.failed = Counter.builder("subscription.ingest.rows").tag("outcome", "failed")
+                .register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("subscription.ingest.group.size")
+                .description("Rows written per transaction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a new subscription for userId and returns its QUEUED status.
+     * Throws ServiceBusyException when the queue is full.
+     */
+    public IngestStatus submit(int userId, Subscription subscription) {
+        submitsInProgress.incrementAndGet();
+        try {
+            if (!accepting) {
+                rejected.increment();
+                throw new ServiceBusyException("Subscription ingest is not accepting writes", retryAfterSeconds);
+            }
+            int queued;
+            do {
+                queued = size.get();
+                if (queued >= capacity) {
+                    rejected.increment();
+                    throw new ServiceBusyException("Subscription ingest queue is full", retryAfterSeconds);
+                }
+            } while (!size.compareAndSet(queued, queued + 1));
+
+            IngestStatus status = IngestStatus.queued(UUID.randomUUID().toString());
+            statuses.put(status.ticket(), status);
+            queue.offer(new Entry(status.ticket(), new PendingSubscription(userId, subscription)));
+            if (queued + 1 >= groupSize) {
+                LockSupport.unpark(writer); // A full group is ready, don't wait for max-delay
+            }
+            return status;
+        } finally {
+            submitsInProgress.decrementAndGet();
+        }
+    }
+
+    // null once the ticket is unknown or its status has expired
+    public IngestStatus status(String ticket) {
+        return statuses.getIfPresent(ticket);
+    }
+
+    @Override
+    public void start() {
+        draining = false;
+        accepting = true;
+        Thread thread = new Thread(this::writeLoop, "subscription-ingest");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        // A submit that got past the check above may still be enqueuing
+        while (submitsInProgress.get() > 0) {
+            Thread.onSpinWait();
+        }
+        draining = true;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || !queue.isEmpty()) {
+            log.error("Subscription ingest stopped with {} rows still queued", size.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    // Stops after the web server (which stops at a higher phase), so no new
+    // request can queue a row after the final flush
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeLoop() {
+        // Not accepting: a submit that passed its check before stop() may
+        // still be about to enqueue, so keep going until draining is set
+        while (!draining || !queue.isEmpty()) {
+            if (!draining && size.get() < groupSize) {
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+            List<Entry> group = drainGroup();
+            if (!group.isEmpty()) {
+                try {
+                    write(group);
+                } catch (RuntimeException e) {
+                    // Never let the writer die; the rows of this group are lost
+                    log.error("Subscription ingest group of {} failed", group.size(), e);
+                    group.forEach(entry -> fail(entry, "Internal error"));
+                }
+            }
+        }
+    }
+
+    private List<Entry> drainGroup() {
+        List<Entry> group = new ArrayList<>(groupSize);
+        Entry entry;
+        while (group.size() < groupSize && (entry = queue.poll()) != null) {
+            group.add(entry);
+        }
+        size.addAndGet(-group.size());
+        return group;
+    }
+
+    private void write(List<Entry> group) {
+        Set<Integer> userIds = new HashSet<>();
+        group.forEach(entry -> userIds.add(entry.pending().userId()));
+        Set<Integer> existing = new HashSet<>(userRepository.findExistingIds(userIds));
+        List<Entry> valid = new ArrayList<>(group.size());
+        for (Entry entry : group) {
+            if (existing.contains(entry.pending().userId())) {
+                valid.add(entry);
+            } else {
+                fail(entry, "User not found!");
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.insertAll(valid.stream().map(Entry::pending).toList());
+            groupSizes.record(valid.size());
+            valid.forEach(this::succeed);
+        } catch (RuntimeException e) {
+            log.warn("Subscription ingest group of {} failed, retrying row by row: {}", valid.size(), e.getMessage());
+            for (Entry entry : valid) {
+                entry.pending().subscription().setId(null); // Assigned by the rolled-back attempt
+                try {
+                    batchWriter.insertAll(List.of(entry.pending()));
+                    groupSizes.record(1);
+                    succeed(entry);
+                } catch (RuntimeException rowFailure) {
+                    fail(entry, "Could not save: " + rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private void succeed(Entry entry) {
+        written.increment();
+        statuses.put(entry.ticket(), IngestStatus.written(entry.ticket(), entry.pending().subscription().getId()));
+    }
+
+    private void fail(Entry entry, String error) {
+        failed.increment();
+        statuses.put(entry.ticket(), IngestStatus.failed(entry.ticket(), error));
+    }
+
+    int queued() {
+        return size.get();
+    }
+}
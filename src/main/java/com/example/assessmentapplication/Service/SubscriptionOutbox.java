@@ -0,0 +1,67 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.Clock;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.assessmentapplication.entity.OutboxEvent;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes every subscription change to the subscription_outbox table.
+ *
+ * KEY CONCEPT: Transactional outbox
+ *
+ * Publishing to the change feed straight from the service would either
+ * announce changes that then roll back, or lose changes if the app dies
+ * between commit and publish. Instead the change is recorded as a row in the
+ * same transaction as the write itself: both commit or neither does.
+ * ChangeFeedRelay reads the committed rows afterwards and streams them.
+ *
+ * Rows are persisted, not inserted one by one: they go out at flush with
+ * the transaction's other INSERTs, in JDBC batches.
+ */
+@Component
+public class SubscriptionOutbox {
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SubscriptionOutbox(ObjectMapper objectMapper, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    // Plain @EventListener, so it runs inside the writer's transaction
+    @EventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Subscription changes must be published inside a transaction");
+        }
+        OutboxEvent row = new OutboxEvent();
+        row.setSubscriptionId(event.subscriptionId());
+        row.setUserId(event.userId());
+        row.setChangeType(event.type().name());
+        row.setPayload(event.after() == null ? null : toJson(event));
+        row.setCreatedAt(clock.millis());
+        entityManager.persist(row);
+    }
+
+    private String toJson(SubscriptionChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.after());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize subscription " + event.subscriptionId(), e);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.example.assessmentapplication.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.dto.SearchEntry;
+import com.example.assessmentapplication.dto.SearchHit;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory search over every subscription's serviceName and planType, for
+ * "starts with or looks like X" lookups across all users.
+ *
+ * KEY CONCEPT: Inverted index
+ *
+ * A LIKE '%net%' query has to read every row. An inverted index turns the
+ * table around: for each word, the ids of the subscriptions that contain it.
+ *
+ * "basic"   -> [3, 8, 12, ...]
+ * "netflix" -> [1, 8, 40]
+ * "premium" -> [1, 2, 5, 9, ...]
+ *
+ * The words are kept sorted (a skip list), which gives us what a trie would:
+ * every word starting with "net" sits in one contiguous range, found with
+ * subMap in O(log words). A multi-word query ("netflix prem") intersects
+ * the words' id lists by leapfrogging: whenever one word is on a higher id
+ * than the others, they all jump straight to it with a binary search. The
+ * work follows the rarest word, not the size of the table, even when a
+ * short prefix expands to thousands of words.
+ *
+ * Typo tolerance ("netflx", "spotfy") uses edit distance: the number of
+ * inserted, deleted or changed letters between two words. Longer words may
+ * have more typos (none up to 3 letters, 1 up to 7, then 2). Walking the
+ * sorted words we compute the distance one letter at a time, reusing the
+ * work for the prefix two neighbouring words share, and skip every word
+ * under a prefix that is already too far off. As with prefixes, a word
+ * matches when any of its prefixes is close enough, so results show up
+ * while the user is still typing.
+ *
+ * Results are ordered by (fuzzy, id): subscriptions where every word
+ * matched exactly or by prefix come first, then those that needed a typo.
+ * That pair is the pagination cursor.
+ *
+ * Like RenewalCalendarIndex, the index is filled at startup, then kept in
+ * sync by SubscriptionChangedEvent after each commit. Id lists are
+ * PostingList, so a change copies one small block. Writers are serialized
+ * with a lock on the index; readers don't lock.
+ */
+@Component
+public class SubscriptionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionSearchIndex.class);
+
+    private final ConcurrentSkipListMap<String, PostingList> terms = new ConcurrentSkipListMap<>();
+    // Same lists by word, for writers: a hash lookup instead of a walk down
+    // the skip list comparing strings. Guarded by the lock.
+    private final Map<String, PostingList> termsByWord = new HashMap<>();
+    private final PostingList documents = new PostingList();
+    private final SubscriptionRepository subscriptionRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+
+    private volatile boolean ready;
+    // Ids changed by events while the initial load runs, see RenewalCalendarIndex
+    private Set<Integer> changedWhileLoading = new HashSet<>();
+
+    public SubscriptionSearchIndex(SubscriptionRepository subscriptionRepository, MeterRegistry meterRegistry,
+            @Value("${app.search-index.enabled:true}") boolean enabled,
+            @Value("${app.search-index.load-page-size:10000}") int loadPageSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+        Gauge.builder("search.index.documents", documents, PostingList::size)
+                .description("Subscriptions held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", terms, Map::size)
+                .description("Distinct words in the search index")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Subscription search index disabled, search is unavailable");
+            return;
+        }
+        long started = System.nanoTime();
+        int afterId = 0;
+        while (true) {
+            List<SearchEntry> entries = subscriptionRepository.findSearchEntriesAfter(afterId,
+                    Limit.of(loadPageSize));
+            if (entries.isEmpty()) {
+                break;
+            }
+            synchronized (this) {
+                for (SearchEntry entry : entries) {
+                    if (!changedWhileLoading.contains(entry.id())) {
+                        add(entry.id(), tokens(entry));
+                    }
+                }
+            }
+            afterId = entries.get(entries.size() - 1).id();
+        }
+        synchronized (this) {
+            changedWhileLoading = null;
+            ready = true;
+        }
+        log.info("Subscription search index loaded {} subscriptions, {} words in {} ms", documents.size(),
+                terms.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // After commit, so the index never shows a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        SearchEntry before = toEntry(event.before());
+        SearchEntry after = toEntry(event.after());
+        if (before != null && after != null && Objects.equals(before.serviceName(), after.serviceName())
+                && Objects.equals(before.planType(), after.planType())) {
+            return; // Searchable text untouched
+        }
+        replace(event.subscriptionId(), before, after);
+    }
+
+    /**
+     * Re-indexes a subscription. Either side may be null (created or
+     * deleted).
+     */
+    public synchronized void replace(int id, SearchEntry before, SearchEntry after) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(id);
+        }
+        Set<String> oldTokens = before == null ? Set.of() : tokens(before);
+        Set<String> newTokens = after == null ? Set.of() : tokens(after);
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                PostingList ids = termsByWord.get(token);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        terms.remove(token); // So typo matching doesn't walk dead words
+                        termsByWord.remove(token);
+                    }
+                }
+            }
+        }
+        if (after == null) {
+            documents.remove(id);
+        } else {
+            add(id, newTokens);
+        }
+    }
+
+    /**
+     * Up to limit subscriptions matching every word of the query, ordered by
+     * (fuzzy, id), starting after (afterFuzzy, afterId). Typo matches are only
+     * included when fuzzy is true.
+     */
+    public List<SearchHit> search(String query, boolean fuzzy, boolean afterFuzzy, int afterId, int limit) {
+        Set<String> queryTokens = tokens(query);
+        List<SearchHit> hits = new ArrayList<>(Math.min(limit, 1024));
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return hits;
+        }
+        List<TokenMatch> matches = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            TokenMatch match = match(token, fuzzy);
+            if (match.all.isEmpty()) {
+                return hits; // Every word has to match
+            }
+            matches.add(match);
+        }
+
+        if (!afterFuzzy) {
+            collect(matches, false, afterId, limit, hits);
+        }
+        boolean anyTypos = matches.stream().anyMatch(match -> match.allSize > match.exactSize);
+        if (anyTypos && hits.size() < limit) {
+            collect(matches, true, afterFuzzy ? afterId : 0, limit, hits);
+        }
+        return hits;
+    }
+
+    /**
+     * Lowercase words (runs of letters and digits) of a text, in order of
+     * first appearance.
+     */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Typos allowed for a query word of this length
+    static int maxTypos(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    private static Set<String> tokens(SearchEntry entry) {
+        Set<String> tokens = tokens(entry.serviceName());
+        tokens.addAll(tokens(entry.planType()));
+        return tokens;
+    }
+
+    private static SearchEntry toEntry(SubscriptionSnapshot snapshot) {
+        return snapshot == null ? null
+                : new SearchEntry(snapshot.id(), snapshot.serviceName(), snapshot.planType());
+    }
+
+    // Callers hold the lock
+    private void add(int id, Set<String> tokens) {
+        for (String token : tokens) {
+            PostingList ids = termsByWord.get(token);
+            if (ids == null) {
+                ids = new PostingList();
+                termsByWord.put(token, ids);
+                terms.put(token, ids);
+            }
+            ids.add(id);
+        }
+        documents.add(id);
+    }
+
+    /**
+     * The id lists one query word matches: exact lists are words starting
+     * with it, all adds the words within its typo budget.
+     */
+    private static final class TokenMatch {
+        final List<PostingList> exact = new ArrayList<>();
+        final List<PostingList> all = new ArrayList<>();
+        long exactSize;
+        long allSize;
+
+        void add(PostingList ids, boolean isExact) {
+            if (isExact) {
+                exact.add(ids);
+                exactSize += ids.size();
+            }
+            all.add(ids);
+            allSize += ids.size();
+        }
+
+        List<PostingList> lists(boolean fuzzy) {
+            return fuzzy ? all : exact;
+        }
+
+        long size(boolean fuzzy) {
+            return fuzzy ? allSize : exactSize;
+        }
+    }
+
+    private TokenMatch match(String token, boolean fuzzy) {
+        TokenMatch match = new TokenMatch();
+        int typos = fuzzy ? maxTypos(token.length()) : 0;
+        if (typos == 0) {
+            for (PostingList ids : prefixRange(token).values()) {
+                match.add(ids, true);
+            }
+            return match;
+        }
+
+        // Edit distance rows, one per letter of the dictionary word: row d
+        // holds the distance between each prefix of the query word and the
+        // first d letters of the dictionary word.
+        int[][] rows = new int[token.length() + typos + 2][token.length() + 1];
+        for (int i = 0; i <= token.length(); i++) {
+            rows[0][i] = i;
+        }
+        String previous = "";
+        int validDepth = 0; // Rows 1..validDepth belong to previous's prefix
+        String term = terms.isEmpty() ? null : terms.firstKey();
+        while (term != null) {
+            int depth = Math.min(commonPrefix(previous, term), validDepth);
+            boolean matched = false;
+            boolean pruned = false;
+            while (depth < term.length() && !matched && !pruned) {
+                if (depth + 1 >= rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                if (rows[depth + 1] == null) {
+                    rows[depth + 1] = new int[token.length() + 1];
+                }
+                int best = fillRow(rows[depth], rows[depth + 1], token, term.charAt(depth), depth + 1);
+                depth++;
+                // A close enough prefix makes every word under it a match;
+                // a prefix already over budget rules them all out
+                matched = rows[depth][token.length()] <= typos;
+                pruned = best > typos;
+            }
+            previous = term;
+            validDepth = depth;
+            String prefix = term.substring(0, depth);
+            if (matched) {
+                for (Map.Entry<String, PostingList> entry : prefixRange(prefix).entrySet()) {
+                    match.add(entry.getValue(), entry.getKey().startsWith(token));
+                }
+            }
+            term = matched || pruned ? terms.higherKey(prefix + Character.MAX_VALUE) : terms.higherKey(term);
+        }
+        return match;
+    }
+
+    // One row of the Levenshtein table; returns the row's minimum
+    private static int fillRow(int[] above, int[] row, String token, char letter, int depth) {
+        row[0] = depth;
+        int best = depth;
+        for (int i = 1; i <= token.length(); i++) {
+            int substitute = above[i - 1] + (token.charAt(i - 1) == letter ? 0 : 1);
+            int value = Math.min(substitute, Math.min(above[i] + 1, row[i - 1] + 1));
+            row[i] = value;
+            best = Math.min(best, value);
+        }
+        return best;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private Map<String, PostingList> prefixRange(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Adds the hits of one tier (exact or fuzzy) after afterId, by
+     * leapfrogging: each query word's lists are merged into one cursor, and
+     * the cursors take turns jumping to the highest id any of them is on.
+     * An id is a hit once they all agree, and the ids in between are skipped
+     * with a binary search instead of being checked one by one.
+     */
+    private static void collect(List<TokenMatch> matches, boolean fuzzyTier, int afterId, int limit,
+            List<SearchHit> hits) {
+        List<TokenMatch> rarestFirst = new ArrayList<>(matches);
+        rarestFirst.sort(Comparator.comparingLong(match -> match.size(fuzzyTier)));
+        if (rarestFirst.get(0).size(fuzzyTier) == 0) {
+            return;
+        }
+        PostingList.Cursor[] words = new PostingList.Cursor[rarestFirst.size()];
+        // Fuzzy tier only: where each word matched without a typo, to tell
+        // the hits the exact tier already listed
+        PostingList.Cursor[] exactWords = new PostingList.Cursor[rarestFirst.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = union(rarestFirst.get(i).lists(fuzzyTier));
+            exactWords[i] = fuzzyTier ? union(rarestFirst.get(i).exact) : null;
+        }
+        int target = afterId + 1;
+        while (hits.size() < limit) {
+            int candidate = target;
+            boolean agreed;
+            do {
+                agreed = true;
+                for (PostingList.Cursor word : words) {
+                    int id = word.advance(candidate);
+                    if (id == PostingList.Cursor.END) {
+                        return;
+                    }
+                    if (id != candidate) {
+                        candidate = id;
+                        agreed = false;
+                    }
+                }
+            } while (!agreed);
+            if (fuzzyTier) {
+                boolean allExact = true;
+                for (PostingList.Cursor exact : exactWords) {
+                    allExact &= exact.advance(candidate) == candidate;
+                }
+                if (!allExact) {
+                    hits.add(new SearchHit(candidate, true));
+                }
+            } else {
+                hits.add(new SearchHit(candidate, false));
+            }
+            target = candidate + 1;
+        }
+    }
+
+    /**
+     * Merges several id lists into one cursor. The lists sit in a heap by
+     * their current id, and advancing only moves the ones behind the target,
+     * so a short word's thousands of lists cost log(lists) per jump, not one
+     * step per list.
+     */
+    private static PostingList.Cursor union(List<PostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0).cursor();
+        }
+        // Each entry is { current id, list }, ordered by id
+        PriorityQueue<long[]> heads = new PriorityQueue<>(lists.size() + 1,
+                Comparator.comparingLong(head -> head[0]));
+        List<PostingList.Cursor> cursors = new ArrayList<>(lists.size());
+        for (PostingList ids : lists) {
+            heads.add(new long[] { -1, cursors.size() });
+            cursors.add(ids.cursor());
+        }
+        return target -> {
+            while (!heads.isEmpty() && heads.peek()[0] < target) {
+                long[] head = heads.poll();
+                int id = cursors.get((int) head[1]).advance(target);
+                if (id != PostingList.Cursor.END) {
+                    head[0] = id;
+                    heads.add(head);
+                }
+            }
+            return heads.isEmpty() ? PostingList.Cursor.END : (int) heads.peek()[0];
+        };
+    }
+}
@@ -2,15 +2,38 @@ package com.example.assessmentapplication.Service;
 
 import com.example.assessmentapplication.Repository.SubscriptionRepository;
 import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.dto.RenewalEntry;
+import com.example.assessmentapplication.dto.SearchHit;
+import com.example.assessmentapplication.dto.SubscriptionPage;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.dto.UserResponse;
+import com.example.assessmentapplication.dto.UserSubscriptions;
 import com.example.assessmentapplication.entity.Subscription;
 import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.event.SubscriptionChangedEvent;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+import com.example.assessmentapplication.exception.BadRequestException;
+import com.example.assessmentapplication.exception.ConflictException;
+import com.example.assessmentapplication.exception.PreconditionFailedException;
 import com.example.assessmentapplication.exception.ResourceNotFoundException;
+import com.example.assessmentapplication.exception.ServiceBusyException;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * KEY CONCEPT: Lazy vs Eager Evaluation
@@ -30,58 +53,364 @@ public class SubscriptionService {
     private UserRepository userRepository;
     @Autowired
     private SubscriptionRepository subscriptionRepository;
+    @Autowired
+    private AnalyticsCache analyticsCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private RenewalCalendarIndex renewalIndex;
+    @Autowired
+    private SubscriptionSearchIndex searchIndex;
+    @Autowired
+    private Clock clock; // Injected so tests can fix "today"
+
+    static final int UPCOMING_WINDOW_DAYS = 7;
+    static final int MAX_SEARCH_QUERY_LENGTH = 100;
 
-    public Subscription createSubscription(int userId, Subscription subscription) {
+    @Value("${app.subscriptions.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${app.subscriptions.page.max-size:500}")
+    private int maxPageSize;
+    @Value("${app.subscriptions.batch.max-ids:5000}")
+    private int batchMaxIds;
+    @Value("${app.subscriptions.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Transactional
+    public SubscriptionResponse createSubscription(int userId, Subscription subscription) {
         User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User not found!"));
         subscription.setUser(user);
-        return subscriptionRepository.save(subscription); // The save method is a built-in method of JpaRepository. It
-                                                          // inserts a new row if the ID is null, or updates an existing
-                                                          // row if the ID is present.
+        Subscription saved = subscriptionRepository.save(subscription); // The save method is a built-in method of
+                                                                        // JpaRepository. It inserts a new row if the ID
+                                                                        // is null, or updates an existing row if the ID
+                                                                        // is present.
+        eventPublisher.publishEvent(SubscriptionChangedEvent.created(SubscriptionSnapshot.of(saved)));
+        return SubscriptionResponse.from(saved);
     }
 
     public List<Subscription> getAllSubscriptions() {
         return subscriptionRepository.findAll();
     }
 
-    public Subscription getSubscriptionById(int id) {
+    // Read paths select straight into SubscriptionResponse. readOnly lets
+    // Hibernate skip flushing and tells the JDBC driver no writes follow.
+    @Transactional(readOnly = true)
+    public SubscriptionResponse getSubscriptionById(int id) {
         // Don't use Integer as the parameter type for id, because if the id is null, it
         // will throw a NullPointerException
-        return subscriptionRepository.findById(id)
+        return subscriptionRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Subscription not found!"));
     }
 
-    public Subscription updateSubscription(int id, Subscription subscriptionDetails) {
-        Subscription presentSubscription = subscriptionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found!"));
-        presentSubscription.setServiceName(subscriptionDetails.getServiceName());
-        presentSubscription.setPlanType(subscriptionDetails.getPlanType());
-        presentSubscription.setNextRenewalDate(subscriptionDetails.getNextRenewalDate());
-        presentSubscription.setAmount(subscriptionDetails.getAmount());
-        presentSubscription.setCurrency(subscriptionDetails.getCurrency());
+    /**
+     * Subscriptions of many users in one call, grouped by user in the order
+     * the ids were given (users without subscriptions get an empty list).
+     * Ids are read in chunks of batch.chunk-size, so N users cost
+     * ceil(N / chunk-size) queries, twice that with includeUser, instead of
+     * one request and one query per user.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSubscriptions> getSubscriptionsForUsers(List<Integer> userIds, boolean includeUser) {
+        List<Integer> ids = distinctBatchIds(userIds);
+        Map<Integer, List<SubscriptionResponse>> byUser = new HashMap<>();
+        Map<Integer, UserResponse> users = new HashMap<>();
+        for (List<Integer> chunk : chunks(ids)) {
+            for (SubscriptionResponse row : subscriptionRepository.findResponsesByUserIdIn(chunk)) {
+                byUser.computeIfAbsent(row.user().id(), id -> new ArrayList<>()).add(row);
+            }
+            if (includeUser) {
+                for (UserResponse user : userRepository.findResponsesByIdIn(chunk)) {
+                    users.put(user.id(), user);
+                }
+            }
+        }
+        List<UserSubscriptions> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(new UserSubscriptions(id, users.get(id), byUser.getOrDefault(id, List.of())));
+        }
+        return result;
+    }
 
-        return subscriptionRepository.save(presentSubscription);
+    // Batch get by subscription id, in the order asked for. Ids that don't
+    // exist are left out.
+    @Transactional(readOnly = true)
+    public List<SubscriptionResponse> getSubscriptionsByIds(List<Integer> subscriptionIds) {
+        List<Integer> ids = distinctBatchIds(subscriptionIds);
+        Map<Integer, SubscriptionResponse> byId = new HashMap<>();
+        for (List<Integer> chunk : chunks(ids)) {
+            for (SubscriptionResponse row : subscriptionRepository.findResponsesByIdIn(chunk)) {
+                byId.put(row.id(), row);
+            }
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<Integer> distinctBatchIds(List<Integer> ids) {
+        List<Integer> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " ids per request");
+        }
+        return distinct;
     }
 
+    // Keeps each IN list at a size the database (and Hibernate's query plan
+    // cache) handles well
+    private List<List<Integer>> chunks(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchChunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + batchChunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    // @Transactional here too: the call below doesn't go through the proxy
+    @Transactional
+    public SubscriptionResponse updateSubscription(int id, Subscription subscriptionDetails) {
+        return updateSubscription(id, subscriptionDetails, null);
+    }
+
+    /**
+     * Replaces the subscription's fields with a single conditional UPDATE
+     * (no entity is loaded, merged or dirty-checked).
+     *
+     * expectedVersion is the version the client last saw (If-Match), or null
+     * for "whatever is current". Either way a concurrent change is never
+     * overwritten: with a version the call fails with
+     * PreconditionFailedException, without one with ConflictException.
+     *
+     * The row's current state is still read first, as a projection: the
+     * change listeners need the old amount, currency and renewal date. The
+     * UPDATE is conditional on that read's version, so the old values the
+     * listeners see are exactly what was overwritten.
+     */
+    @Transactional
+    public SubscriptionResponse updateSubscription(int id, Subscription subscriptionDetails, Long expectedVersion) {
+        SubscriptionResponse current = findForWrite(id, expectedVersion);
+        int updated = subscriptionRepository.updateIfVersion(id, current.version(),
+                subscriptionDetails.getServiceName(), subscriptionDetails.getPlanType(),
+                subscriptionDetails.getNextRenewalDate(), subscriptionDetails.getAmount(),
+                subscriptionDetails.getCurrency());
+        if (updated == 0) {
+            throw changedConcurrently(expectedVersion);
+        }
+        SubscriptionResponse saved = new SubscriptionResponse(id, current.user(),
+                subscriptionDetails.getServiceName(), subscriptionDetails.getPlanType(),
+                subscriptionDetails.getNextRenewalDate(), subscriptionDetails.getAmount(),
+                subscriptionDetails.getCurrency(), current.version() + 1);
+        eventPublisher.publishEvent(
+                SubscriptionChangedEvent.updated(SubscriptionSnapshot.of(current), SubscriptionSnapshot.of(saved)));
+        return saved;
+    }
+
+    @Transactional
     public void deleteById(int id) {
-        if (subscriptionRepository.existsById(id)) {
-            subscriptionRepository.deleteById(id);
+        deleteById(id, null);
+    }
+
+    // Same rules as updateSubscription: a single conditional DELETE, which
+    // never removes a row someone else has changed since it was read
+    @Transactional
+    public void deleteById(int id, Long expectedVersion) {
+        SubscriptionResponse current = findForWrite(id, expectedVersion);
+        if (subscriptionRepository.deleteIfVersion(id, current.version()) == 0) {
+            throw changedConcurrently(expectedVersion);
+        }
+        eventPublisher.publishEvent(SubscriptionChangedEvent.deleted(SubscriptionSnapshot.of(current)));
+    }
+
+    private SubscriptionResponse findForWrite(int id, Long expectedVersion) {
+        SubscriptionResponse current = subscriptionRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found!"));
+        if (expectedVersion != null && expectedVersion != current.version()) {
+            throw new PreconditionFailedException("Subscription has been modified", current.version());
+        }
+        return current;
+    }
+
+    private static RuntimeException changedConcurrently(Long expectedVersion) {
+        if (expectedVersion != null) {
+            return new PreconditionFailedException("Subscription has been modified", null);
+        }
+        return new ConflictException("Subscription was modified concurrently, please retry");
+    }
+
+    /**
+     * Returns one page of a user's subscriptions using keyset pagination, so
+     * only pageSize + 1 rows are ever read no matter how many the user owns.
+     * The extra row tells us whether there is a next page without a COUNT.
+     */
+    @Transactional(readOnly = true)
+    public SubscriptionPage getSubscriptionPage(int userId, String cursorToken, Integer size, String sortKey) {
+        SubscriptionSort sort = SubscriptionSort.fromKey(sortKey);
+        int pageSize = resolvePageSize(size);
+        SubscriptionCursor cursor = cursorToken == null || cursorToken.isBlank() ? null
+                : SubscriptionCursor.decode(cursorToken, sort);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<SubscriptionResponse> rows;
+        if (sort == SubscriptionSort.ID) {
+            int afterId = cursor == null ? 0 : cursor.id();
+            rows = subscriptionRepository.findPageByUserId(userId, afterId, limit);
+        } else if (cursor != null && cursor.renewalDate() == null) {
+            // Already past the dated rows, keep walking the undated ones
+            rows = subscriptionRepository.findUndatedPage(userId, cursor.id(), limit);
         } else {
-            throw new ResourceNotFoundException("Subscription not found!");
+            rows = cursor == null
+                    ? subscriptionRepository.findRenewalPage(userId, limit)
+                    : subscriptionRepository.findRenewalPageAfter(userId, cursor.renewalDate(), cursor.id(), limit);
+            if (rows.size() <= pageSize) {
+                // Dated rows ran out on this page, top it up with the undated ones
+                rows = new ArrayList<>(rows);
+                rows.addAll(subscriptionRepository.findUndatedPage(userId, 0, Limit.of(pageSize + 1 - rows.size())));
+            }
         }
+
+        if (rows.size() <= pageSize) {
+            return new SubscriptionPage(rows, null);
+        }
+        List<SubscriptionResponse> items = rows.subList(0, pageSize);
+        SubscriptionResponse last = items.get(pageSize - 1);
+        LocalDate lastDate = sort == SubscriptionSort.ID ? null : last.nextRenewalDate();
+        return new SubscriptionPage(items, SubscriptionCursor.after(sort, lastDate, last.id()).encode());
     }
 
-    public List<Subscription> getSubscriptionByUserId(int userid) {
-        return subscriptionRepository.findByUserId(userid);
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize); // Clamp instead of failing so clients can just ask for "a lot"
     }
 
-    public List<Subscription> getUpcomingRenewals(int userId) {
-        LocalDate localDate = LocalDate.now(); // Gets todays date
-        LocalDate endDate = localDate.plusDays(7);
-        return subscriptionRepository.findByUserIdAndNextRenewalDateBetween(userId, localDate, endDate);
+    // Both analytics reads go through AnalyticsCache; it is invalidated by
+    // SubscriptionChangedEvent whenever one of the user's subscriptions changes.
+    // Not @Transactional: a cache hit shouldn't borrow a connection, and a
+    // miss is a single projection query (read-only, so replicas can serve it).
+    public List<SubscriptionResponse> getUpcomingRenewals(int userId) {
+        return analyticsCache.upcomingRenewals(userId, id -> {
+            LocalDate localDate = LocalDate.now(clock); // Gets todays date
+            LocalDate endDate = localDate.plusDays(UPCOMING_WINDOW_DAYS);
+            return subscriptionRepository.findUpcomingRenewals(id, localDate, endDate);
+        });
     }
 
     public java.math.BigDecimal calculateTotalAmount(int userId) {
-        return subscriptionRepository.calculateAmountForUser(userId);
+        return analyticsCache.totalAmount(userId, subscriptionRepository::calculateAmountForUser);
     }
 
+    /**
+     * Subscriptions of all users renewing between from and to (inclusive),
+     * ordered by (nextRenewalDate, id) and paginated with the same cursor
+     * format as the per-user listing. The window defaults to the next 7 days.
+     *
+     * Served from RenewalCalendarIndex once it has loaded: the index picks the
+     * ids for the page and only those rows are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SubscriptionPage getRenewalsDue(LocalDate from, LocalDate to, String cursorToken, Integer size) {
+        LocalDate start = from != null ? from : LocalDate.now(clock);
+        LocalDate end = to != null ? to : start.plusDays(UPCOMING_WINDOW_DAYS);
+        if (end.isBefore(start)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        int pageSize = resolvePageSize(size);
+        SubscriptionCursor cursor = null;
+        if (cursorToken != null && !cursorToken.isBlank()) {
+            cursor = SubscriptionCursor.decode(cursorToken, SubscriptionSort.NEXT_RENEWAL_DATE);
+            if (cursor.renewalDate() == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        LocalDate afterDate = cursor == null ? null : cursor.renewalDate();
+        int afterId = cursor == null ? 0 : cursor.id();
+
+        if (renewalIndex.isReady()) {
+            List<RenewalEntry> entries = renewalIndex.page(start, end, afterDate, afterId, pageSize + 1);
+            boolean hasMore = entries.size() > pageSize;
+            List<RenewalEntry> pageEntries = hasMore ? entries.subList(0, pageSize) : entries;
+            List<SubscriptionResponse> items = loadInIndexOrder(pageEntries, start, end);
+            // The cursor comes from the index entry, not the loaded row, so a
+            // row deleted in the meantime doesn't end the listing early
+            RenewalEntry last = hasMore ? pageEntries.get(pageSize - 1) : null;
+            return new SubscriptionPage(items, last == null ? null
+                    : SubscriptionCursor.after(SubscriptionSort.NEXT_RENEWAL_DATE, last.nextRenewalDate(), last.id())
+                            .encode());
+        }
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<SubscriptionResponse> rows = afterDate == null
+                ? subscriptionRepository.findRenewalsDue(start, end, limit)
+                : subscriptionRepository.findRenewalsDueAfter(start, end, afterDate, afterId, limit);
+        if (rows.size() <= pageSize) {
+            return new SubscriptionPage(rows, null);
+        }
+        List<SubscriptionResponse> items = rows.subList(0, pageSize);
+        SubscriptionResponse last = items.get(pageSize - 1);
+        return new SubscriptionPage(items,
+                SubscriptionCursor.after(SubscriptionSort.NEXT_RENEWAL_DATE, last.nextRenewalDate(), last.id())
+                        .encode());
+    }
+
+    /**
+     * Subscriptions of all users whose serviceName or planType words start
+     * with every word of the query, then (when fuzzy) those that match with a
+     * typo or two. Served from SubscriptionSearchIndex; there is no database
+     * fallback, as that would be the full table scan the index replaces.
+     */
+    @Transactional(readOnly = true)
+    public SubscriptionPage searchSubscriptions(String query, boolean fuzzy, String cursorToken, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = resolvePageSize(size);
+        SearchCursor cursor = cursorToken == null || cursorToken.isBlank() ? null : SearchCursor.decode(cursorToken);
+        if (!searchIndex.isReady()) {
+            throw new ServiceBusyException("Search index is still loading", 5);
+        }
+
+        List<SearchHit> hits = searchIndex.search(query, fuzzy, cursor != null && cursor.fuzzy(),
+                cursor == null ? 0 : cursor.id(), pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        List<SearchHit> pageHits = hasMore ? hits.subList(0, pageSize) : hits;
+        List<SubscriptionResponse> items = new ArrayList<>(pageHits.size());
+        if (!pageHits.isEmpty()) {
+            Map<Integer, SubscriptionResponse> byId = subscriptionRepository
+                    .findResponsesByIdIn(pageHits.stream().map(SearchHit::id).toList()).stream()
+                    .collect(Collectors.toMap(SubscriptionResponse::id, Function.identity()));
+            for (SearchHit hit : pageHits) {
+                SubscriptionResponse subscription = byId.get(hit.id());
+                if (subscription != null) { // Deleted since the index was read
+                    items.add(subscription);
+                }
+            }
+        }
+        SearchHit last = hasMore ? pageHits.get(pageSize - 1) : null;
+        return new SubscriptionPage(items, last == null ? null : new SearchCursor(last.fuzzy(), last.id()).encode());
+    }
+
+    private List<SubscriptionResponse> loadInIndexOrder(List<RenewalEntry> entries, LocalDate start,
+            LocalDate end) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, SubscriptionResponse> byId = subscriptionRepository
+                .findResponsesByIdIn(entries.stream().map(RenewalEntry::id).toList()).stream()
+                .collect(Collectors.toMap(SubscriptionResponse::id, Function.identity()));
+        List<SubscriptionResponse> items = new ArrayList<>(entries.size());
+        for (RenewalEntry entry : entries) {
+            SubscriptionResponse subscription = byId.get(entry.id());
+            // Skip rows deleted or moved out of the window since the index was read
+            if (subscription != null && subscription.nextRenewalDate() != null
+                    && !subscription.nextRenewalDate().isBefore(start)
+                    && !subscription.nextRenewalDate().isAfter(end)) {
+                items.add(subscription);
+            }
+        }
+        return items;
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.assessmentapplication.Service;
+
+import com.example.assessmentapplication.exception.BadRequestException;
+
+/**
+ * Sort keys supported by the keyset-paginated subscription listing.
+ * Every key ends with the id so that the order is total and the cursor never
+ * skips or repeats a row.
+ */
+public enum SubscriptionSort {
+    ID("id"),
+    NEXT_RENEWAL_DATE("nextRenewalDate");
+
+    private final String key;
+
+    SubscriptionSort(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static SubscriptionSort fromKey(String key) {
+        if (key == null || key.isBlank()) {
+            return ID;
+        }
+        for (SubscriptionSort sort : values()) {
+            if (sort.key.equals(key)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sort key: " + key);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.assessmentapplication.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Username -> credentials cache in front of CustomUserDetailsService.
+ *
+ * With HTTP Basic every request carries the username and password, so without
+ * this every API call starts with a SELECT on the users table.
+ *
+ * - Bounded and TTL based, like AnalyticsCache: a password changed directly
+ * in the database is picked up after at most ttl.
+ * - Invalidated explicitly by UserChangedEvent once the write has committed.
+ * - Unknown usernames are not cached, so guessing names can't fill it up.
+ * - Entries are detached copies of the User row. Callers get their own copy
+ * each time, so nothing outside can modify what is cached.
+ *
+ * Set app.security.user-cache.enabled=false to go straight to the database.
+ * Metrics: cache.gets / cache.evictions / cache.size with cache=security.userDetails.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, User> users;
+    private final boolean enabled;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "security.userDetails");
+    }
+
+    /**
+     * Returns a copy of the cached user, calling loader on a miss. loader
+     * returns null for an unknown username, and nothing is cached then.
+     */
+    public User get(String username, Function<String, User> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        User cached = users.get(username, name -> {
+            User loaded = loader.apply(name);
+            return loaded == null ? null : copyOf(loaded);
+        });
+        return cached == null ? null : copyOf(cached);
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    // After commit, so a request can't re-cache the old password between the
+    // eviction and the commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPassword(user.getPassword());
+        copy.setRole(user.getRole());
+        return copy;
+    }
+}
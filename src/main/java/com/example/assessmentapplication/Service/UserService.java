@@ -1,11 +1,23 @@
 package com.example.assessmentapplication.Service;
 
 import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.dto.RegisterRequest;
+import com.example.assessmentapplication.dto.UserResponse;
+import com.example.assessmentapplication.entity.Role;
 import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.event.UserChangedEvent;
+import com.example.assessmentapplication.exception.BadRequestException;
+import com.example.assessmentapplication.exception.ConflictException;
+import com.example.assessmentapplication.exception.ResourceNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.annotation.PostConstruct;
 
 @Service
@@ -14,32 +26,77 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository repo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
 
-    public UserService(UserRepository repo) {
+    public UserService(UserRepository repo, ApplicationEventPublisher eventPublisher,
+            PasswordEncoder passwordEncoder) {
         this.repo = repo;
+        this.eventPublisher = eventPublisher;
+        this.passwordEncoder = passwordEncoder;
     }
 
+    // Runs before the app reports ready, so it has to stay cheap: count()
+    // scans the whole users table (InnoDB keeps no row count), this reads at
+    // most one primary key
     @PostConstruct
     public void createAdmin() {
-        if (repo.count() == 0) {
+        if (repo.findIdsAfter(0, Limit.of(1)).isEmpty()) {
             log.info("No users found. Creating default admin...");
             User admin = new User();
             admin.setUsername("admin1");
-            admin.setPassword("default");
-            admin.setRole(com.example.assessmentapplication.entity.Role.ADMIN);
+            admin.setPassword(passwordEncoder.encode("default"));
+            admin.setRole(Role.ADMIN);
             repo.save(admin);
         }
     }
 
-    public User findByUsername(String username) {
+    @Transactional(readOnly = true)
+    public UserResponse findByUsername(String username) {
         log.debug("Fetching user with username: {}", username);
-        User user = repo.findByUsername(username).orElse(null);
+        UserResponse user = repo.findResponseByUsername(username).orElse(null);
         log.debug("User found: {}", user);
         return user;
     }
 
-    public void registerUser(User user) {
+    // Not @Transactional on purpose: hashing takes tens of milliseconds and
+    // shouldn't hold a database connection. save() commits on its own, and
+    // the event then goes straight to the listeners.
+    // Self-registration always makes a new USER: the caller picks neither the
+    // role nor the id (a set id would make save() overwrite that account)
+    public User registerUser(RegisterRequest request) {
+        // Cheap check before the expensive hash; the unique index on
+        // users.username still catches two registrations racing each other
+        if (request.username() != null && repo.existsByUsername(request.username())) {
+            throw new ConflictException("Username already taken");
+        }
+        User user = new User();
+        user.setUsername(request.username());
+        user.setPassword(encodePassword(request.password()));
+        user.setRole(Role.USER);
+        try {
+            repo.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Username already taken");
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+        return user;
+    }
+
+    public void changePassword(String username, String rawPassword) {
+        String encoded = encodePassword(rawPassword);
+        User user = repo.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User not found!"));
+        user.setPassword(encoded);
         repo.save(user);
+        // Drops the old password from the credentials cache
+        eventPublisher.publishEvent(new UserChangedEvent(username));
+    }
+
+    private String encodePassword(String rawPassword) {
+        if (rawPassword == null || rawPassword.isBlank()) {
+            throw new BadRequestException("Password is required");
+        }
+        return passwordEncoder.encode(rawPassword);
     }
 
 }
@@ -0,0 +1,66 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers AdmissionControlFilter and FailedAuthenticationLimitFilter
+ * (app.admission.enabled, on by default).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    // Right after Spring Security's filter chain, which has authenticated the
+    // user by then (user lookups are cached, password checks bounded by
+    // BoundedPasswordEncoder)
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(MeterRegistry meterRegistry,
+            @Value("${app.admission.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${app.admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${app.admission.concurrency.max-limit:200}") int maxLimit,
+            @Value("${app.admission.concurrency.tolerance:1.5}") double tolerance,
+            @Value("${app.admission.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.admission.concurrency.window:1s}") Duration window,
+            @Value("${app.admission.concurrency.window-samples:20}") int windowSamples,
+            @Value("${app.admission.concurrency.retry-after:1s}") Duration retryAfter,
+            @Value("${app.admission.rate.per-second:20}") double ratePerSecond,
+            @Value("${app.admission.rate.burst:40}") int burst,
+            @Value("${app.admission.rate.max-users:100000}") int maxUsers,
+            @Value("${app.admission.excluded-paths:/actuator/,/api/subscriptions/changes}") List<String> excludedPaths) {
+        GradientConcurrencyLimit concurrencyLimit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                tolerance, backoffRatio, window, windowSamples);
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(ratePerSecond, burst, maxUsers);
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(concurrencyLimit, rateLimiter, Math.max(1, retryAfter.toSeconds()),
+                        excludedPaths, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    // Right before Spring Security: a request from an address with too many
+    // failed logins is turned away before its password is checked
+    @Bean
+    public FilterRegistrationBean<FailedAuthenticationLimitFilter> failedAuthenticationLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.admission.auth-failures.per-second:0.2}") double ratePerSecond,
+            @Value("${app.admission.auth-failures.burst:10}") int burst,
+            @Value("${app.admission.auth-failures.max-addresses:100000}") int maxAddresses) {
+        FilterRegistrationBean<FailedAuthenticationLimitFilter> registration = new FilterRegistrationBean<>(
+                new FailedAuthenticationLimitFilter(new TokenBucketRateLimiter(ratePerSecond, burst, maxAddresses),
+                        AdmissionControlFilter.rejectedCounter(meterRegistry, "auth-failures")));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
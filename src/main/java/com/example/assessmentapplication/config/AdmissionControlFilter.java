@@ -0,0 +1,169 @@
+package com.example.assessmentapplication.config;
+
+import java.io.IOException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control: decides, before the request's own work is done, whether
+ * it gets in.
+ *
+ * KEY CONCEPT: Shed load at the door
+ *
+ * When more requests arrive than the database can serve, the excess doesn't
+ * disappear: it waits for a Hikari connection, everything slows down, and
+ * soon every request times out instead of just the excess. Here the excess
+ * is turned away immediately, while the requests that do get in are served
+ * at normal speed.
+ *
+ * 1. Per user rate limit (TokenBucketRateLimiter): one client can't take the
+ * whole capacity. Over the limit: 429 with Retry-After set to when the next
+ * token arrives.
+ * 2. Global concurrency limit (GradientConcurrencyLimit), adapted to observed
+ * latency and to database overload errors (see isOverload). At the limit:
+ * 503 with Retry-After.
+ *
+ * Runs after Spring Security, so requests are keyed by the authenticated
+ * user (by client address for anonymous ones). That means a request has
+ * had its password checked before it gets here, and one with bad
+ * credentials never gets here at all: FailedAuthenticationLimitFilter
+ * limits those, ahead of the security chain. Paths in excludedPaths
+ * (health checks, the long-lived change feed) are not limited.
+ *
+ * Metrics: admission.concurrency.limit, admission.concurrency.inflight,
+ * admission.rate.keys and admission.rejected (reason=rate|concurrency, and
+ * auth-failures from FailedAuthenticationLimitFilter).
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final GradientConcurrencyLimit concurrencyLimit;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final long retryAfterSeconds;
+    private final List<String> excludedPaths;
+    private final Counter rateRejected;
+    private final Counter concurrencyRejected;
+
+    AdmissionControlFilter(GradientConcurrencyLimit concurrencyLimit, TokenBucketRateLimiter rateLimiter,
+            long retryAfterSeconds, List<String> excludedPaths, MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.rateLimiter = rateLimiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.excludedPaths = excludedPaths;
+        Gauge.builder("admission.concurrency.limit", concurrencyLimit, GradientConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent requests")
+                .register(meterRegistry);
+        Gauge.builder("admission.concurrency.inflight", concurrencyLimit, GradientConcurrencyLimit::inflight)
+                .register(meterRegistry);
+        Gauge.builder("admission.rate.keys", rateLimiter, TokenBucketRateLimiter::trackedKeys)
+                .description("Users with a rate limit bucket in memory")
+                .register(meterRegistry);
+        this.rateRejected = rejectedCounter(meterRegistry, "rate");
+        this.concurrencyRejected = rejectedCounter(meterRegistry, "concurrency");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            rateRejected.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, ceilSeconds(waitNanos), "Too many requests");
+            return;
+        }
+        int inflight = concurrencyLimit.tryAcquire();
+        if (inflight == 0) {
+            concurrencyRejected.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "Server is busy, try again later");
+            return;
+        }
+        long started = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            chain.doFilter(request, response);
+            // Set by the DispatcherServlet when an @ExceptionHandler turned
+            // the exception into a response
+            overloaded = isOverload((Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE));
+        } catch (IOException | ServletException | RuntimeException e) {
+            overloaded = isOverload(e);
+            throw e;
+        } finally {
+            // For async requests (streamed exports) this is when the handler
+            // returned, not when the response finished
+            concurrencyLimit.release(System.nanoTime() - started, inflight, overloaded);
+        }
+    }
+
+    /**
+     * Whether a request failed because the database can't keep up: no pooled
+     * connection within Hikari's connection-timeout, a query or lock wait
+     * timing out, the database unreachable. Other 5xx responses (the search
+     * index still loading, a bug) say nothing about load and don't shrink
+     * the limit; slow responses are caught by the latency gradient.
+     */
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof PessimisticLockingFailureException
+                    || cause instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getName())) {
+            return "user:" + authentication.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    static void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    static long ceilSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("admission.rejected").tag("reason", reason)
+                .description("Requests turned away by admission control")
+                .register(meterRegistry);
+    }
+}
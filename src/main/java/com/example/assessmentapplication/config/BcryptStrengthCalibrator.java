@@ -0,0 +1,46 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks a BCrypt strength (log2 of the number of rounds) for this machine.
+ *
+ * Each +1 doubles the time a hash takes. A fixed number that is right on a
+ * laptop can be far too slow on a container limited to half a CPU, or far
+ * too fast on a big server. So at startup we time one hash at the minimum
+ * strength and go up while the estimated cost still fits the target latency.
+ */
+final class BcryptStrengthCalibrator {
+
+    // Spring Security's default; lower is not considered safe for passwords
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    static int calibrate(Duration targetLatency) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        encoder.encode("calibration"); // Warm up the JIT before timing
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return chooseStrength(best, targetLatency, MIN_STRENGTH, MAX_STRENGTH);
+    }
+
+    static int chooseStrength(long nanosAtMin, Duration targetLatency, int min, int max) {
+        long target = targetLatency.toNanos();
+        int strength = min;
+        long cost = nanosAtMin;
+        while (strength < max && cost * 2 <= target) {
+            cost *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.assessmentapplication.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs password hashing and verification on a small dedicated thread pool.
+ *
+ * KEY CONCEPT: Bulkhead with back-pressure
+ *
+ * BCrypt is deliberately slow (tens of milliseconds of pure CPU per call),
+ * and with HTTP Basic it runs on every request. If it ran directly on the
+ * Tomcat threads, a login storm would put all 200 of them to work on
+ * hashes at once: every request slows down, including ones that need no
+ * hashing, and the queue in front of Tomcat grows without limit.
+ *
+ * Here at most `threads` hashes run at once (one per CPU by default), at most
+ * `queueCapacity` wait, and anything beyond that is turned away straight
+ * away with ServiceBusyException (503 + Retry-After). A caller that has
+ * waited longer than maxWait is turned away too. Clients get a fast "try
+ * again" instead of a slow timeout, and the rest of the API stays responsive.
+ *
+ * With virtual threads enabled this pool still uses platform threads on
+ * purpose: hashing is pure CPU, so virtual threads would gain nothing, and
+ * the fixed size is what bounds it.
+ *
+ * Metrics: executor.* with name=password.hashing, and
+ * password.hashing.rejected.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration maxWait,
+            Duration retryAfter, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        // A SynchronousQueue holds nothing: with capacity 0 a call either gets
+        // a free thread or is rejected
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests turned away because the pool was full")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // Only parses the hash, no need to offload
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException; // e.g. IllegalArgumentException for a null password
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private ServiceBusyException busy() {
+        rejected.increment();
+        return new ServiceBusyException("Too many logins in progress, please retry shortly", retryAfterSeconds);
+    }
+
+    // Called by Spring on shutdown (inferred destroy method of the @Bean)
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Anything that asks "what day is it?" takes this Clock instead of calling
+// LocalDate.now(), so tests can pin the date with Clock.fixed(...)
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.assessmentapplication.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limits failed logins per client address, ahead of Spring Security.
+ *
+ * Checking a password is the most expensive thing a request can make this
+ * service do (BCrypt, tens of milliseconds of CPU), and a request with bad
+ * credentials gets its 401 inside the security chain, before
+ * AdmissionControlFilter ever sees it. So every 401 is charged to the
+ * client address here, and an address that has used up its budget gets 429
+ * with Retry-After without its credentials being checked at all.
+ *
+ * Successful requests cost nothing, so users behind one NAT address aren't
+ * held back by each other's traffic; their requests are limited per user
+ * after authentication.
+ */
+class FailedAuthenticationLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter failures;
+    private final Counter rejected;
+
+    FailedAuthenticationLimitFilter(TokenBucketRateLimiter failures, Counter rejected) {
+        this.failures = failures;
+        this.rejected = rejected;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        long waitNanos = failures.waitNanos(address);
+        if (waitNanos > 0) {
+            rejected.increment();
+            AdmissionControlFilter.reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                    AdmissionControlFilter.ceilSeconds(waitNanos), "Too many failed logins");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+                failures.charge(address);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that finds its own value from observed latency.
+ *
+ * KEY CONCEPT: Latency gradient
+ *
+ * Nobody knows the right number of concurrent requests for this box: it
+ * depends on the CPU quota, the Hikari pool, the database and the mix of
+ * endpoints. So the limit is discovered. Latency is compared over two
+ * horizons: the average of the last window of requests (short) and a slow
+ * moving average of those windows (long, the "no queueing" baseline).
+ *
+ * gradient = clamp(tolerance * long / short, 0.5, 1.0)
+ * new limit = limit * gradient + sqrt(limit)
+ *
+ * While latency stays within tolerance of the baseline the gradient is 1
+ * and the limit creeps up by sqrt(limit) per window. When requests start
+ * queueing (short rises above long) the gradient drops below 1 and the limit
+ * shrinks in proportion. A request that failed because the database is
+ * overloaded (e.g. no connection within Hikari's timeout) cuts the limit by
+ * backoff-ratio straight away, AIMD style. Changes are smoothed, and the
+ * limit never grows while less than half of it is in use: idle capacity
+ * says nothing about what the system can take.
+ *
+ * tryAcquire() is a CAS loop on the in-flight counter, so admission never
+ * blocks. Only the per-window update takes a lock.
+ */
+final class GradientConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    // Windows averaged into the long-term RTT
+    private static final int LONG_WINDOWS = 20;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int windowSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double longRttNanos;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowCount;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio,
+            Duration window, int windowSamples) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = window.toNanos();
+        this.windowSamples = windowSamples;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if there is one. Returns the number of requests in flight
+     * including this one, or 0 when the limit is reached.
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit()) {
+                return 0;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back. inflightAtStart is what tryAcquire returned;
+     * overloaded is true for a request that failed on an overload signal.
+     */
+    void release(long rttNanos, int inflightAtStart, boolean overloaded) {
+        inflight.decrementAndGet();
+        sample(rttNanos, inflightAtStart, overloaded);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inflightAtStart, boolean overloaded) {
+        if (overloaded) {
+            limit = clamp(limit * backoffRatio);
+            return;
+        }
+        windowRttSum += rttNanos;
+        windowCount++;
+        long now = System.nanoTime();
+        if (windowCount < windowSamples || now - windowStart < windowNanos) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowCount;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowStart = now;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOWS;
+        }
+        // After a long stretch of slow requests the baseline has crept up;
+        // once latency recovers, let it come back down quickly
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        double current = limit;
+        if (inflightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.assessmentapplication.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application DataSource to count and time SQL at the JDBC level,
+ * so it sees everything: Hibernate, Spring Data, JdbcTemplate and Flyway.
+ *
+ * - Every execute*() call is one statement (a JDBC batch is one round trip,
+ * so one statement); rows are the rows read through a ResultSet plus the
+ * update counts. Both go to the thread's SqlStats, if a request is being
+ * counted.
+ * - Every execute*() is timed and handed to the SlowQueryLog.
+ *
+ * The wrappers are JDK proxies that forward every other call, including
+ * unwrap(), to the driver's objects.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    InstrumentedDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        if (target == null) {
+            return null;
+        }
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, handler));
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, result, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, result,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, result,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String sql;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = forward(statement, method, args);
+                return name.equals("getResultSet") && result != null ? countRows((ResultSet) result) : result;
+            }
+            long started = System.nanoTime();
+            Object result = forward(statement, method, args);
+            long elapsed = System.nanoTime() - started;
+            slowQueryLog.record(args != null && args.length > 0 && args[0] instanceof String text ? text : sql,
+                    elapsed);
+
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                stats.statement();
+                if (result instanceof Integer count && count > 0) {
+                    stats.rows(count);
+                } else if (result instanceof Long count && count > 0) {
+                    stats.rows(count);
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        stats.rows(Math.max(count, 0));
+                    }
+                }
+            }
+            return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+        }
+    }
+
+    private static ResultSet countRows(ResultSet resultSet) {
+        SqlStats stats = SqlStats.current();
+        if (stats == null) {
+            return resultSet;
+        }
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = forward(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.rows(1);
+            }
+            return result;
+        });
+    }
+}
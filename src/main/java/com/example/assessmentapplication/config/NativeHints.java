@@ -0,0 +1,48 @@
+package com.example.assessmentapplication.config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import com.example.assessmentapplication.dto.SubscriptionChange;
+import com.example.assessmentapplication.dto.SubscriptionExportRow;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+/**
+ * What a GraalVM native image (-Pnative) can't find out on its own.
+ *
+ * Spring AOT already covers the beans, the JPA entities and every type a
+ * controller takes or returns. This adds the rest:
+ *
+ * - Types Jackson handles outside a controller signature: the outbox payload
+ * (SubscriptionSnapshot), change feed events (SubscriptionChange) and export
+ * rows (SubscriptionExportRow). Same effect as @RegisterReflectionForBinding.
+ * - The JDK proxies InstrumentedDataSource wraps JDBC objects in, and the
+ * ConnectionProxy of the read replica LazyConnectionDataSourceProxy.
+ * - The Flyway scripts: Boot only registers db/migration/*, ours are one
+ * level down in db/migration/{vendor}.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                SubscriptionSnapshot.class, SubscriptionChange.class, SubscriptionExportRow.class);
+
+        for (Class<?> jdbcType : new Class<?>[] { Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class }) {
+            hints.proxies().registerJdkProxy(jdbcType);
+        }
+        hints.proxies().registerJdkProxy(ConnectionProxy.class);
+
+        hints.resources().registerPattern("db/migration/h2/*.sql");
+        hints.resources().registerPattern("db/migration/mysql/*.sql");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The application's PasswordEncoder. Spring Security picks it up for HTTP
+ * Basic authentication, and UserService uses it to hash new passwords.
+ *
+ * Hashes are stored with an {id} prefix ({bcrypt}$2a$10$...) so the
+ * algorithm or strength can change later without breaking existing rows.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.security.password.bcrypt-strength:0}") int configuredStrength,
+            @Value("${app.security.password.target-latency:100ms}") Duration targetLatency,
+            @Value("${app.security.password.threads:0}") int configuredThreads,
+            @Value("${app.security.password.queue-capacity:32}") int queueCapacity,
+            @Value("${app.security.password.max-wait:2s}") Duration maxWait,
+            @Value("${app.security.password.retry-after:1s}") Duration retryAfter) {
+        // 0 = measure this machine at startup
+        int strength = configuredStrength > 0 ? configuredStrength
+                : BcryptStrengthCalibrator.calibrate(targetLatency);
+        // Hashing is pure CPU: more threads than cores only adds waiting.
+        // availableProcessors() respects the container's CPU limit.
+        int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        log.info("Password hashing: bcrypt strength {} ({}), {} threads, queue {}", strength,
+                configuredStrength > 0 ? "configured" : "calibrated for " + targetLatency.toMillis() + " ms",
+                threads, queueCapacity);
+
+        Map<String, PasswordEncoder> encoders = Map.of("bcrypt", new BCryptPasswordEncoder(strength));
+        PasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", encoders);
+        Gauge.builder("password.hashing.strength", () -> strength)
+                .description("BCrypt strength used for new password hashes")
+                .register(meterRegistry);
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, maxWait, retryAfter, meterRegistry);
+    }
+
+    // Just in front of Spring Security's filter chain
+    @Bean
+    public FilterRegistrationBean<ServiceBusyFilter> serviceBusyFilter() {
+        FilterRegistrationBean<ServiceBusyFilter> registration = new FilterRegistrationBean<>(new ServiceBusyFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
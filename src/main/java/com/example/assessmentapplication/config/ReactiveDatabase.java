@@ -0,0 +1,104 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking (R2DBC) access to the same database JPA uses, for the
+ * reactive read endpoints.
+ *
+ * KEY CONCEPT: Two clients, one database
+ *
+ * JPA/JDBC stays the system of record: it owns the schema (Flyway), all
+ * writes and transactions. R2DBC only reads, through its own small pool of
+ * pool-size connections, so a slow dashboard query never waits for a JDBC
+ * connection and never holds a servlet thread while it runs.
+ *
+ * The connection pool is deliberately NOT a Spring bean: a ConnectionFactory
+ * bean makes Spring Boot back off from creating the JDBC DataSource, which
+ * would take JPA and Flyway down with it. For the same reason
+ * R2dbcAutoConfiguration is excluded on AssessmentApplication.
+ *
+ * All database work is subscribed on a fixed "reactive-db" scheduler of
+ * `threads` threads (one per CPU by default), so the thread count stays the
+ * same however many requests are in flight. With the MySQL driver the I/O
+ * itself runs on Netty's event loop; the H2 driver runs queries in-process,
+ * on the scheduler's threads.
+ *
+ * The URL defaults to the JDBC one (spring.datasource.url) translated to
+ * R2DBC; set app.reactive.datasource.url to override it.
+ */
+@Component
+public class ReactiveDatabase implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final Scheduler scheduler;
+
+    public ReactiveDatabase(@Value("${app.reactive.datasource.url:}") String url,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${app.reactive.datasource.username:${spring.datasource.username:}}") String username,
+            @Value("${app.reactive.datasource.password:${spring.datasource.password:}}") String password,
+            @Value("${app.reactive.pool-size:10}") int poolSize,
+            @Value("${app.reactive.threads:0}") int threads) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.isBlank() ? toR2dbcUrl(jdbcUrl) : url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-db")
+                .initialSize(0) // Nothing is opened until the first reactive request
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.scheduler = Schedulers.newParallel("reactive-db",
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    public DatabaseClient client() {
+        return client;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * jdbc:h2:mem:testdb;MODE=MySQL becomes r2dbc:h2:mem:///testdb?options=MODE=MySQL
+     * and jdbc:mysql://host:3306/userdb?... becomes r2dbc:mysql://host:3306/userdb
+     * (the JDBC driver's parameters mean nothing to R2DBC).
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:h2:mem:") || jdbcUrl.startsWith("jdbc:h2:file:")) {
+            String[] parts = jdbcUrl.substring("jdbc:h2:".length()).split(";", 2);
+            int colon = parts[0].indexOf(':');
+            String url = "r2dbc:h2:" + parts[0].substring(0, colon) + ":///" + parts[0].substring(colon + 1);
+            return parts.length > 1 ? url + "?options=" + parts[1] : url;
+        }
+        if (jdbcUrl.startsWith("jdbc:mysql:")) {
+            int query = jdbcUrl.indexOf('?');
+            return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+        }
+        throw new IllegalStateException("Can't derive an R2DBC URL from " + jdbcUrl
+                + ", set app.reactive.datasource.url");
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read replicas, switched on with app.datasource.replicas.enabled=true.
+ *
+ * Replaces Boot's single DataSource: spring.datasource.* becomes the primary,
+ * and every URL in app.datasource.replicas.urls gets its own pool (same
+ * driver and, unless set, same credentials). See ReplicaRoutingDataSource
+ * for which connection goes where.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${app.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${app.datasource.replicas.health-check-timeout:2s}") Duration healthCheckTimeout,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            // Fail over quickly instead of waiting the default 30s for a dead replica
+            replica.setConnectionTimeout(healthCheckTimeout.toMillis());
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow, healthCheckInterval,
+                healthCheckTimeout, meterRegistry);
+    }
+
+    // The DataSource everything else (JPA, Flyway, JdbcTemplate) uses. The
+    // lazy proxy is what lets routing see the transaction's read-only flag.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.assessmentapplication.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the
+ * primary.
+ *
+ * KEY CONCEPT: Routing by transaction type
+ *
+ * A connection goes to a replica only when it is taken inside a
+ * `@Transactional(readOnly = true)` transaction. Writes, read-write
+ * transactions and anything outside a transaction (Flyway, schema
+ * validation) use the primary. This only works behind a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for its
+ * connection before it marks the transaction read-only, and the proxy
+ * delays the real getConnection() until the first statement.
+ *
+ * - Load balancing: round robin over the replicas currently marked healthy.
+ * - Failover: a replica whose getConnection() fails is marked down and the
+ * next one (eventually the primary) is tried instead. A health check every
+ * healthCheckInterval brings it back once it answers again.
+ * - Read-your-writes: replicas lag behind the primary. After a user's
+ * read-write transaction commits, that user's reads stay on the primary for
+ * readYourWritesWindow so they see their own change. Keyed by the
+ * authenticated username; anonymous work is not pinned.
+ *
+ * Metrics: datasource.routing.connections (target=primary|replica name) and
+ * datasource.replicas.healthy.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /** One replica and whether it is currently taking reads. */
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter connections;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final ScheduledExecutorService healthChecks;
+
+    /**
+     * healthCheckInterval zero turns the background checks off (tests call
+     * checkHealth directly); readYourWritesWindow zero turns pinning off.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+            Duration readYourWritesWindow, Duration healthCheckInterval, Duration healthCheckTimeout,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new Replica(name, replicaDataSources.get(i), connectionCounter(meterRegistry, name)));
+        }
+        this.readYourWrites = !readYourWritesWindow.isZero();
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Replicas currently taking read-only transactions")
+                .register(meterRegistry);
+        if (healthCheckInterval.isZero() || replicas.isEmpty()) {
+            this.healthChecks = null;
+        } else {
+            this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecks.scheduleWithFixedDelay(() -> checkHealth(healthCheckTimeout),
+                    healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** How a connection is taken from the chosen pool. */
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Routed the same way; the chosen pool decides whether it supports
+    // per-call credentials (Hikari doesn't)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Marks each replica healthy or not depending on whether it hands out a
+     * valid connection within timeout.
+     */
+    public void checkHealth(Duration timeout) {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid((int) Math.max(1, timeout.toSeconds()));
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is {}", replica.name, healthy ? "back up" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // Stops the health checks and closes the pools behind it
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPinnedToPrimary()) {
+            Connection connection = replicaConnection(source);
+            if (connection != null) {
+                return connection;
+            }
+        } else {
+            rememberWriter();
+        }
+        primaryConnections.increment();
+        return source.connect(primary);
+    }
+
+    // Round robin over the healthy replicas, failing over to the next one.
+    // null when none could give a connection.
+    private Connection replicaConnection(ConnectionSource source) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = source.connect(replica.dataSource);
+                replica.connections.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e; // The call isn't supported, the replica itself is fine
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Read replica {} is down, failing over: {}", replica.name, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private boolean isPinnedToPrimary() {
+        String user = currentUser();
+        return readYourWrites && user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    // In a read-write transaction: once it commits, pin the user to the
+    // primary. The window starts at commit, when the write becomes visible.
+    private void rememberWriter() {
+        String user = currentUser();
+        if (!readYourWrites || user == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out, by the database they came from")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
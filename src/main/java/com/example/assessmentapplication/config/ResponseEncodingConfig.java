@@ -0,0 +1,53 @@
+package com.example.assessmentapplication.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Response formats besides JSON, chosen by the Accept header.
+ *
+ * KEY CONCEPT: Same model, denser encoding
+ *
+ * CBOR (application/cbor, RFC 8949) and Smile (application/x-jackson-smile)
+ * are binary encodings of the JSON data model: the same DTOs, field names
+ * and values, so any endpoint that returns JSON can return them too, and a
+ * client decodes them into the same objects. Numbers and dates go out as
+ * binary instead of text. Smile also writes each repeated field name once
+ * and refers back to it, which suits long lists of SubscriptionResponse.
+ * Clients that don't ask get JSON as before.
+ *
+ * The converters use the application's ObjectMapper settings (Boot's
+ * Jackson2ObjectMapperBuilder), so dates and modules behave the same in
+ * every format. Blackbird replaces Jackson's reflective getter calls with
+ * generated lambdas, for all three formats.
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    // Registered with every ObjectMapper Boot builds. Blackbird generates
+    // classes at runtime, which a native image can't do.
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.assessmentapplication.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on @Scheduled methods (e.g. the nightly spend summary reconcile).
+// They share Boot's scheduler, sized by spring.task.scheduling.pool.size so
+// the change feed relay never waits behind a nightly job.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
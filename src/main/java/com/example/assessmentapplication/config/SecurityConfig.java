@@ -0,0 +1,48 @@
+package com.example.assessmentapplication.config;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+
+/**
+ * HTTP security for the REST API.
+ *
+ * - HTTP Basic on every request, no sessions: clients send credentials each
+ * time (see CustomUserDetailsService / UserDetailsCache).
+ * - CSRF off: it protects cookie-based browser sessions, and there are none.
+ * Left on, every POST/PUT/DELETE from an API client is rejected with 403.
+ * - Registration and health checks are open, admin endpoints need ROLE_ADMIN.
+ * So does the change feed without ?userId=, which streams every user's
+ * subscriptions.
+ */
+@Configuration
+// HttpSecurity only exists in a servlet context; non-web contexts (the JMH
+// benchmarks) start without a filter chain
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SecurityConfig {
+
+    @Bean
+    public SecurityFilterChain apiSecurity(HttpSecurity http) throws Exception {
+        http.csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/register").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(new AndRequestMatcher(
+                                PathPatternRequestMatcher.withDefaults().matcher("/api/subscriptions/changes"),
+                                request -> request.getParameter("userId") == null)).hasRole("ADMIN")
+                        .anyRequest().authenticated())
+                .httpBasic(withDefaults());
+        return http.build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Logs SQL statements slower than a threshold, at most limit-per-minute of
+ * them; the rest are only counted. Every slow statement increments
+ * jdbc.statements.slow either way.
+ *
+ * Replaces org.hibernate.SQL=DEBUG and bind parameter TRACE logging, which
+ * formatted and wrote every statement (and every parameter) the app ran to
+ * find the few that matter. Parameters are not logged.
+ */
+class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+    private static final long WINDOW_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final long thresholdNanos;
+    private final int limitPerMinute;
+    private final Counter slow;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicInteger suppressedInWindow = new AtomicInteger();
+
+    SlowQueryLog(Duration threshold, int limitPerMinute, MeterRegistry meterRegistry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.limitPerMinute = limitPerMinute;
+        this.slow = Counter.builder("jdbc.statements.slow")
+                .description("SQL statements slower than app.sql-metrics.slow-threshold")
+                .register(meterRegistry);
+    }
+
+    void record(String sql, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        slow.increment();
+        rollWindow();
+        if (loggedInWindow.incrementAndGet() <= limitPerMinute) {
+            log.warn("Slow SQL ({} ms): {}", elapsedNanos / 1_000_000, sql);
+        } else {
+            suppressedInWindow.incrementAndGet();
+        }
+    }
+
+    private void rollWindow() {
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            int suppressed = suppressedInWindow.getAndSet(0);
+            loggedInWindow.set(0);
+            if (suppressed > 0) {
+                log.warn("{} more slow SQL statements in the last minute were not logged", suppressed);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * SQL instrumentation: wraps the "dataSource" bean in an
+ * InstrumentedDataSource and registers the per-request SqlStatsFilter.
+ */
+@Configuration
+public class SqlMetricsConfig {
+
+    // Static, as BeanPostProcessors are created before other beans. Only the
+    // bean named dataSource is wrapped: with read replicas that is the lazy
+    // routing proxy, and the pools behind it must keep their own types.
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || !environment.getProperty("app.sql-metrics.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                SlowQueryLog slowQueryLog = new SlowQueryLog(
+                        environment.getProperty("app.sql-metrics.slow-threshold", Duration.class,
+                                Duration.ofMillis(200)),
+                        environment.getProperty("app.sql-metrics.slow-log-per-minute", Integer.class, 60),
+                        meterRegistry.getObject());
+                return new InstrumentedDataSource(dataSource, slowQueryLog);
+            }
+        };
+    }
+
+    // Outermost, so the SQL of authentication (user lookups) is counted too
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry meterRegistry,
+            @Value("${app.sql-metrics.response-header:false}") boolean responseHeader) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatsFilter(meterRegistry, responseHeader));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.assessmentapplication.config;
+
+/**
+ * SQL statements run and rows read or written by the current thread since
+ * start(). SqlStatsFilter starts one per HTTP request; InstrumentedDataSource
+ * adds to it. Work on other threads (async exports, schedulers) isn't
+ * counted.
+ */
+final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+
+    static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // null when nobody is counting on this thread
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    long statements() {
+        return statements;
+    }
+
+    long rows() {
+        return rows;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.assessmentapplication.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts the SQL statements and rows behind each HTTP request (see
+ * InstrumentedDataSource) and records them per endpoint as
+ * http.server.requests.sql.statements and http.server.requests.sql.rows.
+ *
+ * With app.sql-metrics.response-header=true (not for production: it tells
+ * clients about the database) the counts are also sent back as
+ * X-SQL-Statements and X-SQL-Rows. Headers have to go out before the body,
+ * so they hold the counts at the moment the response body is started;
+ * for a streamed export that is before the streaming queries.
+ */
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeader;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, boolean responseHeader) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.start();
+        try {
+            chain.doFilter(request, responseHeader ? new HeaderWritingResponse(response, stats) : response);
+        } finally {
+            SqlStats.stop();
+            // The route template, not the raw path, to keep the tag values bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            summary("http.server.requests.sql.statements", request, uri).record(stats.statements());
+            summary("http.server.requests.sql.rows", request, uri).record(stats.rows());
+        }
+    }
+
+    private DistributionSummary summary(String name, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    // Adds the headers just before the first byte of the body
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStats stats;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void writeHeaders() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(STATEMENTS_HEADER, Long.toString(stats.statements()));
+                setHeader(ROWS_HEADER, Long.toString(stats.rows()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One token bucket per key (per user): burst requests at once, refilled at
+ * ratePerSecond.
+ *
+ * KEY CONCEPT: A bucket in one AtomicLong
+ *
+ * Instead of a token count plus a last-refill time (two fields, so a lock),
+ * each bucket stores the time at which it will be full again, the
+ * "theoretical arrival time" of GCRA. A request costs one interval
+ * (1 / ratePerSecond) and is allowed if that doesn't push the full-again time
+ * more than burst intervals into the future. Checking and spending is one
+ * compareAndSet, so concurrent requests of the same user never wait for each
+ * other, and a rejection knows exactly when the next token arrives.
+ *
+ * Buckets live in a bounded Caffeine cache and expire once idle long enough
+ * to be full again, which is the same as not having one.
+ */
+final class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, int maxKeys) {
+        this(ratePerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, int maxKeys, LongSupplier clock) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(capacityNanos, 1_000_000_000L)))
+                .build();
+    }
+
+    /**
+     * Takes a token for key. Returns 0 if there was one, otherwise how many
+     * nanoseconds until there will be (and nothing is taken).
+     */
+    long tryAcquire(String key) {
+        // New buckets start full: full-again time in the past
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                return next - now - capacityNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * How many nanoseconds until key has a token, 0 if it has one now.
+     * Takes nothing; pair with charge() to spend tokens after the fact.
+     */
+    long waitNanos(String key) {
+        AtomicLong fullAt = buckets.getIfPresent(key);
+        if (fullAt == null) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        return Math.max(0, Math.max(fullAt.get(), now) + intervalNanos - now - capacityNanos);
+    }
+
+    /**
+     * Spends a token for key even if it has none left, so charges that race
+     * past waitNanos() still count and push the next token further out.
+     */
+    void charge(String key) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        fullAt.accumulateAndGet(clock.getAsLong(), (current, now) -> Math.max(current, now) + intervalNanos);
+    }
+
+    long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
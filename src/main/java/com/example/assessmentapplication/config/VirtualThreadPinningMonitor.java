@@ -0,0 +1,117 @@
+package com.example.assessmentapplication.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that got pinned to their carrier thread.
+ *
+ * KEY CONCEPT: Pinning
+ *
+ * A virtual thread that blocks normally unmounts and frees its carrier (a
+ * platform thread, one per CPU) for other virtual threads. Blocking inside
+ * a synchronized block or a native call can't unmount before JDK 24: the
+ * carrier stays blocked with it. Enough of that at once (a JDBC driver
+ * that does network I/O under synchronized, say) and every carrier is stuck,
+ * which is worse than a plain thread pool.
+ *
+ * The JVM emits a jdk.VirtualThreadPinned JFR event when a thread stays
+ * pinned longer than the threshold. This streams those events in-process:
+ * - timer virtual.threads.pinned, tagged with the site (first class outside
+ * the JDK on the stack, e.g. org.h2.engine.SessionLocal);
+ * - a WARN with the stack the first time each site shows up.
+ *
+ * Only active when spring.threads.virtual.enabled=true on Java 21+.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // Keeps the site tag's cardinality bounded
+    static final int MAX_SITES = 50;
+    private static final int LOGGED_FRAMES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> sites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual threads enabled; reporting pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of()
+                : event.getStackTrace().getFrames().stream().map(VirtualThreadPinningMonitor::describe).toList();
+        String site = pinningSite(frames);
+        boolean firstTime = sites.size() < MAX_SITES && sites.add(site);
+        if (!firstTime && !sites.contains(site)) {
+            site = "other";
+        }
+        Timer.builder("virtual.threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (firstTime) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    /**
+     * The first frame outside the JDK, by class: that is the code holding the
+     * monitor (or making the native call). Frames look like
+     * "org.h2.engine.SessionLocal.lock".
+     */
+    static String pinningSite(List<String> frames) {
+        for (String frame : frames) {
+            if (!frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun.")) {
+                int method = frame.lastIndexOf('.');
+                return method > 0 ? frame.substring(0, method) : frame;
+            }
+        }
+        return "jdk";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
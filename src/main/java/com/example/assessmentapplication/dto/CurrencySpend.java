@@ -0,0 +1,10 @@
+package com.example.assessmentapplication.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A user's spend in one currency. Amounts in different currencies are never
+ * added together.
+ */
+public record CurrencySpend(String currency, long subscriptionCount, BigDecimal totalAmount) {
+}
@@ -0,0 +1,13 @@
+package com.example.assessmentapplication.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Body of the batch lookup endpoints: {"ids": [1, 2, 3]}. Sent as a POST
+ * body rather than a query string so a few thousand ids don't run into URL
+ * length limits.
+ */
+public record IdBatchRequest(@NotEmpty(message = "ids must not be empty") List<Integer> ids) {
+}
@@ -0,0 +1,11 @@
+package com.example.assessmentapplication.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. errors is capped (see
+ * app.import.max-reported-errors) but failed always counts every rejected row.
+ */
+public record ImportResult(int received, int imported, int failed, List<ImportRowError> errors,
+        long elapsedMillis, double rowsPerSecond) {
+}
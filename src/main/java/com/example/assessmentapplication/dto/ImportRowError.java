@@ -0,0 +1,8 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * Why a row was rejected. row is the 1-based position of the row in the
+ * request (the CSV header does not count).
+ */
+public record ImportRowError(int row, String message) {
+}
@@ -0,0 +1,29 @@
+package com.example.assessmentapplication.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Where an asynchronously submitted subscription is. subscriptionId is set
+ * once it is WRITTEN, error once it has FAILED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IngestStatus(String ticket, State state, Integer subscriptionId, String error) {
+
+    public enum State {
+        QUEUED,
+        WRITTEN,
+        FAILED
+    }
+
+    public static IngestStatus queued(String ticket) {
+        return new IngestStatus(ticket, State.QUEUED, null, null);
+    }
+
+    public static IngestStatus written(String ticket, int subscriptionId) {
+        return new IngestStatus(ticket, State.WRITTEN, subscriptionId, null);
+    }
+
+    public static IngestStatus failed(String ticket, String error) {
+        return new IngestStatus(ticket, State.FAILED, null, error);
+    }
+}
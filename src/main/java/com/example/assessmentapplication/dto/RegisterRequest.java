@@ -0,0 +1,11 @@
+package com.example.assessmentapplication.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of POST /register. Only the credentials: the role and id are set by
+ * the server, so an anonymous caller can't register an admin or overwrite an
+ * existing account.
+ */
+public record RegisterRequest(@NotBlank String username, String password) {
+}
@@ -0,0 +1,10 @@
+package com.example.assessmentapplication.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Just the id and renewal date of a subscription: what the renewal calendar
+ * index stores, without loading the rest of the row.
+ */
+public record RenewalEntry(Integer id, LocalDate nextRenewalDate) {
+}
@@ -0,0 +1,9 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * Result of one pass of the renewal engine on this node. Partitions leased
+ * by another node count as skipped; failed partitions are retried next run.
+ */
+public record RenewalRunReport(int partitionsProcessed, int partitionsSkipped, int partitionsFailed,
+        long subscriptionsRenewed, long elapsedMillis) {
+}
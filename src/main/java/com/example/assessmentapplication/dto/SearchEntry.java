@@ -0,0 +1,8 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * The searchable text of a subscription: what the search index is built
+ * from, without loading the rest of the row.
+ */
+public record SearchEntry(Integer id, String serviceName, String planType) {
+}
@@ -0,0 +1,8 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * One search result from the index. fuzzy is true when at least one word
+ * only matched with typos; those hits are listed after all the others.
+ */
+public record SearchHit(int id, boolean fuzzy) {
+}
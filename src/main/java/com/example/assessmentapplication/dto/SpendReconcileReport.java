@@ -0,0 +1,8 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * Result of comparing user_spend_summary with the subscriptions table.
+ * rowsRepaired counts summary rows that were inserted, corrected or deleted.
+ */
+public record SpendReconcileReport(long usersChecked, long rowsRepaired, long elapsedMillis) {
+}
@@ -0,0 +1,10 @@
+package com.example.assessmentapplication.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Per (user, currency) aggregate computed from the subscriptions table, used
+ * to check the user_spend_summary read model.
+ */
+public record SpendTotal(Integer userId, String currency, Long subscriptionCount, BigDecimal totalAmount) {
+}
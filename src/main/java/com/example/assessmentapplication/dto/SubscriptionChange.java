@@ -0,0 +1,13 @@
+package com.example.assessmentapplication.dto;
+
+import com.example.assessmentapplication.event.SubscriptionChangedEvent.ChangeType;
+import com.example.assessmentapplication.event.SubscriptionSnapshot;
+
+/**
+ * One entry of the subscription change feed. offset increases by one per
+ * change, across all users; subscription is the state after the change and
+ * is null for DELETED.
+ */
+public record SubscriptionChange(long offset, ChangeType type, int subscriptionId, int userId,
+        SubscriptionSnapshot subscription) {
+}
@@ -0,0 +1,21 @@
+package com.example.assessmentapplication.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.assessmentapplication.entity.Subscription;
+
+/**
+ * Flat shape of one exported subscription. Only the owner's id is written,
+ * so exporting never has to initialize the lazy Subscription.user proxy.
+ */
+public record SubscriptionExportRow(Integer id, int userId, String serviceName, String planType,
+        LocalDate nextRenewalDate, BigDecimal amount, String currency) {
+
+    public static SubscriptionExportRow from(Subscription subscription) {
+        // getId() on a Hibernate proxy returns the foreign key without a query
+        return new SubscriptionExportRow(subscription.getId(), subscription.getUser().getId(),
+                subscription.getServiceName(), subscription.getPlanType(), subscription.getNextRenewalDate(),
+                subscription.getAmount(), subscription.getCurrency());
+    }
+}
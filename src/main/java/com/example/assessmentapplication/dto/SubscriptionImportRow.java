@@ -0,0 +1,11 @@
+package com.example.assessmentapplication.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One subscription in a bulk import request.
+ */
+public record SubscriptionImportRow(Integer userId, String serviceName, String planType,
+        LocalDate nextRenewalDate, BigDecimal amount, String currency) {
+}
@@ -0,0 +1,13 @@
+package com.example.assessmentapplication.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated subscription listing.
+ *
+ * nextCursor is an opaque continuation token. It is null when there are no
+ * more rows, otherwise the client sends it back as ?cursor= to get the next
+ * page.
+ */
+public record SubscriptionPage(List<SubscriptionResponse> items, String nextCursor) {
+}
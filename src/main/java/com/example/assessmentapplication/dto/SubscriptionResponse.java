@@ -0,0 +1,35 @@
+package com.example.assessmentapplication.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.assessmentapplication.entity.Subscription;
+
+/**
+ * What the API returns for a subscription. Read endpoints build it straight
+ * from a JPQL constructor expression, so Hibernate selects just these
+ * columns and never creates, tracks or dirty-checks a Subscription entity.
+ * Being immutable, it is also safe to cache.
+ *
+ * version is the optimistic-locking version; single-subscription endpoints
+ * also send it as the ETag.
+ */
+public record SubscriptionResponse(Integer id, UserSummary user, String serviceName, String planType,
+        LocalDate nextRenewalDate, BigDecimal amount, String currency, long version) {
+
+    // Flat form for "SELECT new ...": JPQL can't build the nested UserSummary
+    public SubscriptionResponse(Integer id, int userId, String username, String serviceName, String planType,
+            LocalDate nextRenewalDate, BigDecimal amount, String currency, long version) {
+        this(id, new UserSummary(userId, username), serviceName, planType, nextRenewalDate, amount, currency,
+                version);
+    }
+
+    // For the write paths, which already hold the entity. Reads the user's
+    // username, so call it inside the transaction.
+    public static SubscriptionResponse from(Subscription subscription) {
+        return new SubscriptionResponse(subscription.getId(), subscription.getUser().getId(),
+                subscription.getUser().getUsername(), subscription.getServiceName(), subscription.getPlanType(),
+                subscription.getNextRenewalDate(), subscription.getAmount(), subscription.getCurrency(),
+                subscription.getVersion());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.assessmentapplication.dto;
+
+import com.example.assessmentapplication.entity.Role;
+
+/**
+ * Public view of a user account. The password hash and the UserDetails
+ * flags stay on the entity.
+ */
+public record UserResponse(int id, String username, Role role) {
+}
@@ -0,0 +1,14 @@
+package com.example.assessmentapplication.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One user's subscriptions in a batch response. user is only filled in
+ * when the caller asks for it (includeUser=true), and stays null for ids
+ * that don't belong to any user.
+ */
+public record UserSubscriptions(int userId, @JsonInclude(JsonInclude.Include.NON_NULL) UserResponse user,
+        List<SubscriptionResponse> subscriptions) {
+}
@@ -0,0 +1,8 @@
+package com.example.assessmentapplication.dto;
+
+/**
+ * The owner of a subscription as it appears in API responses: who it is,
+ * never the credentials.
+ */
+public record UserSummary(int id, String username) {
+}
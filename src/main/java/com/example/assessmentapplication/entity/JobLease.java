@@ -0,0 +1,33 @@
+package com.example.assessmentapplication.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A named lease on a unit of scheduled work. Whoever holds an unexpired
+ * lease is the only node doing that work; see JobLeaseService.
+ */
+@Entity
+@Table(name = "job_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    private String owner;
+
+    // Epoch milliseconds, so nodes in different time zones agree
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+}
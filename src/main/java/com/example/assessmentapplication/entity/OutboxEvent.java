@@ -0,0 +1,52 @@
+package com.example.assessmentapplication.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One subscription change waiting in (or already relayed from) the outbox.
+ * payload is the subscription after the change as JSON, null for a delete.
+ */
+@Entity
+@Table(name = "subscription_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    // Pooled sequence, as for Subscription, so the outbox INSERTs of a bulk
+    // write are batched together with the subscription INSERTs
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_outbox_seq")
+    @SequenceGenerator(name = "subscription_outbox_seq", sequenceName = "subscription_outbox_seq",
+            allocationSize = 50)
+    private Long id;
+
+    // Position in the change feed. null until the relay sequences the row:
+    // ids are handed out before commit, so their order isn't commit order.
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    @Column(name = "subscription_id", nullable = false)
+    private int subscriptionId;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+}
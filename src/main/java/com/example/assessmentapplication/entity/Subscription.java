@@ -1,22 +1,35 @@
 package com.example.assessmentapplication.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+// Table, sequence and indexes are created by the Flyway scripts in
+// src/main/resources/db/migration; Hibernate only validates the mapping
 @Table(name = "subscriptions")
 @Getter
 @Setter
 public class Subscription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY lets the database pick the id during the INSERT, so Hibernate
+    // must run each insert on its own to read the id back and JDBC batching
+    // is silently disabled. A pooled sequence hands out ids in blocks of 50
+    // (one round trip per block), which keeps bulk inserts batchable.
+    // Relies on V6__subscription_id_sequence: it drops the old IDENTITY and
+    // starts the sequence past the existing ids, which would collide with
+    // a sequence starting at 1.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_seq")
+    @SequenceGenerator(name = "subscription_seq", sequenceName = "subscriptions_seq", allocationSize = 50)
     private Integer id;
 
     // 1. Link to the User (Foreign Key)
@@ -45,4 +58,12 @@ public class Subscription {
 
     @Getter
     private String currency = "USD"; // Default to USD
+
+    // Optimistic locking: Hibernate adds "AND version = ?" to its UPDATEs and
+    // fails instead of overwriting a concurrent change. The API exposes it as
+    // the ETag. Not settable from request bodies.
+    @Version
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private long version;
 }
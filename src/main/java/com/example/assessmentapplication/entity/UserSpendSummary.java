@@ -0,0 +1,54 @@
+package com.example.assessmentapplication.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Read model: how many subscriptions a user has in one currency and what they
+ * add up to. Maintained incrementally by SpendSummaryService in the same
+ * transaction as every subscription write, so reading it never needs a
+ * SUM over the subscriptions table.
+ */
+@Entity
+@Table(name = "user_spend_summary")
+@IdClass(UserSpendSummary.Key.class) // Composite primary key (user_id, currency)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSpendSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Id
+    @Column(nullable = false)
+    private String currency;
+
+    @Column(name = "subscription_count", nullable = false)
+    private long subscriptionCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    // JPA needs the key as a separate class with equals/hashCode
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int userId;
+        private String currency;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.assessmentapplication.event;
+
+/**
+ * Published by the service layer whenever a subscription is created, updated
+ * or deleted.
+ *
+ * before is null for CREATED, after is null for DELETED. Caches and other
+ * derived read models listen with @TransactionalEventListener, so they only
+ * react once the change has actually been committed.
+ */
+public record SubscriptionChangedEvent(ChangeType type, SubscriptionSnapshot before, SubscriptionSnapshot after) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static SubscriptionChangedEvent created(SubscriptionSnapshot after) {
+        return new SubscriptionChangedEvent(ChangeType.CREATED, null, after);
+    }
+
+    public static SubscriptionChangedEvent updated(SubscriptionSnapshot before, SubscriptionSnapshot after) {
+        return new SubscriptionChangedEvent(ChangeType.UPDATED, before, after);
+    }
+
+    public static SubscriptionChangedEvent deleted(SubscriptionSnapshot before) {
+        return new SubscriptionChangedEvent(ChangeType.DELETED, before, null);
+    }
+
+    public int subscriptionId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public int userId() {
+        return after != null ? after.userId() : before.userId();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assessmentapplication.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.entity.Subscription;
+
+/**
+ * Immutable copy of a subscription's columns at one point in time. Events
+ * carry snapshots rather than entities so listeners that run after the
+ * transaction never touch a detached entity or a lazy proxy.
+ */
+public record SubscriptionSnapshot(int id, int userId, String serviceName, String planType,
+        LocalDate nextRenewalDate, BigDecimal amount, String currency) {
+
+    public static SubscriptionSnapshot of(Subscription subscription) {
+        // getId() on the user proxy returns the foreign key without a query
+        return new SubscriptionSnapshot(subscription.getId(), subscription.getUser().getId(),
+                subscription.getServiceName(), subscription.getPlanType(), subscription.getNextRenewalDate(),
+                subscription.getAmount(), subscription.getCurrency());
+    }
+
+    public static SubscriptionSnapshot of(SubscriptionResponse subscription) {
+        return new SubscriptionSnapshot(subscription.id(), subscription.user().id(), subscription.serviceName(),
+                subscription.planType(), subscription.nextRenewalDate(), subscription.amount(),
+                subscription.currency());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.assessmentapplication.event;
+
+/**
+ * Published whenever a user row is written (registration, password or role
+ * change). Carries only the username: listeners use it to drop anything they
+ * have cached for that user.
+ */
+public record UserChangedEvent(String username) {
+}
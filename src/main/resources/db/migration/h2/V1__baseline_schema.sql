@@ -0,0 +1,24 @@
+-- The schema as Hibernate generated it before migrations took over.
+-- Databases created that way are adopted at this version
+-- (spring.flyway.baseline-on-migrate) and only get the later scripts, so
+-- anything added since goes in a later version, never in here.
+
+CREATE TABLE users (
+    id       INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    password VARCHAR(255),
+    username VARCHAR(255) NOT NULL,
+    role     ENUM ('ADMIN', 'USER'),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE subscriptions (
+    amount            NUMERIC(38, 2) NOT NULL,
+    id                INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    next_renewal_date DATE,
+    user_id           INTEGER        NOT NULL,
+    currency          VARCHAR(255),
+    plan_type         VARCHAR(255)   NOT NULL,
+    service_name      VARCHAR(255)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subscriptions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,15 @@
+-- Indexes for the queries the API runs on every request.
+
+-- Login (findByUsername) and GET /getUser look users up by name. Unique as
+-- well as indexed: two accounts with the same name would make both lookups
+-- ambiguous.
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+
+-- One user's subscriptions: upcoming renewals (user_id = ? AND
+-- next_renewal_date BETWEEN ? AND ?) and the renewal-sorted listing
+-- (ORDER BY next_renewal_date, id). Also serves the foreign key.
+CREATE INDEX idx_subscriptions_user_renewal ON subscriptions (user_id, next_renewal_date, id);
+
+-- Covering index for the per-user totals (SUM(amount) and the per-currency
+-- sums): answered from the index without touching the table rows.
+CREATE INDEX idx_subscriptions_user_amount ON subscriptions (user_id, currency, amount);
@@ -0,0 +1,9 @@
+-- Leases that let several app nodes share scheduled work: one row per unit
+-- of work (e.g. "renewals-3"), held by owner until expires_at (epoch
+-- milliseconds). Rows are created on first use.
+CREATE TABLE job_lease (
+    name       VARCHAR(100) NOT NULL,
+    owner      VARCHAR(255),
+    expires_at BIGINT       NOT NULL,
+    PRIMARY KEY (name)
+);
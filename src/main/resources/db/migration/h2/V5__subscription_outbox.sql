@@ -0,0 +1,23 @@
+-- Transactional outbox behind the subscription change feed. Every
+-- subscription write adds a row here in the same transaction; the relay
+-- later gives each committed row its feed_offset, in order, and streams it
+-- to subscribers. created_at is epoch milliseconds.
+CREATE SEQUENCE subscription_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE subscription_outbox (
+    id              BIGINT        NOT NULL,
+    feed_offset     BIGINT,
+    subscription_id INTEGER       NOT NULL,
+    user_id         INTEGER       NOT NULL,
+    change_type     VARCHAR(16)   NOT NULL,
+    payload         VARCHAR(4000),
+    created_at      BIGINT        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Unique so two relays can never hand out the same offset; also serves
+-- "rows not sequenced yet" (feed_offset IS NULL) and replay by offset.
+CREATE UNIQUE INDEX uk_subscription_outbox_offset ON subscription_outbox (feed_offset);
+
+-- Retention cleanup
+CREATE INDEX idx_subscription_outbox_created ON subscription_outbox (created_at);
@@ -0,0 +1,10 @@
+-- Subscription ids come from a pooled sequence instead of IDENTITY, so
+-- Hibernate can batch inserts (see Subscription.id).
+--
+-- Hibernate takes each value as the top of a block of 50 and hands out the
+-- 49 ids below it first, so the sequence starts 50 past the largest
+-- existing id: the first new subscription gets MAX(id) + 1.
+ALTER TABLE subscriptions ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE subscriptions_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE subscriptions_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM subscriptions);
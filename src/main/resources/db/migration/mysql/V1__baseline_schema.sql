@@ -0,0 +1,24 @@
+-- The schema as Hibernate generated it before migrations took over.
+-- Databases created that way are adopted at this version
+-- (spring.flyway.baseline-on-migrate) and only get the later scripts, so
+-- anything added since goes in a later version, never in here.
+
+CREATE TABLE users (
+    id       INT          NOT NULL AUTO_INCREMENT,
+    password VARCHAR(255),
+    username VARCHAR(255) NOT NULL,
+    role     ENUM ('ADMIN', 'USER'),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE subscriptions (
+    amount            DECIMAL(38, 2) NOT NULL,
+    id                INT            NOT NULL AUTO_INCREMENT,
+    next_renewal_date DATE,
+    user_id           INT            NOT NULL,
+    currency          VARCHAR(255),
+    plan_type         VARCHAR(255)   NOT NULL,
+    service_name      VARCHAR(255)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subscriptions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
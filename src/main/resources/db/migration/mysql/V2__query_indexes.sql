@@ -0,0 +1,15 @@
+-- Indexes for the queries the API runs on every request. Kept in step with
+-- db/migration/h2/V2__query_indexes.sql.
+
+-- Login (findByUsername) and GET /getUser look users up by name. Unique as
+-- well as indexed: two accounts with the same name would make both lookups
+-- ambiguous. Fails on a database that already has duplicates; clean those
+-- up first.
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+
+-- One user's subscriptions: upcoming renewals and the renewal-sorted
+-- listing. Also serves the foreign key.
+CREATE INDEX idx_subscriptions_user_renewal ON subscriptions (user_id, next_renewal_date, id);
+
+-- Covering index for SUM(amount) per user and per currency
+CREATE INDEX idx_subscriptions_user_amount ON subscriptions (user_id, currency, amount);
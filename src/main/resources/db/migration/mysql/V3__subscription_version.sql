@@ -0,0 +1,4 @@
+-- Optimistic locking: bumped by every update, compared by conditional
+-- UPDATE/DELETE and exposed to clients as the subscription's ETag.
+-- Existing rows start at 0.
+ALTER TABLE subscriptions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Subscription ids come from a pooled sequence instead of AUTO_INCREMENT,
+-- so Hibernate can batch inserts (see Subscription.id).
+--
+-- Hibernate takes each value as the top of a block of 50 and hands out the
+-- 49 ids below it first, so the sequence starts 50 past the largest
+-- existing id: the first new subscription gets MAX(id) + 1.
+ALTER TABLE subscriptions MODIFY id INT NOT NULL;
+
+-- MySQL has no sequences; Hibernate emulates this one with a table
+CREATE TABLE subscriptions_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO subscriptions_seq SELECT COALESCE(MAX(id), 0) + 50 FROM subscriptions;
@@ -0,0 +1,18 @@
+-- Per-user, per-currency subscription count and total, kept up to date by
+-- SpendSummaryService on every subscription write.
+CREATE TABLE user_spend_summary (
+    total_amount       DECIMAL(38, 2) NOT NULL,
+    user_id            INT            NOT NULL,
+    subscription_count BIGINT         NOT NULL,
+    currency           VARCHAR(255)   NOT NULL,
+    PRIMARY KEY (user_id, currency)
+) ENGINE = InnoDB;
+
+-- Existing subscriptions. A missing currency counts as USD, as in
+-- SpendSummaryService.currencyKey.
+INSERT INTO user_spend_summary (user_id, currency, subscription_count, total_amount)
+SELECT user_id, currency, COUNT(*), SUM(amount)
+FROM (SELECT user_id, amount,
+             CASE WHEN currency IS NULL OR TRIM(currency) = '' THEN 'USD' ELSE currency END AS currency
+      FROM subscriptions) s
+GROUP BY user_id, currency;
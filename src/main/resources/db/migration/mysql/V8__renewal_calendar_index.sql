@@ -0,0 +1,4 @@
+-- All users' renewals in (next_renewal_date, id) order: the global renewal
+-- window until RenewalCalendarIndex has loaded, and the renewal engine's
+-- date range.
+CREATE INDEX idx_subscriptions_renewal ON subscriptions (next_renewal_date, id);
@@ -0,0 +1,213 @@
+package com.example.assessmentapplication.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.assessmentapplication.entity.Subscription;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs every declared repository query against a seeded H2 database and
+ * checks EXPLAIN for each SQL statement it produced: none may fall back to
+ * a full table scan. Catches a dropped index, or a new query that no index
+ * serves, before it reaches production.
+ *
+ * A new repository method fails the test until it is added to queries()
+ * below, so nothing slips past unchecked.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.assessmentapplication.Repository.QueryPlanTest$SqlRecorder")
+class QueryPlanTest {
+
+    // Reading the whole table is the point of these
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of("SubscriptionRepository.streamAllForExport");
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserSpendSummaryRepository spendSummaryRepository;
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    /** Collects the SQL Hibernate sends, so it can be EXPLAINed afterwards. */
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        // Enough rows that a scan costs far more than an index lookup
+        jdbcTemplate.update("INSERT INTO users (username, password, role)"
+                + " SELECT 'plan-user-' || X, 'unused', 'USER' FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.update("INSERT INTO subscriptions (id, user_id, service_name, plan_type, next_renewal_date,"
+                + " amount, currency) SELECT NEXT VALUE FOR subscriptions_seq, u.id, 'Service ' || X, 'Premium',"
+                + " CASEWHEN(MOD(X, 10) = 0, NULL, DATEADD('DAY', MOD(X, 365), CURRENT_DATE)), 1 + MOD(X, 50),"
+                + " CASEWHEN(MOD(X, 3) = 0, 'INR', 'USD')"
+                + " FROM SYSTEM_RANGE(1, 5000) JOIN users u ON u.username = 'plan-user-' || (1 + MOD(X, 200))");
+        jdbcTemplate.update("INSERT INTO subscription_outbox (id, feed_offset, subscription_id, user_id, change_type,"
+                + " created_at) SELECT X, CASEWHEN(MOD(X, 20) = 0, NULL, X), X, 1, 'UPDATED', X"
+                + " FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.update("INSERT INTO user_spend_summary (user_id, currency, subscription_count, total_amount)"
+                + " SELECT id, 'USD', 1, 1 FROM users");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Map<String, Runnable> queries = queries();
+        assertEquals(Set.of(), missingQueries(queries.keySet()),
+                "Repository methods without a plan check; add them to queries()");
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            SqlRecorder.STATEMENTS.clear();
+            query.run();
+            entityManager.flush(); // The modifying queries run on flush
+            List<String> statements = List.copyOf(SqlRecorder.STATEMENTS);
+            assertTrue(!statements.isEmpty(), name + " ran no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan") && !FULL_SCAN_ALLOWED.contains(name)) {
+                    failures.add(name + " scans a whole table:\n" + plan);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private Map<String, Runnable> queries() {
+        int userId = userRepository.findByUsername("plan-user-7").orElseThrow().getId();
+        List<Integer> userIds = List.of(userId, userId + 1, userId + 2);
+        int subscriptionId = subscriptionRepository.findByUserId(userId).get(0).getId();
+        LocalDate today = LocalDate.now();
+        Limit limit = Limit.of(50);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("SubscriptionRepository.findByUserId", () -> subscriptionRepository.findByUserId(userId));
+        queries.put("SubscriptionRepository.calculateAmountForUser",
+                () -> subscriptionRepository.calculateAmountForUser(userId));
+        queries.put("SubscriptionRepository.sumByUserAndCurrency",
+                () -> subscriptionRepository.sumByUserAndCurrency(userIds));
+        queries.put("SubscriptionRepository.findResponseById",
+                () -> subscriptionRepository.findResponseById(subscriptionId));
+        queries.put("SubscriptionRepository.findUpcomingRenewals",
+                () -> subscriptionRepository.findUpcomingRenewals(userId, today, today.plusDays(7)));
+        queries.put("SubscriptionRepository.findPageByUserId",
+                () -> subscriptionRepository.findPageByUserId(userId, 0, limit));
+        queries.put("SubscriptionRepository.findRenewalPage",
+                () -> subscriptionRepository.findRenewalPage(userId, limit));
+        queries.put("SubscriptionRepository.findRenewalPageAfter",
+                () -> subscriptionRepository.findRenewalPageAfter(userId, today, 0, limit));
+        queries.put("SubscriptionRepository.findUndatedPage",
+                () -> subscriptionRepository.findUndatedPage(userId, 0, limit));
+        queries.put("SubscriptionRepository.findRenewalsDue",
+                () -> subscriptionRepository.findRenewalsDue(today, today.plusDays(7), limit));
+        queries.put("SubscriptionRepository.findRenewalsDueAfter",
+                () -> subscriptionRepository.findRenewalsDueAfter(today, today.plusDays(7), today, 0, limit));
+        queries.put("SubscriptionRepository.findRenewalEntriesAfter",
+                () -> subscriptionRepository.findRenewalEntriesAfter(0, limit));
+        queries.put("SubscriptionRepository.findSearchEntriesAfter",
+                () -> subscriptionRepository.findSearchEntriesAfter(0, limit));
+        queries.put("SubscriptionRepository.findDueInPartition",
+                () -> subscriptionRepository.findDueInPartition(today, 16, 3, limit));
+        queries.put("SubscriptionRepository.findResponsesByIdIn",
+                () -> subscriptionRepository.findResponsesByIdIn(List.of(subscriptionId, subscriptionId + 1)));
+        queries.put("SubscriptionRepository.findResponsesByUserIdIn",
+                () -> subscriptionRepository.findResponsesByUserIdIn(userIds));
+        queries.put("SubscriptionRepository.updateIfVersion", () -> subscriptionRepository.updateIfVersion(
+                subscriptionId, 0, "Plan", "Premium", today, BigDecimal.ONE, "USD"));
+        queries.put("SubscriptionRepository.deleteIfVersion",
+                () -> subscriptionRepository.deleteIfVersion(subscriptionId, -1));
+        queries.put("SubscriptionRepository.streamAllForExport", () -> {
+            try (Stream<Subscription> rows = subscriptionRepository.streamAllForExport()) {
+                rows.findFirst();
+            }
+        });
+
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("plan-user-9"));
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("plan-user-9"));
+        queries.put("UserRepository.findResponseByUsername",
+                () -> userRepository.findResponseByUsername("plan-user-9"));
+        queries.put("UserRepository.findResponsesByIdIn", () -> userRepository.findResponsesByIdIn(userIds));
+        queries.put("UserRepository.findExistingIds", () -> userRepository.findExistingIds(userIds));
+        queries.put("UserRepository.findIdsAfter", () -> userRepository.findIdsAfter(userId, limit));
+        queries.put("UserRepository.lockAllById", () -> userRepository.lockAllById(userIds));
+
+        queries.put("UserSpendSummaryRepository.findByUserIdOrderByCurrencyAsc",
+                () -> spendSummaryRepository.findByUserIdOrderByCurrencyAsc(userId));
+        queries.put("UserSpendSummaryRepository.findByUserIdIn",
+                () -> spendSummaryRepository.findByUserIdIn(userIds));
+        queries.put("UserSpendSummaryRepository.applyDelta",
+                () -> spendSummaryRepository.applyDelta(userId, "USD", 1, BigDecimal.ONE));
+        queries.put("UserSpendSummaryRepository.deleteIfEmpty",
+                () -> spendSummaryRepository.deleteIfEmpty(userId, "USD"));
+
+        queries.put("JobLeaseRepository.claim", () -> jobLeaseRepository.claim("renewals-3", "node", 0, 1));
+        queries.put("JobLeaseRepository.release", () -> jobLeaseRepository.release("renewals-3", "node"));
+
+        queries.put("OutboxEventRepository.findUnsequenced", () -> outboxEventRepository.findUnsequenced(limit));
+        queries.put("OutboxEventRepository.findHeadOffset", () -> outboxEventRepository.findHeadOffset());
+        queries.put("OutboxEventRepository.findSequencedAfter",
+                () -> outboxEventRepository.findSequencedAfter(100, limit));
+        queries.put("OutboxEventRepository.findLatestSequenced",
+                () -> outboxEventRepository.findLatestSequenced(limit));
+        queries.put("OutboxEventRepository.deleteSequencedBefore",
+                () -> outboxEventRepository.deleteSequencedBefore(0));
+        return queries;
+    }
+
+    private static Set<String> missingQueries(Set<String> checked) {
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : List.of(SubscriptionRepository.class, UserRepository.class,
+                UserSpendSummaryRepository.class, JobLeaseRepository.class, OutboxEventRepository.class)) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic())
+                    .map(Method::getName)
+                    .map(name -> repository.getSimpleName() + "." + name)
+                    .filter(name -> !checked.contains(name))
+                    .forEach(missing::add);
+        }
+        return missing;
+    }
+
+    // Plans don't depend on parameter values in H2, so nulls will do
+    private String explain(String sql) {
+        Object[] nulls = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, nulls);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.assessmentapplication.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * A database Hibernate created before Flyway took over is adopted at V1
+ * (baseline-on-migrate) and only runs the later scripts. Those have to
+ * bring it to the same schema a fresh database gets, data included.
+ */
+class SchemaBaselineTest {
+
+    @Test
+    void adoptedDatabaseGetsEverythingAddedAfterTheBaseline() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // The old app's schema and data, with no Flyway history table
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__baseline_schema.sql"))
+                .execute(dataSource);
+        jdbc.update("INSERT INTO users (username, password, role) VALUES ('old-user', 'x', 'USER')");
+        int userId = jdbc.queryForObject("SELECT id FROM users", Integer.class);
+        jdbc.update("INSERT INTO subscriptions (user_id, service_name, plan_type, amount, currency)"
+                + " VALUES (?, 'Netflix', 'Premium', 10.00, 'USD'), (?, 'Spotify', 'Basic', 5.50, NULL),"
+                + " (?, 'Hotstar', 'Basic', 3.00, 'INR')", userId, userId, userId);
+        jdbc.update("INSERT INTO subscriptions (id, user_id, service_name, plan_type, amount, currency)"
+                + " VALUES (120, ?, 'Hulu', 'Basic', 1.00, 'USD')", userId);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // Hibernate's pooled optimizer hands out the 49 ids below each value
+        // first: the next new subscription must land just past the old ones
+        long next = jdbc.queryForObject("SELECT NEXT VALUE FOR subscriptions_seq", Long.class);
+        assertEquals(121, next - 49);
+
+        List<Map<String, Object>> summary = jdbc.queryForList("SELECT currency, subscription_count, total_amount"
+                + " FROM user_spend_summary WHERE user_id = ? ORDER BY currency", userId);
+        assertEquals(List.of("INR", "USD"), summary.stream().map(row -> row.get("CURRENCY")).toList());
+        assertEquals(3L, ((Number) summary.get(1).get("SUBSCRIPTION_COUNT")).longValue());
+        assertEquals(0, new BigDecimal("16.50").compareTo((BigDecimal) summary.get(1).get("TOTAL_AMOUNT")));
+
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE INDEX_NAME = 'IDX_SUBSCRIPTIONS_RENEWAL'", Integer.class));
+    }
+}
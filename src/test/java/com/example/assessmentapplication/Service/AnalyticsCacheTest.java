@@ -0,0 +1,81 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnalyticsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void upcomingRenewalsAreCachedForTheTtlDuringTheDay() throws InterruptedException {
+        AnalyticsCache cache = cacheAt("2030-01-10T12:00:00Z");
+
+        upcomingRenewals(cache);
+        Thread.sleep(50);
+        upcomingRenewals(cache);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void upcomingRenewalsExpireAtMidnight() throws InterruptedException {
+        // 20 ms before midnight: the entry must not outlive the day, even
+        // though the TTL is five minutes
+        AnalyticsCache cache = cacheAt("2030-01-10T23:59:59.980Z");
+
+        upcomingRenewals(cache);
+        Thread.sleep(50);
+        upcomingRenewals(cache);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void withReplicasChangedUsersAreNotCachedDuringTheLagWindow() {
+        Clock clock = Clock.fixed(Instant.parse("2030-01-10T12:00:00Z"), ZoneOffset.UTC);
+        AnalyticsCache cache = new AnalyticsCache(new SimpleMeterRegistry(), clock, 100, Duration.ofMinutes(5),
+                true, Duration.ofMinutes(1));
+        AtomicInteger otherLoads = new AtomicInteger();
+
+        cache.evictUser(1); // User 1 just changed a subscription
+        upcomingRenewals(cache);
+        upcomingRenewals(cache);
+        cache.totalAmount(2, userId -> {
+            otherLoads.incrementAndGet();
+            return BigDecimal.ONE;
+        });
+        cache.totalAmount(2, userId -> {
+            otherLoads.incrementAndGet();
+            return BigDecimal.ONE;
+        });
+
+        assertEquals(2, loads.get()); // A replica may still have user 1's old rows
+        assertEquals(1, otherLoads.get());
+    }
+
+    private static AnalyticsCache cacheAt(String instant) {
+        Clock clock = Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+        return new AnalyticsCache(new SimpleMeterRegistry(), clock, 100, Duration.ofMinutes(5), false, Duration.ZERO);
+    }
+
+    private List<SubscriptionResponse> upcomingRenewals(AnalyticsCache cache) {
+        return cache.upcomingRenewals(1, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class PostingListTest {
+
+    @Test
+    void staysSortedAcrossBlockSplits() {
+        // Enough ids, added out of order, to split blocks and re-key them
+        PostingList ids = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < PostingList.BLOCK_SIZE * 5; i++) {
+            int id = 1 + random.nextInt(PostingList.BLOCK_SIZE * 8);
+            ids.add(id);
+            expected.add(id);
+        }
+        for (int i = 0; i < PostingList.BLOCK_SIZE * 2; i++) {
+            int id = 1 + random.nextInt(PostingList.BLOCK_SIZE * 8);
+            ids.remove(id);
+            expected.remove(id);
+        }
+
+        assertEquals(expected.size(), ids.size());
+        assertEquals(List.copyOf(expected), idsAfter(ids, 0));
+        int middle = expected.higher(PostingList.BLOCK_SIZE * 4);
+        assertEquals(List.copyOf(expected.tailSet(middle, false)), idsAfter(ids, middle));
+        assertTrue(ids.contains(expected.first()));
+        assertFalse(ids.contains(0));
+    }
+
+    @Test
+    void appendsInOrderAndIgnoresDuplicates() {
+        PostingList ids = new PostingList();
+        for (int id = 1; id <= PostingList.BLOCK_SIZE + 10; id++) {
+            ids.add(id);
+            ids.add(id);
+        }
+        ids.remove(1);
+        ids.remove(1);
+
+        assertEquals(PostingList.BLOCK_SIZE + 9, ids.size());
+        assertEquals(2, ids.cursor().advance(1));
+        assertEquals(PostingList.Cursor.END, ids.cursor().advance(PostingList.BLOCK_SIZE + 11));
+    }
+
+    @Test
+    void cursorJumpsAheadAcrossBlocksAndNeverBack() {
+        PostingList ids = new PostingList();
+        for (int id = 2; id <= PostingList.BLOCK_SIZE * 8; id += 2) {
+            ids.add(id);
+        }
+        PostingList.Cursor cursor = ids.cursor();
+
+        assertEquals(2, cursor.advance(1));
+        assertEquals(10, cursor.advance(9)); // Within the block
+        assertEquals(PostingList.BLOCK_SIZE * 5, cursor.advance(PostingList.BLOCK_SIZE * 5 - 1)); // Blocks later
+        assertEquals(PostingList.BLOCK_SIZE * 5, cursor.advance(3)); // Behind: stays put
+        assertEquals(PostingList.Cursor.END, cursor.advance(PostingList.BLOCK_SIZE * 8 + 1));
+    }
+
+    private static List<Integer> idsAfter(PostingList ids, int afterId) {
+        List<Integer> list = new ArrayList<>();
+        PostingList.Cursor cursor = ids.cursor();
+        for (int id = cursor.advance(afterId + 1); id != PostingList.Cursor.END; id = cursor.advance(id + 1)) {
+            list.add(id);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.domain.Limit;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.dto.RenewalEntry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RenewalCalendarIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    private RenewalCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // No repository needed: these tests drive the index directly
+        index = new RenewalCalendarIndex(null, new SimpleMeterRegistry(), true, 100);
+    }
+
+    @Test
+    void pageIsOrderedByDayThenIdWithinTheWindow() {
+        index.move(5, null, DAY.plusDays(1));
+        index.move(9, null, DAY);
+        index.move(2, null, DAY);
+        index.move(7, null, DAY.minusDays(1)); // before the window
+        index.move(3, null, DAY.plusDays(3)); // after the window
+
+        List<RenewalEntry> page = index.page(DAY, DAY.plusDays(2), null, 0, 10);
+
+        assertEquals(List.of(new RenewalEntry(2, DAY), new RenewalEntry(9, DAY), new RenewalEntry(5, DAY.plusDays(1))),
+                page);
+    }
+
+    @Test
+    void cursorResumesAfterTheLastEntryWithinTheSameDay() {
+        for (int id = 1; id <= 5; id++) {
+            index.move(id, null, DAY);
+        }
+        index.move(6, null, DAY.plusDays(1));
+
+        List<RenewalEntry> first = index.page(DAY, DAY.plusDays(1), null, 0, 3);
+        RenewalEntry last = first.get(first.size() - 1);
+        List<RenewalEntry> second = index.page(DAY, DAY.plusDays(1), last.nextRenewalDate(), last.id(), 3);
+
+        assertEquals(List.of(1, 2, 3), first.stream().map(RenewalEntry::id).toList());
+        assertEquals(List.of(4, 5, 6), second.stream().map(RenewalEntry::id).toList());
+    }
+
+    @Test
+    void moveAndRemoveKeepTheIndexConsistent() {
+        index.move(1, null, DAY);
+        index.move(2, null, DAY);
+        index.move(1, DAY, DAY.plusDays(5));
+        index.move(2, DAY, null);
+        index.move(2, DAY, null); // removing twice is harmless
+        index.move(1, null, DAY.plusDays(5)); // so is adding twice
+
+        assertEquals(1, index.size());
+        assertTrue(index.page(DAY, DAY, null, 0, 10).isEmpty());
+        assertEquals(List.of(new RenewalEntry(1, DAY.plusDays(5))), index.page(DAY, DAY.plusDays(30), null, 0, 10));
+    }
+
+    @Test
+    void loadMergesEachPageIntoTheDayBuckets() {
+        // 250 subscriptions over 3 days, loaded 100 at a time
+        List<RenewalEntry> rows = IntStream.rangeClosed(1, 250)
+                .mapToObj(id -> new RenewalEntry(id, DAY.plusDays(id % 3)))
+                .toList();
+        SubscriptionRepository repository = mock(SubscriptionRepository.class);
+        when(repository.findRenewalEntriesAfter(anyInt(), any(Limit.class))).thenAnswer(invocation -> {
+            int afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return rows.stream().filter(row -> row.id() > afterId).limit(limit.max()).toList();
+        });
+        RenewalCalendarIndex loading = new RenewalCalendarIndex(repository, new SimpleMeterRegistry(), true, 100);
+        // Changed before the loader got to it: the event's state wins
+        loading.move(7, null, DAY.plusDays(10));
+
+        loading.load();
+
+        assertTrue(loading.isReady());
+        assertEquals(250, loading.size());
+        List<RenewalEntry> all = new ArrayList<>();
+        List<RenewalEntry> page = loading.page(DAY, DAY.plusDays(10), null, 0, 40);
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            RenewalEntry last = page.get(page.size() - 1);
+            page = loading.page(DAY, DAY.plusDays(10), last.nextRenewalDate(), last.id(), 40);
+        }
+        List<RenewalEntry> expected = rows.stream()
+                .map(row -> row.id() == 7 ? new RenewalEntry(7, DAY.plusDays(10)) : row)
+                .sorted(Comparator.comparing(RenewalEntry::nextRenewalDate).thenComparingInt(RenewalEntry::id))
+                .toList();
+        assertEquals(expected, all);
+    }
+}
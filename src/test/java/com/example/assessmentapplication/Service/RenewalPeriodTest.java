@@ -0,0 +1,33 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class RenewalPeriodTest {
+
+    @Test
+    void periodComesFromThePlanName() {
+        assertEquals(RenewalPeriod.YEARLY, RenewalPeriod.forPlan("Annual Premium"));
+        assertEquals(RenewalPeriod.YEARLY, RenewalPeriod.forPlan("Yearly Family"));
+        assertEquals(RenewalPeriod.QUARTERLY, RenewalPeriod.forPlan("Quarterly"));
+        assertEquals(RenewalPeriod.WEEKLY, RenewalPeriod.forPlan("Weekly pass"));
+        assertEquals(RenewalPeriod.MONTHLY, RenewalPeriod.forPlan("Premium 4K"));
+        assertEquals(RenewalPeriod.MONTHLY, RenewalPeriod.forPlan(null));
+    }
+
+    @Test
+    void skipsEveryMissedPeriodWithoutDrifting() {
+        LocalDate jan31 = LocalDate.of(2025, 1, 31);
+
+        // Feb 28 is before Mar 10, so it keeps going; Mar 31, not Mar 28
+        assertEquals(LocalDate.of(2025, 3, 31), RenewalPeriod.MONTHLY.nextOnOrAfter(jan31, LocalDate.of(2025, 3, 10)));
+        assertEquals(LocalDate.of(2025, 3, 10),
+                RenewalPeriod.WEEKLY.nextOnOrAfter(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 10)));
+        assertEquals(LocalDate.of(2026, 1, 31), RenewalPeriod.YEARLY.nextOnOrAfter(jan31, LocalDate.of(2025, 6, 1)));
+        // Not due yet: unchanged
+        assertEquals(jan31, RenewalPeriod.QUARTERLY.nextOnOrAfter(jan31, LocalDate.of(2025, 1, 1)));
+    }
+}
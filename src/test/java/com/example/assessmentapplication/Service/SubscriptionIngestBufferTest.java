@@ -0,0 +1,146 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.dto.IngestStatus;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SubscriptionIngestBufferTest {
+
+    private final SubscriptionBatchWriter batchWriter = mock(SubscriptionBatchWriter.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private final List<Integer> groupSizes = new ArrayList<>();
+    private SubscriptionIngestBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(1));
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<PendingSubscription> pending = invocation.getArgument(0);
+            writerBlocked.countDown();
+            releaseWriter.await();
+            synchronized (groupSizes) {
+                groupSizes.add(pending.size());
+            }
+            pending.forEach(item -> item.subscription().setId(groupSizes.size()));
+            return pending.stream().map(PendingSubscription::subscription).toList();
+        });
+        buffer = new SubscriptionIngestBuffer(batchWriter, userRepository, new SimpleMeterRegistry(),
+                4, 2, Duration.ofMillis(10), Duration.ofSeconds(3), Duration.ofMinutes(1), Duration.ofSeconds(10));
+        buffer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWriter.countDown();
+        buffer.stop();
+    }
+
+    @Test
+    void fullQueueRejectsWithRetryAfter() throws InterruptedException {
+        buffer.submit(1, subscription());
+        buffer.submit(1, subscription());
+        assertEquals(true, writerBlocked.await(5, TimeUnit.SECONDS)); // the writer is stuck on the first group
+
+        // The writer may have woken after max-delay with only the first row
+        while (buffer.queued() < 4) {
+            buffer.submit(1, subscription());
+        }
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class,
+                () -> buffer.submit(1, subscription()));
+        assertEquals(3, busy.getRetryAfterSeconds());
+        assertEquals(4, buffer.queued());
+    }
+
+    @Test
+    void stopWritesEverythingQueued() throws InterruptedException {
+        List<IngestStatus> submitted = new ArrayList<>();
+        submitted.add(buffer.submit(1, subscription()));
+        submitted.add(buffer.submit(1, subscription()));
+        writerBlocked.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            submitted.add(buffer.submit(1, subscription()));
+        }
+
+        releaseWriter.countDown();
+        buffer.stop();
+
+        assertEquals(0, buffer.queued());
+        assertEquals(5, groupSizes.stream().mapToInt(Integer::intValue).sum());
+        for (IngestStatus status : submitted) {
+            assertEquals(IngestStatus.State.WRITTEN, buffer.status(status.ticket()).state());
+        }
+        assertThrows(ServiceBusyException.class, () -> buffer.submit(1, subscription()));
+    }
+
+    @Test
+    void rowsAcceptedWhileStoppingAreStillWritten() throws InterruptedException {
+        releaseWriter.countDown();
+        // The window (a submit between its accepting check and its enqueue
+        // when stop() starts) is tiny, so race it many times
+        for (int round = 0; round < 200; round++) {
+            SubscriptionIngestBuffer stopping = new SubscriptionIngestBuffer(batchWriter, userRepository,
+                    new SimpleMeterRegistry(), 100_000, 2, Duration.ofMillis(1), Duration.ofSeconds(3),
+                    Duration.ofMinutes(1), Duration.ofSeconds(10));
+            stopping.start();
+            List<IngestStatus> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> submitters = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread submitter = new Thread(() -> {
+                    try {
+                        go.await();
+                        while (true) {
+                            accepted.add(stopping.submit(1, subscription()));
+                        }
+                    } catch (ServiceBusyException | InterruptedException stopped) {
+                        // Stopped accepting
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            go.countDown();
+            stopping.stop();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            for (IngestStatus status : accepted) {
+                assertEquals(IngestStatus.State.WRITTEN, stopping.status(status.ticket()).state(),
+                        "round " + round + ": an accepted row was never written");
+            }
+        }
+    }
+
+    private static Subscription subscription() {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName("Netflix");
+        subscription.setPlanType("Basic");
+        subscription.setAmount(new BigDecimal("4.99"));
+        return subscription;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.assessmentapplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.assessmentapplication.dto.SearchEntry;
+import com.example.assessmentapplication.dto.SearchHit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SubscriptionSearchIndexTest {
+
+    private SubscriptionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // No repository needed: these tests drive the index directly
+        index = new SubscriptionSearchIndex(null, new SimpleMeterRegistry(), true, 100);
+        add(1, "Netflix", "Premium");
+        add(2, "Spotify", "Family");
+        add(3, "Amazon Prime Video", "Basic");
+        add(4, "Netflix", "Basic");
+        add(5, "Spotify", "Premium");
+        add(6, "Netflux", "Premium");
+    }
+
+    @Test
+    void matchesWordPrefixesCaseInsensitively() {
+        assertEquals(List.of(1, 4, 6), ids(index.search("NET", false, false, 0, 10)));
+        assertEquals(List.of(3), ids(index.search("vid", false, false, 0, 10)));
+        assertEquals(List.of(1, 4), ids(index.search("netflix", false, false, 0, 10)));
+    }
+
+    @Test
+    void everyQueryWordHasToMatch() {
+        assertEquals(List.of(1), ids(index.search("netflix prem", false, false, 0, 10)));
+        assertEquals(List.of(5), ids(index.search("premium, spot", false, false, 0, 10)));
+        assertTrue(index.search("spotify basic", false, false, 0, 10).isEmpty());
+    }
+
+    @Test
+    void typoMatchesComeAfterExactOnes() {
+        List<SearchHit> hits = index.search("netflix", true, false, 0, 10);
+
+        assertEquals(List.of(new SearchHit(1, false), new SearchHit(4, false), new SearchHit(6, true)), hits);
+        assertEquals(List.of(new SearchHit(2, true), new SearchHit(5, true)),
+                index.search("spotfy", true, false, 0, 10));
+    }
+
+    @Test
+    void shortWordsAllowNoTypos() {
+        assertEquals(0, SubscriptionSearchIndex.maxTypos(3));
+        assertEquals(1, SubscriptionSearchIndex.maxTypos(7));
+        assertEquals(2, SubscriptionSearchIndex.maxTypos(8));
+        assertTrue(index.search("spx", true, false, 0, 10).isEmpty());
+    }
+
+    @Test
+    void cursorResumesWithinAndAcrossTiers() {
+        List<SearchHit> first = index.search("netflix", true, false, 0, 2);
+        SearchHit last = first.get(1);
+        List<SearchHit> second = index.search("netflix", true, last.fuzzy(), last.id(), 2);
+        SearchHit end = second.get(0);
+
+        assertEquals(List.of(1, 4), ids(first));
+        assertEquals(List.of(new SearchHit(6, true)), second);
+        assertTrue(index.search("netflix", true, end.fuzzy(), end.id(), 2).isEmpty());
+    }
+
+    @Test
+    void replaceMovesASubscriptionBetweenWords() {
+        index.replace(1, new SearchEntry(1, "Netflix", "Premium"), new SearchEntry(1, "Disney Plus", "Premium"));
+        index.replace(4, new SearchEntry(4, "Netflix", "Basic"), null);
+        index.replace(4, new SearchEntry(4, "Netflix", "Basic"), null); // removing twice is harmless
+
+        assertEquals(5, index.size());
+        assertEquals(List.of(6), ids(index.search("net", false, false, 0, 10)));
+        assertEquals(List.of(1), ids(index.search("disney prem", false, false, 0, 10)));
+        assertTrue(index.search("netflix", false, false, 0, 10).isEmpty());
+    }
+
+    @Test
+    void shortPrefixOverManyWordsIntersectsWithARareWord() {
+        // "s" expands to 3000 words ("stream0".."stream2999"), each on its own
+        // list; "gold" is on every 100th of them
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int id = 100 + i;
+            add(id, "Stream" + i, i % 100 == 0 ? "Gold" : "Basic");
+            if (i % 100 == 0) {
+                expected.add(id);
+            }
+        }
+
+        assertEquals(expected, ids(index.search("s gold", false, false, 0, 100)));
+        assertEquals(expected.subList(10, 15), ids(index.search("gold s", false, false, expected.get(9), 5)));
+        // Typo tier: "gols" is one letter off "gold", every hit needed it
+        assertEquals(expected.subList(0, 3), ids(index.search("s gols", true, false, 0, 3)));
+        assertTrue(index.search("s gols", true, false, 0, 3).stream().allMatch(SearchHit::fuzzy));
+    }
+
+    @Test
+    void tokensSplitOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("hbo", "max", "4k"), List.copyOf(SubscriptionSearchIndex.tokens("HBO-Max (4K)")));
+        assertTrue(SubscriptionSearchIndex.tokens(" -- ").isEmpty());
+        assertTrue(index.search(" -- ", true, false, 0, 10).isEmpty());
+    }
+
+    private void add(int id, String serviceName, String planType) {
+        index.replace(id, null, new SearchEntry(id, serviceName, planType));
+    }
+
+    private static List<Integer> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.example.assessmentapplication.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+class AdmissionControlFilterTest {
+
+    private final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 4, 200, 1.5, 0.5,
+            Duration.ofMinutes(1), 1000);
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limit,
+            new TokenBucketRateLimiter(1000, 1000, 100), 1, List.of(), new SimpleMeterRegistry());
+
+    @Test
+    void serverErrorsThatAreNotOverloadKeepTheLimit() throws Exception {
+        // e.g. the search index answering 503 while it loads
+        run((request, response) -> {
+            request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE,
+                    new ServiceBusyException("Search index is still loading", 5));
+            ((MockHttpServletResponse) response).setStatus(503);
+        });
+        run((request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        assertEquals(100, limit.limit());
+    }
+
+    @Test
+    void connectionPoolTimeoutsBackOff() throws Exception {
+        // Handled by an @ExceptionHandler...
+        run((request, response) -> request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE,
+                new CannotCreateTransactionException("Could not open JPA EntityManager",
+                        new SQLTransientConnectionException("Connection is not available, request timed out"))));
+        assertEquals(50, limit.limit());
+
+        // ...or thrown out of the chain
+        assertThrows(CannotCreateTransactionException.class, () -> run((request, response) -> {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager");
+        }));
+        assertEquals(25, limit.limit());
+    }
+
+    private void run(FilterChain chain) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/subscriptions/1"), new MockHttpServletResponse(),
+                chain);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BcryptStrengthCalibratorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void raisesStrengthWhileTheDoubledCostFitsTheTarget() {
+        // 10 ms at 10 -> 20 ms at 11 -> 40 ms at 12 -> 80 ms at 13 (160 ms would not fit)
+        assertEquals(13, BcryptStrengthCalibrator.chooseStrength(10 * MS, Duration.ofMillis(100), 10, 16));
+    }
+
+    @Test
+    void neverGoesBelowMinOrAboveMax() {
+        // A slow machine (e.g. half a CPU) still gets the minimum
+        assertEquals(10, BcryptStrengthCalibrator.chooseStrength(150 * MS, Duration.ofMillis(100), 10, 16));
+        assertEquals(16, BcryptStrengthCalibrator.chooseStrength(MS / 100, Duration.ofSeconds(1), 10, 16));
+    }
+}
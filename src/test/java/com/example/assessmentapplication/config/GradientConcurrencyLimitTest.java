@@ -0,0 +1,63 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimitTest {
+
+    @Test
+    void admitsUpToTheLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 1.5, 0.9, Duration.ZERO, 10);
+
+        assertEquals(1, limit.tryAcquire());
+        assertEquals(2, limit.tryAcquire());
+        assertEquals(0, limit.tryAcquire());
+
+        limit.release(1000, 2, false);
+        assertEquals(2, limit.tryAcquire());
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndShrinksWhenItRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 1.5, 0.9, Duration.ZERO, 10);
+
+        runWindows(limit, 10, TimeUnit.MILLISECONDS.toNanos(10));
+        int grown = limit.limit();
+        assertTrue(grown > 20, "limit should grow, was " + grown);
+
+        // Requests start queueing: 5x the baseline latency
+        runWindows(limit, 10, TimeUnit.MILLISECONDS.toNanos(50));
+        int shrunk = limit.limit();
+        assertTrue(shrunk < grown, grown + " -> " + shrunk);
+
+        // A server error backs off at once
+        limit.tryAcquire();
+        limit.release(1000, 1, true);
+        assertEquals((int) (shrunk * 0.9), limit.limit(), 1);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 1.5, 0.9, Duration.ZERO, 10);
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        }
+        assertEquals(20, limit.limit());
+    }
+
+    // Each window: the limit fully in use, every request taking rttNanos
+    private static void runWindows(GradientConcurrencyLimit limit, int windows, long rttNanos) {
+        for (int window = 0; window < windows; window++) {
+            for (int i = 0; i < 10; i++) {
+                limit.tryAcquire();
+                limit.release(rttNanos, limit.limit(), false);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstrumentedDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SqlStats.stop();
+    }
+
+    @Test
+    void countsStatementsAndRowsOfTheCurrentThread() {
+        JdbcTemplate jdbc = jdbc(Duration.ofMinutes(1));
+        jdbc.execute("CREATE TABLE counted (id INT)");
+
+        SqlStats stats = SqlStats.start();
+        jdbc.batchUpdate("INSERT INTO counted VALUES (?)", List.of(new Object[] { 1 },
+                new Object[] { 2 }, new Object[] { 3 }));
+        jdbc.update("UPDATE counted SET id = id + 10 WHERE id > 1");
+        jdbc.queryForList("SELECT id FROM counted", Integer.class);
+
+        assertEquals(3, stats.statements()); // the batch is one round trip
+        assertEquals(3 + 2 + 3, stats.rows());
+    }
+
+    @Test
+    void slowStatementsAreCounted() {
+        JdbcTemplate jdbc = jdbc(Duration.ZERO); // everything is "slow"
+
+        jdbc.queryForObject("SELECT 1", Integer.class);
+        jdbc.queryForObject("SELECT 2", Integer.class);
+
+        assertEquals(2.0, meterRegistry.get("jdbc.statements.slow").counter().count());
+    }
+
+    private JdbcTemplate jdbc(Duration slowThreshold) {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:instrumented-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        return new JdbcTemplate(new InstrumentedDataSource(h2, new SlowQueryLog(slowThreshold, 1, meterRegistry)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ReactiveDatabaseTest {
+
+    @Test
+    void toR2dbcUrl_h2KeepsDatabaseNameAndSettings() {
+        assertEquals("r2dbc:h2:mem:///testdb", ReactiveDatabase.toR2dbcUrl("jdbc:h2:mem:testdb"));
+        assertEquals("r2dbc:h2:mem:///testdb?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+                ReactiveDatabase.toR2dbcUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;MODE=MySQL"));
+    }
+
+    @Test
+    void toR2dbcUrl_mysqlDropsJdbcDriverParameters() {
+        assertEquals("r2dbc:mysql://localhost:3306/userdb", ReactiveDatabase.toR2dbcUrl(
+                "jdbc:mysql://localhost:3306/userdb?useCursorFetch=true&rewriteBatchedStatements=true"));
+        assertThrows(IllegalStateException.class, () -> ReactiveDatabase.toR2dbcUrl("jdbc:postgresql://db/app"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofMinutes(1),
+                Duration.ZERO, Duration.ofSeconds(1), meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replica1Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica1Connection, routing.getConnection());
+        assertEquals(2.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica-1").counter()
+                .count());
+    }
+
+    @Test
+    void readWriteWorkGoesToThePrimary() throws SQLException {
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void failsOverToTheNextReplicaThenThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        routing.getConnection(); // replica-1
+        assertSame(replica1Connection, routing.getConnection()); // replica-2 failed, skipped from now on
+        assertEquals(1, routing.healthyReplicas());
+        assertSame(replica1Connection, routing.getConnection());
+
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(0, routing.healthyReplicas());
+    }
+
+    @Test
+    void healthCheckBringsAReplicaBack() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("down")).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+        assertSame(primaryConnection, routing.getConnection());
+
+        routing.checkHealth(Duration.ofSeconds(1)); // replica-1 answers again, replica-2 still doesn't
+
+        assertEquals(1, routing.healthyReplicas());
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromThePrimary() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+        routing.getConnection(); // A read-write transaction...
+        TransactionSynchronizationUtils.triggerAfterCommit(); // ...commits
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("bob", null, List.of()));
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void connectionsWithCredentialsAreRoutedTheSameWay() throws SQLException {
+        Connection replicaWithCredentials = mock(Connection.class);
+        Connection primaryWithCredentials = mock(Connection.class);
+        when(replica1.getConnection("reporting", "secret")).thenReturn(replicaWithCredentials);
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryWithCredentials);
+
+        assertSame(primaryWithCredentials, routing.getConnection("reporting", "secret"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaWithCredentials, routing.getConnection("reporting", "secret"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    // 10 per second, bursts of 3
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, now::get);
+
+    @Test
+    void allowsABurstThenRefillsAtTheRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+        long wait = limiter.tryAcquire("alice");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+
+        // Idle long enough, the bucket is full again (and no fuller)
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice");
+        }
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    void chargesSpendAfterTheFactAndCanGoIntoDebt() {
+        assertEquals(0, limiter.waitNanos("10.0.0.1"));
+        for (int i = 0; i < 3; i++) {
+            limiter.charge("10.0.0.1");
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.waitNanos("10.0.0.1"));
+
+        // Charges that raced past the check still count
+        limiter.charge("10.0.0.1");
+        limiter.charge("10.0.0.1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), limiter.waitNanos("10.0.0.1"));
+        assertEquals(0, limiter.waitNanos("10.0.0.2"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(0, limiter.waitNanos("10.0.0.1"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assessmentapplication.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void siteIsTheFirstClassOutsideTheJdk() {
+        List<String> frames = List.of(
+                "jdk.internal.misc.Unsafe.park",
+                "java.util.concurrent.locks.LockSupport.park",
+                "sun.nio.ch.NioSocketImpl.read",
+                "org.h2.engine.SessionRemote.done",
+                "org.h2.command.CommandRemote.executeQuery",
+                "com.example.assessmentapplication.Service.SubscriptionService.getSubscriptionById");
+
+        assertEquals("org.h2.engine.SessionRemote", VirtualThreadPinningMonitor.pinningSite(frames));
+    }
+
+    @Test
+    void pinningInsideTheJdkOnlyIsReportedAsJdk() {
+        assertEquals("jdk", VirtualThreadPinningMonitor.pinningSite(List.of("java.lang.Object.wait0")));
+        assertEquals("jdk", VirtualThreadPinningMonitor.pinningSite(List.of()));
+    }
+}
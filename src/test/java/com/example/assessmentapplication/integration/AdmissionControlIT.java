@@ -0,0 +1,107 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.example.assessmentapplication.Service.UserService;
+import com.example.assessmentapplication.dto.RegisterRequest;
+import com.example.assessmentapplication.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// With all filters, and limits low enough to hit: 2 requests, then one per
+// second; 2 failed logins per address, then one every 10 seconds
+@SpringBootTest(properties = {
+        "app.admission.rate.per-second=1",
+        "app.admission.rate.burst=2",
+        "app.admission.auth-failures.per-second=0.1",
+        "app.admission.auth-failures.burst=2"
+})
+@AutoConfigureMockMvc
+public class AdmissionControlIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testUserOverTheRateLimitGets429() throws Exception {
+        User alice = saveUser("admission-alice-");
+        User bob = saveUser("admission-bob-");
+        double rejectedBefore = rejected();
+
+        mockMvc.perform(subscriptions(alice)).andExpect(status().isOk());
+        mockMvc.perform(subscriptions(alice)).andExpect(status().isOk());
+        mockMvc.perform(subscriptions(alice))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        // Other users have their own budget
+        mockMvc.perform(subscriptions(bob)).andExpect(status().isOk());
+        assertEquals(rejectedBefore + 1, rejected());
+    }
+
+    @Test
+    public void testAddressWithTooManyFailedLoginsIsTurnedAwayBeforeAuthentication() throws Exception {
+        User carol = saveUser("admission-carol-");
+        double rejectedBefore = meterRegistry.get("admission.rejected").tag("reason", "auth-failures")
+                .counter().count();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/subscriptions/user/{userId}", carol.getId())
+                    .with(httpBasic(carol.getUsername(), "wrong")).with(from("10.9.0.1")))
+                    .andExpect(status().isUnauthorized());
+        }
+        // Not even the right password is checked from there for a while
+        mockMvc.perform(subscriptions(carol).with(from("10.9.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+
+        // Failed logins count against the address, not the user
+        mockMvc.perform(subscriptions(carol).with(from("10.9.0.2"))).andExpect(status().isOk());
+        assertEquals(rejectedBefore + 1, meterRegistry.get("admission.rejected").tag("reason", "auth-failures")
+                .counter().count());
+    }
+
+    @Test
+    public void testExcludedPathsAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        }
+    }
+
+    private double rejected() {
+        return meterRegistry.get("admission.rejected").tag("reason", "rate").counter().count();
+    }
+
+    private static MockHttpServletRequestBuilder subscriptions(User user) {
+        return get("/api/subscriptions/user/{userId}", user.getId()).with(httpBasic(user.getUsername(), "secret"));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private User saveUser(String prefix) {
+        return userService.registerUser(new RegisterRequest(prefix + System.nanoTime(), "secret"));
+    }
+}
@@ -1,7 +1,14 @@
 package com.example.assessmentapplication.integration;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -12,11 +19,18 @@ import org.junit.jupiter.api.Test; // For the @Test annotation
 import org.springframework.beans.factory.annotation.Autowired; // To inject dependencies
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc; // Setup MockMvc
 import org.springframework.boot.test.context.SpringBootTest; // Load the full application context
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc; // Simulate HTTP requests
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
 import com.example.assessmentapplication.Repository.SubscriptionRepository;
 import com.example.assessmentapplication.Repository.UserRepository;
 import com.example.assessmentapplication.entity.Subscription;
 import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @SpringBootTest // "Hey Spring, start up the whole application for this test!"
 @AutoConfigureMockMvc(addFilters = false) // "Also, please set up a fake browser (MockMvc) for us to use."
@@ -31,11 +45,20 @@ public class AnalyticsControllerIT {
     @Autowired
     SubscriptionRepository subscriptionRepository;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebApplicationContext context;
+
     @Test
     @SuppressWarnings({ "null" }) // Didnt understand this
     public void testGetUpcomingRenewals() throws Exception {
         User user = new User();
-        user.setUsername("John Doe");
+        user.setUsername("John Doe " + System.nanoTime());
         user.setPassword("password");
         User savedUser = userRepository.save(user);
 
@@ -68,7 +91,7 @@ public class AnalyticsControllerIT {
     public void testGetTotalAmountForUser() throws Exception // Why do we need this?
     {
         User user = new User();
-        user.setUsername("John Doe");
+        user.setUsername("John Doe " + System.nanoTime());
         user.setPassword("password");
         User savedUser = userRepository.save(user);
 
@@ -95,4 +118,134 @@ public class AnalyticsControllerIT {
                 .andExpect(jsonPath("$", is(30.0)));
     }
 
+    @Test
+    public void testTotalAmountIsCachedAndInvalidatedByWrites() throws Exception {
+        User user = new User();
+        user.setUsername("Cached Totals " + System.nanoTime());
+        user.setPassword("password");
+        User savedUser = userRepository.save(user);
+
+        int first = createSubscription(savedUser.getId(), "Netflix", "10.00", LocalDate.now().plusDays(1));
+        mockMvc.perform(get("/api/analytics/totalAmount/" + savedUser.getId()))
+                .andExpect(jsonPath("$", is(10.0)));
+
+        double hitsBefore = cacheHits("analytics.totalAmount");
+        mockMvc.perform(get("/api/analytics/totalAmount/" + savedUser.getId()))
+                .andExpect(jsonPath("$", is(10.0)));
+        assertEquals(hitsBefore + 1, cacheHits("analytics.totalAmount"));
+
+        // Each write evicts the owner's entry, so the next read is fresh
+        createSubscription(savedUser.getId(), "Prime Video", "20.00", LocalDate.now().plusDays(30));
+        mockMvc.perform(get("/api/analytics/totalAmount/" + savedUser.getId()))
+                .andExpect(jsonPath("$", is(30.0)));
+
+        mockMvc.perform(delete("/api/subscriptions/" + first)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analytics/totalAmount/" + savedUser.getId()))
+                .andExpect(jsonPath("$", is(20.0)));
+    }
+
+    @Test
+    public void testUpcomingRenewalsAreInvalidatedByUpdate() throws Exception {
+        User user = new User();
+        user.setUsername("Cached Renewals " + System.nanoTime());
+        user.setPassword("password");
+        User savedUser = userRepository.save(user);
+
+        int id = createSubscription(savedUser.getId(), "Netflix", "10.00", LocalDate.now().plusDays(2));
+        mockMvc.perform(get("/api/analytics/upcomingRenewals/" + savedUser.getId()))
+                .andExpect(jsonPath("$.length()", is(1)));
+
+        // Move the renewal out of the 7-day window
+        mockMvc.perform(put("/api/subscriptions/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson("Netflix", "10.00", LocalDate.now().plusDays(40))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/analytics/upcomingRenewals/" + savedUser.getId()))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    public void testGlobalRenewalWindowIsPaginatedAcrossUsers() throws Exception {
+        // A window far in the future that no other test writes to
+        LocalDate from = LocalDate.of(2300, 1, 1).plusDays(System.nanoTime() % 10000);
+        int alice = saveUser("Renewals A " + System.nanoTime());
+        int bob = saveUser("Renewals B " + System.nanoTime());
+
+        int a1 = createSubscription(alice, "Netflix", "10.00", from.plusDays(1));
+        int b1 = createSubscription(bob, "Spotify", "5.00", from);
+        int b2 = createSubscription(bob, "Prime Video", "7.00", from.plusDays(2));
+        createSubscription(alice, "Hotstar", "3.00", from.plusDays(9)); // outside the window
+
+        String to = from.plusDays(2).toString();
+        String cursor = mockMvc.perform(get("/api/admin/renewals")
+                .param("from", from.toString()).param("to", to).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(b1)))
+                .andExpect(jsonPath("$[1].id", is(a1)))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        String last = mockMvc.perform(get("/api/admin/renewals")
+                .param("from", from.toString()).param("to", to).param("size", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(b2)))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        assertNull(last);
+
+        // Moving a renewal out of the window takes it out of the index
+        mockMvc.perform(put("/api/subscriptions/" + a1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson("Netflix", "10.00", from.plusDays(30))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/renewals").param("from", from.toString()).param("to", to))
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    public void testGlobalRenewalWindowRejectsReversedDates() throws Exception {
+        mockMvc.perform(get("/api/admin/renewals").param("from", "2030-01-10").param("to", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/renewals").param("from", "not-a-date"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGlobalRenewalWindowNeedsAdmin() throws Exception {
+        MockMvc securedMockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        securedMockMvc.perform(get("/api/admin/renewals").with(user("renewals-user").roles("USER")))
+                .andExpect(status().isForbidden());
+        securedMockMvc.perform(get("/api/admin/renewals").with(user("renewals-admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    private int saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user).getId();
+    }
+
+    private int createSubscription(int userId, String serviceName, String amount, LocalDate renewal)
+            throws Exception {
+        String response = mockMvc.perform(post("/api/subscriptions/user/" + userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson(serviceName, amount, renewal)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = objectMapper.readTree(response);
+        return created.get("id").asInt();
+    }
+
+    private String subscriptionJson(String serviceName, String amount, LocalDate renewal) {
+        return """
+                {"serviceName":"%s","planType":"Premium","amount":%s,"nextRenewalDate":"%s"}
+                """.formatted(serviceName, amount, renewal);
+    }
+
+    private double cacheHits(String cacheName) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", "hit")
+                .functionCounter().count();
+    }
+
 }
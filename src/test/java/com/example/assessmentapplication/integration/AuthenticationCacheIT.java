@@ -0,0 +1,118 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.UserService;
+import com.example.assessmentapplication.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false) // Same context as the other ITs
+public class AuthenticationCacheIT {
+
+    // Any authenticated endpoint that runs exactly one query of its own
+    private static final String PROBE_URL = "/api/subscriptions/2147483647";
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    private MockMvc securedMockMvc; // Unlike the shared MockMvc, this one runs the security filters
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        securedMockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void testCachedCredentialsSkipTheUserQuery() throws Exception {
+        String username = "auth-" + System.nanoTime();
+        saveUser(username, "secret");
+
+        // Cold: the user lookup plus the endpoint's own query
+        assertEquals(2, statementsFor(1, username, "secret"));
+
+        // Warm: only the endpoint's query, one per request
+        assertEquals(20, statementsFor(20, username, "secret"));
+    }
+
+    @Test
+    void testPasswordChangeEvictsTheCachedCredentials() throws Exception {
+        String username = "auth-change-" + System.nanoTime();
+        saveUser(username, "old");
+        statementsFor(1, username, "old"); // Now cached
+
+        userService.changePassword(username, "new");
+
+        securedMockMvc.perform(get(PROBE_URL).with(httpBasic(username, "old")))
+                .andExpect(status().isUnauthorized());
+        securedMockMvc.perform(get(PROBE_URL).with(httpBasic(username, "new")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUnknownUsersAreRejectedAndNotCached() throws Exception {
+        String username = "ghost-" + System.nanoTime();
+        securedMockMvc.perform(get(PROBE_URL).with(httpBasic(username, "secret")))
+                .andExpect(status().isUnauthorized());
+
+        // Registering the name afterwards works straight away
+        saveUser(username, "secret");
+        securedMockMvc.perform(get(PROBE_URL).with(httpBasic(username, "secret")))
+                .andExpect(status().isNotFound());
+    }
+
+    private long statementsFor(int requests, String username, String password) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        for (int i = 0; i < requests; i++) {
+            securedMockMvc.perform(get(PROBE_URL).with(httpBasic(username, password)))
+                    .andExpect(status().isNotFound());
+        }
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private User saveUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode(password));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.ChangeFeed;
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+// Own database so the offsets only count this test's writes; a tiny replay
+// buffer so "too far behind" is easy to reach
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changefeed;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "app.change-feed.poll-interval=20ms",
+        "app.change-feed.replay-size=5"
+})
+@AutoConfigureMockMvc(addFilters = false)
+public class ChangeFeedIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    public void testChangesStreamLiveInCommitOrder() throws Exception {
+        User user = saveUser("feed-" + System.nanoTime());
+        MvcResult stream = open(get("/api/subscriptions/changes"));
+
+        SubscriptionResponse created = subscriptionService.createSubscription(user.getId(), subscription("Netflix"));
+        subscriptionService.updateSubscription(created.id(), subscription("Netflix 4K"));
+        subscriptionService.deleteById(created.id());
+
+        String body = await(stream, content -> content.contains("\"DELETED\""));
+        assertTrue(body.contains("event:changes"));
+        int createdAt = body.indexOf("\"CREATED\"");
+        int updatedAt = body.indexOf("\"UPDATED\"");
+        assertTrue(createdAt >= 0 && createdAt < updatedAt && updatedAt < body.indexOf("\"DELETED\""), body);
+        assertTrue(body.contains("\"serviceName\":\"Netflix 4K\""));
+    }
+
+    @Test
+    public void testReconnectReplaysMissedChanges() throws Exception {
+        User user = saveUser("feed-resume-" + System.nanoTime());
+        long seen = awaitHeadAfter(() -> subscriptionService.createSubscription(user.getId(), subscription("Hulu")));
+        awaitHeadAfter(() -> subscriptionService.createSubscription(user.getId(), subscription("Max")));
+
+        MvcResult stream = open(get("/api/subscriptions/changes").header("Last-Event-ID", seen));
+
+        String body = await(stream, content -> content.contains("\"Max\""));
+        assertFalse(body.contains("\"Hulu\""), "changes up to Last-Event-ID are not sent again");
+    }
+
+    @Test
+    public void testClientBehindTheReplayBufferIsReset() throws Exception {
+        User user = saveUser("feed-reset-" + System.nanoTime());
+        long before = changeFeed.head();
+        for (int i = 0; i < 6; i++) {
+            String name = "Service " + i;
+            awaitHeadAfter(() -> subscriptionService.createSubscription(user.getId(), subscription(name)));
+        }
+
+        MvcResult stream = open(get("/api/subscriptions/changes").param("after", Long.toString(before)));
+
+        String body = await(stream, content -> content.contains("event:reset"));
+        assertTrue(body.contains("id:" + changeFeed.head()), body);
+    }
+
+    @Test
+    public void testUserFilter() throws Exception {
+        User alice = saveUser("feed-alice-" + System.nanoTime());
+        User bob = saveUser("feed-bob-" + System.nanoTime());
+        MvcResult stream = open(get("/api/subscriptions/changes").param("userId", Integer.toString(bob.getId())));
+
+        subscriptionService.createSubscription(alice.getId(), subscription("Alice TV"));
+        subscriptionService.createSubscription(bob.getId(), subscription("Bob TV"));
+
+        String body = await(stream, content -> content.contains("\"Bob TV\""));
+        assertFalse(body.contains("\"Alice TV\""));
+    }
+
+    @Test
+    public void testRelayKeepsRunningWhileAnotherScheduledJobIsBusy() throws Exception {
+        User user = saveUser("feed-busy-" + System.nanoTime());
+        // Stands in for a nightly job holding a scheduler thread for minutes
+        CountDownLatch nightlyJobDone = new CountDownLatch(1);
+        taskScheduler.schedule(() -> {
+            try {
+                nightlyJobDone.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Instant.now());
+        try {
+            awaitHeadAfter(() -> subscriptionService.createSubscription(user.getId(), subscription("Busy TV")));
+        } finally {
+            nightlyJobDone.countDown();
+        }
+    }
+
+    @Test
+    public void testEveryUsersStreamNeedsAdmin() throws Exception {
+        MockMvc securedMockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        securedMockMvc.perform(get("/api/subscriptions/changes").with(user("feed-user").roles("USER")))
+                .andExpect(status().isForbidden());
+        securedMockMvc.perform(get("/api/subscriptions/changes").param("userId", "1")
+                .with(user("feed-user").roles("USER")))
+                .andExpect(request().asyncStarted());
+        securedMockMvc.perform(get("/api/subscriptions/changes").with(user("feed-admin").roles("ADMIN")))
+                .andExpect(request().asyncStarted());
+    }
+
+    private MvcResult open(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String await(MvcResult stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!condition.test(body)) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out, got: " + body);
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    // Runs a write and waits for the relay to pick it up; returns the new head
+    private long awaitHeadAfter(Runnable write) throws InterruptedException {
+        long before = changeFeed.head();
+        write.run();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (changeFeed.head() == before) {
+            assertTrue(System.currentTimeMillis() < deadline, "relay didn't pick up the change");
+            Thread.sleep(20);
+        }
+        return changeFeed.head();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private static Subscription subscription(String serviceName) {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName(serviceName);
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("9.99"));
+        return subscription;
+    }
+}
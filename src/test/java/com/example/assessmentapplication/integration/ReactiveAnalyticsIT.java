@@ -0,0 +1,160 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.ReactiveAnalyticsService;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * The reactive analytics endpoints must answer exactly like the blocking
+ * ones in AnalyticsController, for the same user and the same data.
+ */
+@SpringBootTest(properties = "app.reactive.threads=2")
+@AutoConfigureMockMvc(addFilters = false)
+class ReactiveAnalyticsIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    ReactiveAnalyticsService reactiveAnalyticsService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void upcomingRenewals_matchBlockingEndpoint() throws Exception {
+        int userId = seedUser();
+
+        JsonNode blocking = json(mockMvc.perform(get("/api/analytics/upcomingRenewals/" + userId))
+                .andExpect(status().isOk()).andReturn());
+        JsonNode reactive = json(async(get("/api/analytics/reactive/upcomingRenewals/" + userId)));
+
+        assertEquals(3, blocking.size()); // Today, +3 and +7 days; +8 is outside the window
+        assertEquals(sortedById(blocking), sortedById(reactive));
+    }
+
+    @Test
+    void totalAmount_matchesBlockingEndpoint() throws Exception {
+        int userId = seedUser();
+
+        String blocking = mockMvc.perform(get("/api/analytics/totalAmount/" + userId))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String reactive = async(get("/api/analytics/reactive/totalAmount/" + userId)).getResponse()
+                .getContentAsString();
+
+        assertEquals(0, new BigDecimal("52.74").compareTo(new BigDecimal(blocking)));
+        assertEquals(0, new BigDecimal(blocking).compareTo(new BigDecimal(reactive)));
+    }
+
+    @Test
+    void totalAmount_userWithoutSubscriptions_isZero() throws Exception {
+        String reactive = async(get("/api/analytics/reactive/totalAmount/" + Integer.MAX_VALUE)).getResponse()
+                .getContentAsString();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(new BigDecimal(reactive)));
+    }
+
+    @Test
+    void upcomingRenewals_streamAsNdjsonInRenewalOrder() throws Exception {
+        int userId = seedUser();
+
+        String body = async(get("/api/analytics/reactive/upcomingRenewals/" + userId)
+                .accept(MediaType.APPLICATION_NDJSON)).getResponse().getContentAsString();
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (String line : body.strip().split("\n")) {
+            dates.add(LocalDate.parse(objectMapper.readTree(line).get("nextRenewalDate").asText()));
+        }
+        assertEquals(List.of(LocalDate.now(), LocalDate.now().plusDays(3), LocalDate.now().plusDays(7)), dates);
+    }
+
+    @Test
+    void queriesRunOnTheFixedSchedulerWhateverTheConcurrency() {
+        int userId = seedUser();
+
+        // 200 requests in flight at once, all served by the same two threads
+        Set<String> threads = Flux.range(0, 200)
+                .flatMap(i -> reactiveAnalyticsService.getUpcomingRenewals(userId)
+                        .map(renewal -> Thread.currentThread().getName()), 200)
+                .collect(Collectors.toSet())
+                .block();
+
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("reactive-db")), threads.toString());
+        assertTrue(threads.size() <= 2, threads.toString());
+    }
+
+    private MvcResult async(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static List<JsonNode> sortedById(JsonNode array) {
+        List<JsonNode> items = new ArrayList<>();
+        array.forEach(items::add);
+        items.sort(Comparator.comparingInt(node -> node.get("id").asInt()));
+        return items;
+    }
+
+    private int seedUser() {
+        User user = new User();
+        user.setUsername("reactive-" + System.nanoTime());
+        user.setPassword("password");
+        User saved = userRepository.save(user);
+        // Saved out of date order, so the stream's ORDER BY shows
+        subscribe(saved, "Spotify", 7, "9.99");
+        subscribe(saved, "Netflix", 0, "15.49");
+        subscribe(saved, "Dropbox", 8, "11.99");
+        subscribe(saved, "iCloud", 3, "15.27");
+        return saved.getId();
+    }
+
+    private void subscribe(User user, String serviceName, int daysFromNow, String amount) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(user);
+        subscription.setServiceName(serviceName);
+        subscription.setPlanType("Premium");
+        subscription.setNextRenewalDate(LocalDate.now().plusDays(daysFromNow));
+        subscription.setAmount(new BigDecimal(amount));
+        subscriptionRepository.save(subscription);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.Service.UserService;
+import com.example.assessmentapplication.dto.RegisterRequest;
+
+/**
+ * Read replica routing with two H2 databases standing in for the primary and
+ * the replica. Nothing replicates between them, so a row written to only
+ * one of them shows which database served a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIT.PRIMARY_URL,
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingIT.REPLICA_URL,
+        "app.datasource.replicas.read-your-writes-window=1m"
+})
+class ReadReplicaRoutingIT {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    SubscriptionService subscriptionService;
+
+    // In production the replica gets its schema through replication
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadTheReplica() {
+        String username = "replica-only-" + System.nanoTime();
+        replica.update("INSERT INTO users (username, password, role) VALUES (?, 'x', 'USER')", username);
+        int userId = replica.queryForObject("SELECT id FROM users WHERE username = ?", Integer.class, username);
+        replica.update("INSERT INTO subscriptions (id, user_id, service_name, plan_type, amount, currency)"
+                + " VALUES (NEXT VALUE FOR subscriptions_seq, ?, 'Netflix', 'Premium', 12.50, 'USD')", userId);
+
+        assertNotNull(userService.findByUsername(username));
+        assertEquals(0, new BigDecimal("12.50").compareTo(subscriptionService.calculateTotalAmount(userId)));
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        String username = "writer-" + System.nanoTime();
+        userService.registerUser(user(username));
+
+        assertEquals(1, count(primary, username));
+        assertEquals(0, count(replica, username));
+        // Anonymous, so not pinned: the read goes to the replica, which
+        // hasn't "caught up"
+        assertNull(userService.findByUsername(username));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        String username = "new-user-" + System.nanoTime();
+        authenticateAs("alice");
+        userService.registerUser(user(username));
+
+        assertNotNull(userService.findByUsername(username)); // alice is pinned to the primary
+
+        authenticateAs("bob");
+        assertNull(userService.findByUsername(username)); // bob still reads the replica
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String username) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, username);
+    }
+
+    private static RegisterRequest user(String username) {
+        return new RegisterRequest(username, "password");
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+}
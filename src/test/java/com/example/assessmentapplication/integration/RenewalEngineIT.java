@@ -0,0 +1,164 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.assessmentapplication.Repository.JobLeaseRepository;
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.JobLeaseService;
+import com.example.assessmentapplication.Service.RenewalEngine;
+import com.example.assessmentapplication.dto.RenewalRunReport;
+import com.example.assessmentapplication.entity.JobLease;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.example.assessmentapplication.exception.ConflictException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Own database: a renewal run touches every due subscription, not just this
+// test's. Two partitions and a chunk size of 2 so a few rows span chunks.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:renewals;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "app.renewals.partitions=2",
+        "app.renewals.chunk-size=2"
+})
+public class RenewalEngineIT {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RenewalEngine renewalEngine;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private JobLeaseService leaseService;
+
+    @BeforeEach
+    public void setUp() {
+        subscriptionRepository.deleteAll();
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    public void testPassedRenewalsMoveForwardByPlanPeriod() {
+        User user = saveUser("renew-" + System.nanoTime());
+        int monthly = saveSubscription(user, "Premium", TODAY.minusDays(1));
+        int yearly = saveSubscription(user, "Annual", TODAY.minusDays(1));
+        int weekly = saveSubscription(user, "Weekly", TODAY.minusWeeks(3).minusDays(1));
+        int upcoming = saveSubscription(user, "Premium", TODAY.plusDays(3));
+        int renewsToday = saveSubscription(user, "Premium", TODAY);
+        double renewedBefore = meterRegistry.get("renewals.subscriptions").counter().count();
+
+        RenewalRunReport report = renewalEngine.runOnce();
+
+        assertEquals(3, report.subscriptionsRenewed());
+        assertEquals(2, report.partitionsProcessed());
+        assertEquals(TODAY.minusDays(1).plusMonths(1), renewalDate(monthly));
+        assertEquals(TODAY.minusDays(1).plusYears(1), renewalDate(yearly));
+        assertEquals(TODAY.minusWeeks(3).minusDays(1).plusWeeks(4), renewalDate(weekly));
+        assertEquals(TODAY.plusDays(3), renewalDate(upcoming));
+        assertEquals(TODAY, renewalDate(renewsToday));
+        assertEquals(3, meterRegistry.get("renewals.subscriptions").counter().count() - renewedBefore);
+
+        assertEquals(0, renewalEngine.runOnce().subscriptionsRenewed()); // Nothing is due any more
+    }
+
+    @Test
+    public void testPartitionLeasedByAnotherNodeIsSkipped() {
+        // Consecutive ids, so one user lands in each of the two partitions
+        User first = saveUser("renew-a-" + System.nanoTime());
+        User second = saveUser("renew-b-" + System.nanoTime());
+        User even = first.getId() % 2 == 0 ? first : second;
+        User odd = even == first ? second : first;
+        int evenSubscription = saveSubscription(even, "Premium", TODAY.minusDays(2));
+        int oddSubscription = saveSubscription(odd, "Premium", TODAY.minusDays(2));
+
+        // Another node is working on partition 0
+        leaseRepository.save(new JobLease("renewals-0", "other-node", System.currentTimeMillis() + 60_000));
+
+        RenewalRunReport report = renewalEngine.runOnce();
+
+        assertEquals(1, report.partitionsSkipped());
+        assertEquals(1, report.partitionsProcessed());
+        assertEquals(TODAY.minusDays(2), renewalDate(evenSubscription));
+        assertEquals(TODAY.minusDays(2).plusMonths(1), renewalDate(oddSubscription));
+        assertEquals("other-node", leaseRepository.findById("renewals-0").orElseThrow().getOwner());
+        assertNull(leaseRepository.findById("renewals-1").orElseThrow().getOwner()); // Released after the run
+    }
+
+    @Test
+    public void testSecondRunOnTheSameNodeIsRejectedWhileTheFirstIsGoing() throws Exception {
+        User user = saveUser("renew-overlap-" + System.nanoTime());
+        int subscription = saveSubscription(user, "Premium", TODAY.minusDays(1));
+        CountDownLatch firstRunStarted = new CountDownLatch(1);
+        CountDownLatch secondRunRejected = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstRunStarted.countDown();
+            secondRunRejected.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(leaseService).tryAcquire(anyString(), any());
+
+        CompletableFuture<RenewalRunReport> first = CompletableFuture.supplyAsync(renewalEngine::runOnce);
+        assertTrue(firstRunStarted.await(10, TimeUnit.SECONDS));
+        // Same node, so the same lease owner: without the guard this run
+        // would claim the partitions the first one is working on
+        assertThrows(ConflictException.class, renewalEngine::runOnce);
+        secondRunRejected.countDown();
+
+        RenewalRunReport report = first.get(10, TimeUnit.SECONDS);
+        assertEquals(2, report.partitionsProcessed());
+        assertEquals(1, report.subscriptionsRenewed());
+        assertEquals(TODAY.minusDays(1).plusMonths(1), renewalDate(subscription));
+        assertEquals(0, renewalEngine.runOnce().subscriptionsRenewed()); // Free again afterwards
+    }
+
+    private LocalDate renewalDate(int subscriptionId) {
+        return subscriptionRepository.findResponseById(subscriptionId).orElseThrow().nextRenewalDate();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private int saveSubscription(User user, String planType, LocalDate nextRenewalDate) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(user);
+        subscription.setServiceName("Service");
+        subscription.setPlanType(planType);
+        subscription.setAmount(new BigDecimal("9.99"));
+        subscription.setNextRenewalDate(nextRenewalDate);
+        return subscriptionRepository.save(subscription).getId();
+    }
+}
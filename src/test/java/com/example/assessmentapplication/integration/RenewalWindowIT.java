@@ -0,0 +1,74 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+// "Today" is pinned, so the default windows are known exactly. Own database,
+// so nobody else's renewals fall into them.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:renewalwindow;DB_CLOSE_DELAY=-1;MODE=MySQL")
+public class RenewalWindowIT {
+
+    private static final LocalDate TODAY = LocalDate.of(2031, 3, 10);
+
+    @TestConfiguration
+    static class FixedClock {
+        @Bean
+        @Primary
+        Clock fixedClock() {
+            return Clock.fixed(TODAY.atTime(9, 30).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        }
+    }
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testDefaultWindowsIncludeTodayAndTheSeventhDay() {
+        User user = new User();
+        user.setUsername("window-" + System.nanoTime());
+        user.setPassword("password");
+        int userId = userRepository.save(user).getId();
+
+        createSubscription(userId, TODAY.minusDays(1)); // yesterday: outside
+        int today = createSubscription(userId, TODAY);
+        int lastDay = createSubscription(userId, TODAY.plusDays(7));
+        createSubscription(userId, TODAY.plusDays(8)); // outside
+
+        assertEquals(List.of(today, lastDay), ids(subscriptionService.getUpcomingRenewals(userId)));
+        assertEquals(List.of(today, lastDay), ids(subscriptionService.getRenewalsDue(null, null, null, null).items()));
+    }
+
+    private int createSubscription(int userId, LocalDate nextRenewalDate) {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName("Window TV");
+        subscription.setPlanType("Basic");
+        subscription.setAmount(new BigDecimal("4.99"));
+        subscription.setNextRenewalDate(nextRenewalDate);
+        return subscriptionService.createSubscription(userId, subscription).id();
+    }
+
+    private static List<Integer> ids(List<SubscriptionResponse> subscriptions) {
+        return subscriptions.stream().map(SubscriptionResponse::id).sorted().toList();
+    }
+}
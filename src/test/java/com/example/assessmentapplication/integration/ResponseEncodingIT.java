@@ -0,0 +1,131 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.Service.UserService;
+import com.example.assessmentapplication.dto.RegisterRequest;
+import com.example.assessmentapplication.dto.SubscriptionResponse;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+// A real server, as compression is done by Tomcat, not by Spring MVC. The
+// test properties replace the shipped ones, so compression is switched on here.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:encoding;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "server.compression.enabled=true",
+        "server.compression.min-response-size=2KB"
+})
+public class ResponseEncodingIT {
+
+    private static final String PASSWORD = "secret";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    SubscriptionService subscriptionService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.registerUser(new RegisterRequest("encoding-" + System.nanoTime(), PASSWORD));
+        for (int i = 0; i < 50; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setServiceName("Service " + i);
+            subscription.setPlanType("Premium");
+            subscription.setAmount(new BigDecimal("9.99"));
+            subscriptionService.createSubscription(user.getId(), subscription);
+        }
+    }
+
+    @Test
+    void testJsonStaysTheDefault() throws Exception {
+        HttpResponse<byte[]> response = get(null, null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(contentType(response).startsWith("application/json"), contentType(response));
+        assertEquals(50, new ObjectMapper().readTree(response.body()).size());
+    }
+
+    @Test
+    void testBinaryFormatsCarryTheSameData() throws Exception {
+        byte[] json = get("application/json", null).body();
+        List<SubscriptionResponse> expected = read(new ObjectMapper(), json);
+        assertEquals(50, expected.size());
+
+        HttpResponse<byte[]> cbor = get("application/cbor", null);
+        assertEquals("application/cbor", contentType(cbor));
+        assertEquals(expected, read(new CBORMapper(), cbor.body()));
+
+        HttpResponse<byte[]> smile = get("application/x-jackson-smile", null);
+        assertEquals("application/x-jackson-smile", contentType(smile));
+        assertEquals(expected, read(new SmileMapper(), smile.body()));
+        assertTrue(smile.body().length < json.length, smile.body().length + " vs " + json.length);
+    }
+
+    @Test
+    void testLargeResponsesAreGzipped() throws Exception {
+        HttpResponse<byte[]> plain = get("application/json", null);
+        HttpResponse<byte[]> gzipped = get("application/json", "gzip");
+
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzipped.body().length < plain.body().length);
+        assertEquals(new ObjectMapper().readTree(plain.body()), new ObjectMapper().readTree(gunzip(gzipped.body())));
+    }
+
+    private HttpResponse<byte[]> get(String accept, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/subscriptions/user/" + user.getId() + "?size=50"))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((user.getUsername() + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8)));
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static List<SubscriptionResponse> read(ObjectMapper mapper, byte[] body) throws IOException {
+        return List.of(mapper.findAndRegisterModules().readValue(body, SubscriptionResponse[].class));
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("");
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
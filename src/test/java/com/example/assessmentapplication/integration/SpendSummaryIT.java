@@ -0,0 +1,209 @@
+package com.example.assessmentapplication.integration;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.SpendSummaryReconciler;
+import com.example.assessmentapplication.Service.SubscriptionService;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+public class SpendSummaryIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    SubscriptionService subscriptionService;
+
+    @Autowired
+    SpendSummaryReconciler reconciler;
+
+    // Lets a test pause the reconciler right after its GROUP BY
+    @MockitoSpyBean
+    SubscriptionRepository subscriptionRepository;
+
+    @Test
+    public void testSummaryFollowsCreateUpdateAndDelete() throws Exception {
+        int userId = saveUser("spend-" + System.nanoTime());
+
+        int netflix = createSubscription(userId, "Netflix", "10.00", "USD");
+        createSubscription(userId, "Spotify", "5.50", "USD");
+        createSubscription(userId, "Hotstar", "299.00", "INR");
+
+        // Currencies are reported separately instead of being added together
+        mockMvc.perform(get("/api/analytics/spendByCurrency/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].currency", is("INR")))
+                .andExpect(jsonPath("$[0].subscriptionCount", is(1)))
+                .andExpect(jsonPath("$[0].totalAmount", is(299.0)))
+                .andExpect(jsonPath("$[1].currency", is("USD")))
+                .andExpect(jsonPath("$[1].subscriptionCount", is(2)))
+                .andExpect(jsonPath("$[1].totalAmount", is(15.5)));
+
+        // Moving a subscription to another currency shifts it between rows
+        mockMvc.perform(put("/api/subscriptions/" + netflix)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson("Netflix", "800.00", "INR")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/analytics/spendByCurrency/" + userId))
+                .andExpect(jsonPath("$[0].subscriptionCount", is(2)))
+                .andExpect(jsonPath("$[0].totalAmount", is(1099.0)))
+                .andExpect(jsonPath("$[1].subscriptionCount", is(1)))
+                .andExpect(jsonPath("$[1].totalAmount", is(5.5)));
+
+        // Deleting the last INR subscriptions removes the INR row entirely
+        int hotstar = netflix + 2;
+        mockMvc.perform(delete("/api/subscriptions/" + netflix)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/subscriptions/" + hotstar)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analytics/spendByCurrency/" + userId))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].currency", is("USD")));
+    }
+
+    @Test
+    public void testReconcileRepairsDriftedSummary() throws Exception {
+        int userId = saveUser("drift-" + System.nanoTime());
+        createSubscription(userId, "Netflix", "10.00", "USD");
+        createSubscription(userId, "Hotstar", "299.00", "INR");
+
+        // Simulate writes that bypassed the service
+        jdbcTemplate.update("UPDATE user_spend_summary SET subscription_count = 7, total_amount = 1"
+                + " WHERE user_id = ? AND currency = 'USD'", userId);
+        jdbcTemplate.update("DELETE FROM user_spend_summary WHERE user_id = ? AND currency = 'INR'", userId);
+        jdbcTemplate.update("INSERT INTO user_spend_summary (user_id, currency, subscription_count, total_amount)"
+                + " VALUES (?, 'EUR', 3, 42)", userId);
+
+        mockMvc.perform(post("/api/admin/spend-summary/reconcile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRepaired").isNumber());
+
+        mockMvc.perform(get("/api/analytics/spendByCurrency/" + userId))
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].currency", is("INR")))
+                .andExpect(jsonPath("$[0].totalAmount", is(299.0)))
+                .andExpect(jsonPath("$[1].currency", is("USD")))
+                .andExpect(jsonPath("$[1].subscriptionCount", is(1)))
+                .andExpect(jsonPath("$[1].totalAmount", is(10.0)));
+    }
+
+    @Test
+    public void testReconcileDoesNotUndoAWriteCommittingDuringAPage() throws Exception {
+        int userId = saveUser("race-" + System.nanoTime());
+        int netflix = createSubscription(userId, "Netflix", "10.00", "USD");
+
+        // The writer updates the amount, then waits to commit until the
+        // reconciler has computed its totals for this user's page
+        CountDownLatch totalsComputed = new CountDownLatch(1);
+        CountDownLatch writerCommitted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            // A repository is an interface proxy, so the spy forwards to it
+            // through its default answer rather than a "real method"
+            Object totals = mockingDetails(subscriptionRepository).getMockCreationSettings().getDefaultAnswer()
+                    .answer(invocation);
+            Collection<?> ids = invocation.getArgument(0);
+            if (ids.contains(userId)) {
+                totalsComputed.countDown();
+                // Gives the writer time to commit, if it can
+                writerCommitted.await(1, TimeUnit.SECONDS);
+            }
+            return totals;
+        }).when(subscriptionRepository).sumByUserAndCurrency(anyCollection());
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                Subscription details = new Subscription();
+                details.setServiceName("Netflix");
+                details.setPlanType("Premium");
+                details.setAmount(new BigDecimal("25.00"));
+                details.setCurrency("USD");
+                subscriptionService.updateSubscription(netflix, details);
+                try {
+                    totalsComputed.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            writerCommitted.countDown();
+        });
+
+        reconciler.reconcileAll();
+        boolean committedDuringPage = writerCommitted.getCount() == 0;
+        writer.get(10, TimeUnit.SECONDS);
+
+        // The write waited for the page instead of being reverted by it
+        assertFalse(committedDuringPage);
+        assertEquals(0, new BigDecimal("25.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT total_amount FROM user_spend_summary WHERE user_id = ? AND currency = 'USD'",
+                BigDecimal.class, userId)));
+    }
+
+    private int saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user).getId();
+    }
+
+    private int createSubscription(int userId, String serviceName, String amount, String currency)
+            throws Exception {
+        String response = mockMvc.perform(post("/api/subscriptions/user/" + userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson(serviceName, amount, currency)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asInt();
+    }
+
+    private String subscriptionJson(String serviceName, String amount, String currency) {
+        return """
+                {"serviceName":"%s","planType":"Premium","amount":%s,"currency":"%s","nextRenewalDate":"%s"}
+                """.formatted(serviceName, amount, currency, LocalDate.now().plusDays(10));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.assessmentapplication.Service.UserService;
+import com.example.assessmentapplication.config.SqlStatsFilter;
+import com.example.assessmentapplication.dto.RegisterRequest;
+import com.example.assessmentapplication.entity.User;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// The test properties don't switch Hibernate statistics or insert ordering
+// on; the shipped ones do
+@SpringBootTest(properties = {
+        "app.sql-metrics.response-header=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+public class SqlMetricsIT {
+
+    private static final int IMPORT_ROWS = 1000;
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sqlStatsFilter.getFilter())
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void testRequestsReportTheirSqlAndTimings() throws Exception {
+        String username = "sql-" + System.nanoTime();
+        User user = userService.registerUser(new RegisterRequest(username, "secret"));
+
+        MvcResult result = mockMvc.perform(get("/api/subscriptions/user/{userId}", user.getId())
+                .with(httpBasic(username, "secret")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String statements = result.getResponse().getHeader("X-SQL-Statements");
+        assertNotNull(statements);
+        assertTrue(Integer.parseInt(statements) > 0, statements);
+        assertNotNull(result.getResponse().getHeader("X-SQL-Rows"));
+
+        DistributionSummary perRequest = meterRegistry.find("http.server.requests.sql.statements")
+                .tag("uri", "/api/subscriptions/user/{userId}")
+                .summary();
+        assertNotNull(perRequest);
+        assertTrue(perRequest.count() >= 1);
+
+        Timer serviceTimer = meterRegistry.find("service.method")
+                .tags("class", "SubscriptionService", "method", "getSubscriptionPage")
+                .timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() >= 1);
+
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations").timer());
+        assertNotNull(meterRegistry.find("hibernate.statements").meter());
+    }
+
+    @Test
+    void testImportWritesRowsInJdbcBatches() throws Exception {
+        String username = "sql-import-" + System.nanoTime();
+        User user = userService.registerUser(new RegisterRequest(username, "secret"));
+        StringBuilder csv = new StringBuilder("userId,serviceName,planType,amount\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append(user.getId()).append(",Service ").append(i).append(",Basic,1.00\n");
+        }
+
+        MvcResult result = mockMvc.perform(post("/api/subscriptions/import").contentType("text/csv")
+                .content(csv.toString())
+                .with(httpBasic(username, "secret")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(IMPORT_ROWS))
+                .andReturn();
+
+        // A round trip per batch of 50 (subscription inserts, outbox inserts,
+        // sequence blocks for each) plus a few lookups: about 90 here, where
+        // unbatched writes would take over 2000
+        long statements = Long.parseLong(result.getResponse().getHeader("X-SQL-Statements"));
+        assertTrue(statements < IMPORT_ROWS / 10, statements + " statements for " + IMPORT_ROWS + " rows");
+    }
+}
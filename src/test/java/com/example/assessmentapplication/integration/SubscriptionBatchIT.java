@@ -0,0 +1,161 @@
+package com.example.assessmentapplication.integration;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.ChangeFeedRelay;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Tiny chunks so a handful of ids already spans several IN-list queries
+@SpringBootTest(properties = { "app.subscriptions.batch.chunk-size=2", "app.subscriptions.batch.max-ids=10" })
+@AutoConfigureMockMvc(addFilters = false)
+public class SubscriptionBatchIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // The statistics count every thread's statements, and the relay's startup
+    // run would sequence other tests' outbox rows while these are counted
+    @MockitoBean
+    private ChangeFeedRelay changeFeedRelay;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testByUserGroupsInRequestOrderWithBoundedQueries() throws Exception {
+        User alice = saveUser("batch-alice-" + System.nanoTime());
+        User bob = saveUser("batch-bob-" + System.nanoTime());
+        User carol = saveUser("batch-carol-" + System.nanoTime());
+        int aliceNetflix = saveSubscription(alice, "Netflix");
+        int aliceSpotify = saveSubscription(alice, "Spotify");
+        int bobHulu = saveSubscription(bob, "Hulu");
+        List<Integer> ids = List.of(bob.getId(), alice.getId(), carol.getId(), Integer.MAX_VALUE);
+
+        statistics.clear();
+        batch("/api/subscriptions/batch/by-user", ids)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].userId", is(bob.getId())))
+                .andExpect(jsonPath("$[0].subscriptions[0].id", is(bobHulu)))
+                .andExpect(jsonPath("$[1].userId", is(alice.getId())))
+                .andExpect(jsonPath("$[1].subscriptions.length()", is(2)))
+                .andExpect(jsonPath("$[1].subscriptions[0].id", is(aliceNetflix)))
+                .andExpect(jsonPath("$[1].subscriptions[1].id", is(aliceSpotify)))
+                .andExpect(jsonPath("$[1].subscriptions[1].user.username", is(alice.getUsername())))
+                .andExpect(jsonPath("$[2].subscriptions.length()", is(0)))
+                .andExpect(jsonPath("$[3].subscriptions.length()", is(0)))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+        // 4 ids in chunks of 2: two queries, not one per user
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        batch("/api/subscriptions/batch/by-user?includeUser=true", ids)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].user.username", is(alice.getUsername())))
+                .andExpect(jsonPath("$[1].user.password").doesNotExist())
+                .andExpect(jsonPath("$[2].user.id", is(carol.getId())))
+                .andExpect(jsonPath("$[3].user").doesNotExist());
+        // Plus one user query per chunk
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testByIdKeepsRequestOrderAndSkipsMissingIds() throws Exception {
+        User user = saveUser("batch-ids-" + System.nanoTime());
+        int first = saveSubscription(user, "First");
+        int second = saveSubscription(user, "Second");
+        int third = saveSubscription(user, "Third");
+
+        statistics.clear();
+        batch("/api/subscriptions/batch/by-id", List.of(third, Integer.MAX_VALUE, first, second, first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].serviceName", is("Third")))
+                .andExpect(jsonPath("$[1].serviceName", is("First")))
+                .andExpect(jsonPath("$[2].serviceName", is("Second")));
+        // The duplicate is dropped before querying: 4 distinct ids, 2 chunks
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testRejectsEmptyAndOversizedBatches() throws Exception {
+        batch("/api/subscriptions/batch/by-user", List.of())
+                .andExpect(status().isBadRequest());
+        batch("/api/subscriptions/batch/by-id", List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions batch(String url, List<Integer> ids) throws Exception {
+        return mockMvc.perform(post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids))));
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private int saveSubscription(User user, String serviceName) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(user);
+        subscription.setServiceName(serviceName);
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("4.99"));
+        subscription.setNextRenewalDate(LocalDate.now().plusDays(3));
+        return subscriptionRepository.save(subscription).getId();
+    }
+}
@@ -5,6 +5,10 @@ import com.example.assessmentapplication.Repository.UserRepository;
 import com.example.assessmentapplication.entity.Subscription;
 import com.example.assessmentapplication.entity.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +19,15 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -38,6 +48,9 @@ public class SubscriptionControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User testUser;
 
     @BeforeEach
@@ -65,7 +78,36 @@ public class SubscriptionControllerIT {
                 .andDo(print())
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.serviceName").value("Netflix"))
-                .andExpect(jsonPath("$.user").exists()); // Should show user since it's returned
+                .andExpect(jsonPath("$.user").exists()) // Should show user since it's returned
+                .andExpect(jsonPath("$.user.username").value("testuser"))
+                .andExpect(jsonPath("$.user.password").doesNotExist());
+    }
+
+    @Test
+    public void testReadsUseProjectionsNotEntities() throws Exception {
+        Subscription saved = saveSubscription("Projected", LocalDate.now().plusDays(1));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            mockMvc.perform(get("/api/subscriptions/user/" + testUser.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].serviceName").value("Projected"))
+                    .andExpect(jsonPath("$[0].user.id").value(testUser.getId()))
+                    .andExpect(jsonPath("$[0].user.username").value("testuser"))
+                    .andExpect(jsonPath("$[0].user.password").doesNotExist());
+            mockMvc.perform(get("/api/subscriptions/" + saved.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.user.username").value("testuser"));
+
+            // Constructor-expression queries hand back DTOs: no entity is
+            // hydrated, and no lazy user proxy is fetched while serializing
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(0, statistics.getEntityFetchCount());
+            assertEquals(2, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 
     @Test
@@ -108,4 +150,157 @@ public class SubscriptionControllerIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
+
+    @Test
+    public void testGetAllSubscriptionsPagesWithCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            saveSubscription("Service " + i, LocalDate.now().plusDays(i));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/subscriptions/user/" + testUser.getId()).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            var result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            List<?> page = objectMapper.readValue(result.getResponse().getContentAsString(), List.class);
+            page.forEach(item -> seen.add((String) ((java.util.Map<?, ?>) item).get("serviceName")));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        assertEquals(List.of("Service 0", "Service 1", "Service 2", "Service 3", "Service 4"), seen);
+    }
+
+    @Test
+    public void testGetAllSubscriptionsSortedByRenewalDatePutsUndatedLast() throws Exception {
+        saveSubscription("Undated", null);
+        saveSubscription("Later", LocalDate.now().plusDays(10));
+        saveSubscription("Sooner", LocalDate.now().plusDays(1));
+
+        var firstPage = mockMvc.perform(get("/api/subscriptions/user/" + testUser.getId())
+                .param("sort", "nextRenewalDate").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].serviceName").value("Sooner"))
+                .andExpect(jsonPath("$[1].serviceName").value("Later"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        var secondPage = mockMvc.perform(get("/api/subscriptions/user/" + testUser.getId())
+                .param("sort", "nextRenewalDate").param("size", "2")
+                .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].serviceName").value("Undated"))
+                .andReturn();
+        assertNull(secondPage.getResponse().getHeader("X-Next-Cursor"));
+    }
+
+    @Test
+    public void testGetAllSubscriptionsRejectsBadCursor() throws Exception {
+        mockMvc.perform(get("/api/subscriptions/user/" + testUser.getId()).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetWithMatchingIfNoneMatchIsNotModified() throws Exception {
+        Subscription saved = saveSubscription("Polled", LocalDate.now().plusDays(3));
+
+        String eTag = mockMvc.perform(get("/api/subscriptions/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/subscriptions/" + saved.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/subscriptions/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes("Polled", "99.00"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(get("/api/subscriptions/" + saved.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(99.00));
+    }
+
+    @Test
+    public void testUpdateWithStaleIfMatchIsRejected() throws Exception {
+        Subscription saved = saveSubscription("Contended", LocalDate.now().plusDays(3));
+
+        // Two clients read version 0; the first write wins...
+        mockMvc.perform(put("/api/subscriptions/" + saved.getId()).header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes("First", "10.00"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // ...and the second is told its copy is stale instead of overwriting
+        mockMvc.perform(put("/api/subscriptions/" + saved.getId()).header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes("Second", "20.00"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(delete("/api/subscriptions/" + saved.getId()).header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/subscriptions/" + saved.getId()))
+                .andExpect(jsonPath("$.serviceName").value("First"));
+
+        mockMvc.perform(delete("/api/subscriptions/" + saved.getId()).header("If-Match", "\"1\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/subscriptions/" + saved.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testWritesAreConditionalStatementsWithoutLoadingEntities() throws Exception {
+        Subscription saved = saveSubscription("Lean", LocalDate.now().plusDays(3));
+        Subscription other = saveSubscription("Doomed", LocalDate.now().plusDays(4));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            mockMvc.perform(put("/api/subscriptions/" + saved.getId()).header("If-Match", "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(changes("Leaner", "3.00"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.user.username").value("testuser"));
+            mockMvc.perform(delete("/api/subscriptions/" + other.getId()))
+                    .andExpect(status().isOk());
+
+            // Per write: the projection read the listeners need, then one
+            // conditional UPDATE/DELETE. No Subscription entity is loaded,
+            // merged or dirty-checked.
+            EntityStatistics subscriptions = statistics.getEntityStatistics(Subscription.class.getName());
+            assertEquals(0, subscriptions.getLoadCount());
+            assertEquals(0, subscriptions.getUpdateCount());
+            assertEquals(0, subscriptions.getDeleteCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private static Subscription changes(String serviceName, String amount) {
+        Subscription changes = new Subscription();
+        changes.setServiceName(serviceName);
+        changes.setPlanType("Premium");
+        changes.setAmount(new BigDecimal(amount));
+        changes.setNextRenewalDate(LocalDate.now().plusDays(5));
+        return changes;
+    }
+
+    private Subscription saveSubscription(String serviceName, LocalDate nextRenewalDate) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(testUser);
+        subscription.setServiceName(serviceName);
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("4.99"));
+        subscription.setNextRenewalDate(nextRenewalDate);
+        return subscriptionRepository.save(subscription);
+    }
 }
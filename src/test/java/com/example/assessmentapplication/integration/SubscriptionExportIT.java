@@ -0,0 +1,192 @@
+package com.example.assessmentapplication.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.ExportFormat;
+import com.example.assessmentapplication.Service.SubscriptionExportService;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+public class SubscriptionExportIT {
+
+    private static final int LARGE_EXPORT_ROWS = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        owner = new User();
+        owner.setUsername("exporter-" + System.nanoTime());
+        owner.setPassword("password");
+        owner = userRepository.save(owner);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Plain SQL so that cleaning up 100k rows doesn't load them all
+        jdbcTemplate.update("DELETE FROM subscriptions WHERE user_id = ?", owner.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception {
+        Subscription subscription = new Subscription();
+        subscription.setUser(owner);
+        subscription.setServiceName("Netflix, \"4K\"");
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("15.99"));
+        subscription.setNextRenewalDate(LocalDate.of(2030, 1, 31));
+        subscriptionRepository.save(subscription);
+
+        MvcResult started = mockMvc.perform(get("/api/admin/subscriptions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        // The long timeout is the export's own, not the global default
+        assertEquals(3_600_000L, started.getRequest().getAsyncContext().getTimeout());
+
+        String body = started.getResponse().getContentAsString();
+        assertTrue(body.contains("{\"id\":" + subscription.getId() + ",\"userId\":" + owner.getId()
+                + ",\"serviceName\":\"Netflix, \\\"4K\\\"\",\"planType\":\"Premium\","
+                + "\"nextRenewalDate\":\"2030-01-31\",\"amount\":15.99,\"currency\":\"USD\"}\n"), body);
+    }
+
+    @Test
+    public void testExportCsv() throws Exception {
+        Subscription subscription = new Subscription();
+        subscription.setUser(owner);
+        subscription.setServiceName("Netflix, \"4K\"");
+        subscription.setPlanType("Premium");
+        subscription.setAmount(new BigDecimal("15.99"));
+        subscriptionRepository.save(subscription);
+
+        MvcResult started = mockMvc.perform(get("/api/admin/subscriptions/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"));
+
+        String body = started.getResponse().getContentAsString();
+        assertTrue(body.startsWith("id,userId,serviceName,planType,nextRenewalDate,amount,currency\n"), body);
+        assertTrue(body.contains(subscription.getId() + "," + owner.getId()
+                + ",\"Netflix, \"\"4K\"\"\",Premium,,15.99,USD\n"), body);
+    }
+
+    @Test
+    public void testLargeExportKeepsMemoryBounded() throws Exception {
+        jdbcTemplate.update("INSERT INTO subscriptions (id, user_id, service_name, plan_type, next_renewal_date,"
+                + " amount, currency) SELECT NEXT VALUE FOR subscriptions_seq, ?, 'Service ' || X, 'Premium',"
+                + " DATE '2030-01-01', 9.99, 'USD' FROM SYSTEM_RANGE(1, ?)", owner.getId(), LARGE_EXPORT_ROWS);
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+
+        MemoryProbe probe = new MemoryProbe(runtime, entityManager);
+        long exported = exportService.export(probe, ExportFormat.NDJSON);
+
+        assertTrue(exported >= LARGE_EXPORT_ROWS);
+        assertEquals(exported, probe.lines);
+        // The persistence context is cleared every 1000 rows, so it never
+        // holds more than one interval's worth of subscriptions
+        assertTrue(probe.maxManagedEntities <= 1_001, "managed entities: " + probe.maxManagedEntities);
+        // Keeping 100k entities attached would retain well over this
+        long retainedGrowth = probe.maxRetainedHeap - baselineHeap;
+        assertTrue(retainedGrowth < 32L * 1024 * 1024, "retained heap grew by " + retainedGrowth + " bytes");
+    }
+
+    /**
+     * Discards the export while sampling how much the persistence context and
+     * the heap are holding on to. It runs inside the export's transaction, so
+     * the shared EntityManager is the one doing the export.
+     */
+    private static class MemoryProbe extends OutputStream {
+        private static final long GC_EVERY_BYTES = 4L * 1024 * 1024;
+
+        private final Runtime runtime;
+        private final EntityManager entityManager;
+        private long bytes;
+        private long nextGcAt = GC_EVERY_BYTES;
+        long lines;
+        long maxManagedEntities;
+        long maxRetainedHeap;
+
+        MemoryProbe(Runtime runtime, EntityManager entityManager) {
+            this.runtime = runtime;
+            this.entityManager = entityManager;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            bytes += length;
+            maxManagedEntities = Math.max(maxManagedEntities,
+                    entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            if (bytes >= nextGcAt) {
+                // A full GC first so we measure what is retained, not garbage
+                System.gc();
+                maxRetainedHeap = Math.max(maxRetainedHeap, runtime.totalMemory() - runtime.freeMemory());
+                nextGcAt += GC_EVERY_BYTES;
+            }
+        }
+    }
+}
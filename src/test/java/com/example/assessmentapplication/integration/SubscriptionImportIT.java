@@ -0,0 +1,168 @@
+package com.example.assessmentapplication.integration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.entity.Subscription;
+import com.example.assessmentapplication.entity.User;
+
+@SpringBootTest(properties = "app.import.max-rows=3000")
+@AutoConfigureMockMvc(addFilters = false)
+public class SubscriptionImportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        owner = new User();
+        owner.setUsername("importer-" + System.nanoTime());
+        owner.setPassword("password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    public void testImportJsonReportsBadRows() throws Exception {
+        String body = """
+                [
+                  {"userId": %1$d, "serviceName": "Netflix", "planType": "Premium", "amount": 15.99,
+                   "nextRenewalDate": "2030-01-01", "currency": "INR"},
+                  {"userId": %1$d, "serviceName": "Spotify", "planType": "Family", "amount": -1},
+                  {"userId": 999999, "serviceName": "Hulu", "planType": "Basic", "amount": 7.99},
+                  {"userId": %1$d, "serviceName": "Disney+", "planType": "Basic", "amount": 8.99}
+                ]
+                """.formatted(owner.getId());
+
+        mockMvc.perform(post("/api/subscriptions/import").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message", containsString("amount")))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("User not found: 999999"))
+                .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+
+        List<Subscription> saved = subscriptionRepository.findByUserId(owner.getId());
+        assertEquals(List.of("Disney+", "Netflix"),
+                saved.stream().map(Subscription::getServiceName).sorted().toList());
+    }
+
+    @Test
+    public void testImportJsonReportsNullRows() throws Exception {
+        String body = """
+                [
+                  {"userId": %1$d, "serviceName": "Netflix", "planType": "Premium", "amount": 15.99},
+                  null,
+                  {"userId": %1$d, "serviceName": "Hulu", "planType": "Basic", "amount": 7.99}
+                ]
+                """.formatted(owner.getId());
+
+        mockMvc.perform(post("/api/subscriptions/import").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    public void testImportCsvBody() throws Exception {
+        String csv = "serviceName,userId,planType,amount,nextRenewalDate\n"
+                + "\"Netflix, \"\"4K\"\"\"," + owner.getId() + ",Premium,15.99,2030-01-01\n"
+                + "Spotify," + owner.getId() + ",Family,not-a-number,\n"
+                + "\n"
+                + "Hulu," + owner.getId() + ",Basic,7.99,\n";
+
+        mockMvc.perform(post("/api/subscriptions/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+
+        List<Subscription> saved = subscriptionRepository.findByUserId(owner.getId());
+        assertEquals(List.of("Hulu", "Netflix, \"4K\""),
+                saved.stream().map(Subscription::getServiceName).sorted().toList());
+    }
+
+    @Test
+    public void testImportCsvFileInChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("userId,serviceName,planType,amount,currency\n");
+        for (int i = 0; i < 2_500; i++) {
+            csv.append(owner.getId()).append(",Service ").append(i).append(",Basic,1.00,USD\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "subscriptions.csv", "text/csv",
+                csv.toString().getBytes());
+
+        mockMvc.perform(multipart("/api/subscriptions/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2_500))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertEquals(2_500, subscriptionRepository.findByUserId(owner.getId()).size());
+    }
+
+    @Test
+    public void testImportCsvWithoutRequiredColumnIsRejected() throws Exception {
+        mockMvc.perform(post("/api/subscriptions/import").contentType("text/csv").content("userId,serviceName\n1,x\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testImportJsonStopsAtTheRowLimitWhileReading() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i <= 3_000; i++) {
+            json.append("{\"userId\": ").append(owner.getId())
+                    .append(", \"serviceName\": \"S\", \"planType\": \"Basic\", \"amount\": 1},");
+        }
+        // Never closed: the limit has to trip before the parser gets here
+        json.append("{\"userId\": ");
+
+        mockMvc.perform(post("/api/subscriptions/import").contentType(MediaType.APPLICATION_JSON)
+                .content(json.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Import is limited to 3000 rows per request"));
+        assertEquals(0, subscriptionRepository.findByUserId(owner.getId()).size());
+    }
+
+    @Test
+    public void testImportMalformedJsonIsRejected() throws Exception {
+        mockMvc.perform(post("/api/subscriptions/import").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/subscriptions/import").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"userId\": \"one\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(startsWith("Malformed JSON at row 1")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.assessmentapplication.integration;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.assessmentapplication.Repository.SubscriptionRepository;
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.Service.SpendSummaryService;
+import com.example.assessmentapplication.dto.CurrencySpend;
+import com.example.assessmentapplication.dto.IngestStatus;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Small groups so a handful of rows already spans several transactions
+@SpringBootTest(properties = { "app.ingest.enabled=true", "app.ingest.group-size=5", "app.ingest.max-delay=20ms" })
+@AutoConfigureMockMvc(addFilters = false)
+public class SubscriptionIngestIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SpendSummaryService spendSummaryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testSubmittedSubscriptionsAreWrittenInGroups() throws Exception {
+        User user = saveUser("ingest-" + System.nanoTime());
+        DistributionSummary groupSizes = meterRegistry.get("subscription.ingest.group.size").summary();
+        long groupsBefore = groupSizes.count();
+        double rowsBefore = groupSizes.totalAmount();
+
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tickets.add(submit(user.getId(), "Service " + i));
+        }
+        for (String ticket : tickets) {
+            IngestStatus written = awaitDone(ticket);
+            assertEquals(IngestStatus.State.WRITTEN, written.state());
+            assertTrue(subscriptionRepository.existsById(written.subscriptionId()));
+        }
+
+        assertEquals(12, subscriptionRepository.findByUserId(user.getId()).size());
+        assertEquals(12, groupSizes.totalAmount() - rowsBefore);
+        assertTrue(groupSizes.count() - groupsBefore < 12, "rows should share transactions");
+        // Created events still reach the spend summary
+        CurrencySpend usd = spendSummaryService.getSpendByCurrency(user.getId()).get(0);
+        assertEquals(12, usd.subscriptionCount());
+        assertEquals(0, new BigDecimal("59.88").compareTo(usd.totalAmount()));
+    }
+
+    @Test
+    public void testUnknownUserFailsOnlyItsOwnTicket() throws Exception {
+        User user = saveUser("ingest-mixed-" + System.nanoTime());
+        String good = submit(user.getId(), "Netflix");
+        String bad = submit(Integer.MAX_VALUE, "Hulu");
+
+        assertEquals(IngestStatus.State.WRITTEN, awaitDone(good).state());
+        IngestStatus failed = awaitDone(bad);
+        assertEquals(IngestStatus.State.FAILED, failed.state());
+        assertEquals("User not found!", failed.error());
+    }
+
+    @Test
+    public void testInvalidSubscriptionIsRejectedUpFront() throws Exception {
+        mockMvc.perform(post("/api/subscriptions/user/1/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("serviceName", "Netflix"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUnknownTicketIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/subscriptions/ingest/no-such-ticket"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String submit(int userId, String serviceName) throws Exception {
+        Map<String, Object> body = Map.of("serviceName", serviceName, "planType", "Basic", "amount", "4.99");
+        String json = mockMvc.perform(post("/api/subscriptions/user/" + userId + "/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/subscriptions/ingest/")))
+                .andExpect(jsonPath("$.state", is("QUEUED")))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, IngestStatus.class).ticket();
+    }
+
+    private IngestStatus awaitDone(String ticket) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String json = mockMvc.perform(get("/api/subscriptions/ingest/" + ticket))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            IngestStatus status = objectMapper.readValue(json, IngestStatus.class);
+            if (status.state() != IngestStatus.State.QUEUED || System.currentTimeMillis() > deadline) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.assessmentapplication.integration;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+public class SubscriptionSearchIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // A made-up word per test, so other tests' subscriptions never match
+    private String word;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random();
+        StringBuilder letters = new StringBuilder("zq");
+        for (int i = 0; i < 8; i++) {
+            letters.append((char) ('a' + random.nextInt(26)));
+        }
+        word = letters.toString();
+        User user = new User();
+        user.setUsername("search-" + System.nanoTime());
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void testPrefixAndTypoMatchesArePaginatedInOrder() throws Exception {
+        int exact = createSubscription(word + "music", "Premium");
+        int other = createSubscription(word + "music", "Basic");
+        int typo = createSubscription(word + "muzic", "Premium");
+        createSubscription(word + "video", "Premium");
+
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", word + "mus prem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(exact)))
+                .andExpect(jsonPath("$[1].id", is(typo)));
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", word + "music").param("fuzzy", "false"))
+                .andExpect(jsonPath("$.length()", is(2)));
+
+        String cursor = mockMvc.perform(get("/api/admin/subscriptions/search")
+                .param("q", word + "music").param("size", "2"))
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(exact)))
+                .andExpect(jsonPath("$[1].id", is(other)))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        String last = mockMvc.perform(get("/api/admin/subscriptions/search")
+                .param("q", word + "music").param("size", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(typo)))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        assertNull(last);
+    }
+
+    @Test
+    void testWritesAreSearchableAfterCommit() throws Exception {
+        int id = createSubscription(word + "stream", "Premium");
+
+        mockMvc.perform(put("/api/subscriptions/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson(word + "radio", "Premium")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", word + "stream").param("fuzzy", "false"))
+                .andExpect(jsonPath("$.length()", is(0)));
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", word + "radio"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(id)));
+
+        mockMvc.perform(delete("/api/subscriptions/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", word + "radio"))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    void testRejectsEmptyQueriesAndBadCursors() throws Exception {
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/subscriptions/search").param("q", "netflix").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private int createSubscription(String serviceName, String planType) throws Exception {
+        String response = mockMvc.perform(post("/api/subscriptions/user/" + userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(subscriptionJson(serviceName, planType)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asInt();
+    }
+
+    private String subscriptionJson(String serviceName, String planType) {
+        return """
+                {"serviceName":"%s","planType":"%s","amount":9.99}
+                """.formatted(serviceName, planType);
+    }
+}
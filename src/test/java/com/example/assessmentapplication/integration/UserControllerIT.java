@@ -2,20 +2,26 @@ package com.example.assessmentapplication.integration;
 
 import org.springframework.test.web.servlet.MockMvc;
 import com.example.assessmentapplication.Repository.UserRepository;
+import com.example.assessmentapplication.entity.Role;
 import com.example.assessmentapplication.entity.User;
 
 import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import org.springframework.http.MediaType;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootTest // Starts the entire SpringBoot App for testing
 @AutoConfigureMockMvc(addFilters = false)
@@ -25,6 +31,8 @@ class UserControllerIT {
         MockMvc mockMvc; // Testing tool that pretends to be a browser or Postman
         @Autowired
         private UserRepository userRepository; // Interface that connects codebase to database
+        @Autowired
+        private PasswordEncoder passwordEncoder;
 
         @Test
         void register_createsUser() throws Exception {
@@ -39,7 +47,57 @@ class UserControllerIT {
                 User saved = userRepository.findByUsername("vignesh").orElse(null);
                 assertNotNull(saved);
                 assertEquals("vignesh", saved.getUsername());
+                // Stored as a salted hash, never as plain text
+                assertTrue(saved.getPassword().startsWith("{bcrypt}"));
+                assertTrue(passwordEncoder.matches("pass123", saved.getPassword()));
+
+        }
 
+        @Test
+        void getUser_neverReturnsThePassword() throws Exception {
+                String username = "getuser-" + System.nanoTime();
+                mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"" + username + "\",\"password\":\"pass123\"}"))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/getUser").param("username", username))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").isNumber())
+                                .andExpect(jsonPath("$.username").value(username))
+                                .andExpect(jsonPath("$.password").doesNotExist())
+                                .andExpect(jsonPath("$.authorities").doesNotExist());
+        }
+
+        @Test
+        void register_ignoresRoleAndId() throws Exception {
+                String existingName = "existing-" + System.nanoTime();
+                mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"" + existingName + "\",\"password\":\"pass123\"}"))
+                                .andExpect(status().isOk());
+                User existing = userRepository.findByUsername(existingName).orElseThrow();
+
+                String username = "sneaky-" + System.nanoTime();
+                mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"id\":" + existing.getId() + ",\"username\":\"" + username
+                                                + "\",\"password\":\"other\",\"role\":\"ADMIN\"}"))
+                                .andExpect(status().isOk());
+
+                User saved = userRepository.findByUsername(username).orElseThrow();
+                assertEquals(Role.USER, saved.getRole());
+                assertNotEquals(existing.getId(), saved.getId());
+                // The account whose id was sent wasn't overwritten
+                User untouched = userRepository.findById(existing.getId()).orElseThrow();
+                assertEquals(existingName, untouched.getUsername());
+                assertEquals(existing.getPassword(), untouched.getPassword());
+        }
+
+        @Test
+        void register_duplicateUsername_isConflict() throws Exception {
+                String userJson = "{\"username\":\"dup-" + System.nanoTime() + "\",\"password\":\"pass123\"}";
+                mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON).content(userJson))
+                                .andExpect(status().isOk());
+                mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON).content(userJson))
+                                .andExpect(status().isConflict());
         }
 
         @Test
@@ -0,0 +1,171 @@
+package com.example.assessmentapplication.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop load generator: `concurrency` clients, each sending the next
+ * request as soon as the previous one has answered, picking operations at
+ * random with the weights below (roughly what the dashboard and mobile app
+ * do: mostly reads, some writes, a few sign-ups).
+ *
+ * Everything goes over real HTTP to the running server, through the security
+ * filters, with HTTP Basic credentials of a seeded user.
+ */
+final class LoadDriver {
+
+    enum Operation {
+        LIST(40, 200),
+        UPCOMING_RENEWALS(20, 200),
+        TOTAL_AMOUNT(20, 200),
+        CREATE(15, 201),
+        REGISTER(5, 200);
+
+        final int weight;
+        final int expectedStatus;
+
+        Operation(int weight, int expectedStatus) {
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    record SeededUser(int id, String authorization) {
+
+        static SeededUser of(int id, String username, String password) {
+            String token = Base64.getEncoder()
+                    .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+            return new SeededUser(id, "Basic " + token);
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Operation.values()).mapToInt(o -> o.weight)
+            .sum();
+
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final int concurrency;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<Operation, Queue<Long>> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong registrations = new AtomicLong();
+    private volatile boolean recording;
+
+    LoadDriver(String baseUrl, List<SeededUser> users, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.concurrency = concurrency;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentLinkedQueue<>());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the mix for warmup (not recorded, lets the JIT and caches settle)
+     * and then for duration, and returns the stats of the measured part.
+     */
+    Map<Operation, OperationStats> run(Duration warmup, Duration duration) throws Exception {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> running = IntStream.range(0, concurrency)
+                    .<Future<?>>mapToObj(i -> clients.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            if (!recording && System.nanoTime() >= warmupEnd) {
+                                recording = true;
+                            }
+                            execute(pick());
+                        }
+                        return null;
+                    }))
+                    .toList();
+            for (Future<?> client : running) {
+                client.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, OperationStats.from(latencies.get(operation), errors.get(operation).sum(), duration));
+        }
+        return stats;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void execute(Operation operation) throws Exception {
+        SeededUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        HttpRequest request = request(operation, user);
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = System.nanoTime() - started;
+        if (!recording) {
+            return;
+        }
+        if (response.statusCode() == operation.expectedStatus) {
+            latencies.get(operation).add(elapsed);
+        } else {
+            errors.get(operation).increment();
+        }
+    }
+
+    private HttpRequest request(Operation operation, SeededUser user) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30))
+                .header("Authorization", user.authorization());
+        return switch (operation) {
+            case LIST -> builder.uri(uri("/api/subscriptions/user/" + user.id() + "?size=20")).GET().build();
+            case UPCOMING_RENEWALS -> builder.uri(uri("/api/analytics/upcomingRenewals/" + user.id())).GET().build();
+            case TOTAL_AMOUNT -> builder.uri(uri("/api/analytics/totalAmount/" + user.id())).GET().build();
+            case CREATE -> builder.uri(uri("/api/subscriptions/user/" + user.id()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"serviceName":"Load %d","planType":"Premium","amount":9.99,"currency":"USD","nextRenewalDate":"%s"}
+                            """.formatted(System.nanoTime(), LocalDate.now().plusDays(
+                            ThreadLocalRandom.current().nextInt(1, 60)))))
+                    .build();
+            case REGISTER -> HttpRequest.newBuilder().timeout(Duration.ofSeconds(30))
+                    .uri(uri("/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"username":"load-new-%d-%d","password":"secret"}
+                            """.formatted(System.nanoTime(), registrations.incrementAndGet())))
+                    .build();
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
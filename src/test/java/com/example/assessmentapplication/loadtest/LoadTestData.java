@@ -0,0 +1,45 @@
+package com.example.assessmentapplication.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.assessmentapplication.Service.SpendSummaryReconciler;
+import com.example.assessmentapplication.loadtest.LoadDriver.SeededUser;
+
+/**
+ * Seeds the users and subscriptions the load tests log in as. Usernames are
+ * load-0, load-1, ... and all share one password.
+ */
+final class LoadTestData {
+
+    static final String PASSWORD = "load-password";
+
+    private LoadTestData() {
+    }
+
+    // Set-based inserts: seeding through the API would take longer than the test
+    static List<SeededUser> seed(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+            SpendSummaryReconciler spendSummaryReconciler, int userCount, int subscriptionsPerUser) {
+        String hash = passwordEncoder.encode(PASSWORD); // Same password for everyone, hash once
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            rows.add(new Object[] { "load-" + i, hash });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, role) VALUES (?, ?, 'USER')", rows);
+        jdbcTemplate.update("INSERT INTO subscriptions"
+                + " (id, user_id, service_name, plan_type, next_renewal_date, amount, currency)"
+                + " SELECT NEXT VALUE FOR subscriptions_seq, u.id, 'Service ' || X, 'Premium',"
+                + " DATEADD('DAY', MOD(X + u.id, 60), CURRENT_DATE), 1 + MOD(X, 20), 'USD'"
+                + " FROM users u CROSS JOIN SYSTEM_RANGE(1, ?) WHERE u.username LIKE 'load-%'",
+                subscriptionsPerUser);
+        spendSummaryReconciler.reconcileAll(); // Summary rows for the seeded data
+
+        List<SeededUser> users = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE 'load-%' ORDER BY id",
+                (rs, rowNum) -> users.add(SeededUser.of(rs.getInt("id"), rs.getString("username"), PASSWORD)));
+        return users;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.assessmentapplication.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Latency percentiles (milliseconds) and throughput of one operation over the
+ * measured part of a load test run.
+ */
+public record OperationStats(long requests, long errors, double p50Ms, double p95Ms, double p99Ms,
+        double throughputPerSec) {
+
+    static OperationStats from(Collection<Long> latenciesNanos, long errors, Duration measured) {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        double seconds = measured.toNanos() / 1e9;
+        return new OperationStats(sorted.length, errors, percentileMs(sorted, 50), percentileMs(sorted, 95),
+                percentileMs(sorted, 99), sorted.length / seconds);
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMs(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.assessmentapplication.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.assessmentapplication.Service.SpendSummaryReconciler;
+import com.example.assessmentapplication.loadtest.LoadDriver.Operation;
+import com.example.assessmentapplication.loadtest.LoadDriver.SeededUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Load test with regression gates. Only runs with -Ploadtest.
+ *
+ * Boots the whole application on a random port with its own H2 database,
+ * seeds users and subscriptions, drives the LoadDriver mix over real HTTP and
+ * compares p50/p95/p99 and throughput per operation with
+ * src/test/resources/loadtest/baseline.json. The run fails if any percentile
+ * is slower, or any throughput lower, than the baseline by more than
+ * loadtest.tolerance, or if any request failed.
+ *
+ * Tunables (-D on the mvn command line):
+ * loadtest.concurrency (8), loadtest.warmup (5s), loadtest.duration (20s),
+ * loadtest.users (200), loadtest.subscriptions-per-user (25),
+ * loadtest.tolerance (0.5 = 50%), loadtest.update-baseline (false).
+ *
+ * Baselines depend on the machine: record them with update-baseline=true on
+ * the machine (CI runner) that enforces them. Results of every run are
+ * written to target/loadtest/results.json.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        // Logging every statement would be the bottleneck
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "management.tracing.enabled=false",
+        // Every request is an HTTP Basic login; pin the cost so runs compare
+        "app.security.password.bcrypt-strength=${loadtest.bcrypt-strength:4}"
+})
+class SubscriptionLoadIT {
+
+    private static final String BASELINE = "loadtest/baseline.json";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    SpendSummaryReconciler spendSummaryReconciler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void latencyAndThroughputStayWithinBaseline() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+        Duration warmup = duration("loadtest.warmup", "5s");
+        Duration measured = duration("loadtest.duration", "20s");
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.5"));
+
+        List<SeededUser> users = LoadTestData.seed(jdbcTemplate, passwordEncoder, spendSummaryReconciler,
+                Integer.getInteger("loadtest.users", 200), Integer.getInteger("loadtest.subscriptions-per-user", 25));
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, users, concurrency);
+        Map<Operation, OperationStats> results = driver.run(warmup, measured);
+
+        Map<String, OperationStats> byName = new LinkedHashMap<>();
+        results.forEach((operation, stats) -> byName.put(operation.name(), stats));
+        Path resultFile = Path.of("target", "loadtest", "results.json");
+        Files.createDirectories(resultFile.getParent());
+        objectMapper.writeValue(resultFile.toFile(), byName);
+        print(byName, concurrency, measured);
+
+        if (Boolean.getBoolean("loadtest.update-baseline")) {
+            Path baseline = Path.of(System.getProperty("basedir", "."), "src", "test", "resources", BASELINE);
+            objectMapper.writeValue(baseline.toFile(), byName);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+
+        List<String> failures = compare(byName, readBaseline(), tolerance);
+        assertTrue(failures.isEmpty(), "Load test regressed:\n" + String.join("\n", failures));
+    }
+
+    private Map<String, OperationStats> readBaseline() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(BASELINE)) {
+            if (in == null) {
+                throw new IllegalStateException("No " + BASELINE + ", record one with -Dloadtest.update-baseline=true");
+            }
+            return objectMapper.readValue(in, new TypeReference<Map<String, OperationStats>>() {
+            });
+        }
+    }
+
+    private static List<String> compare(Map<String, OperationStats> results, Map<String, OperationStats> baseline,
+            double tolerance) {
+        List<String> failures = new ArrayList<>();
+        results.forEach((name, now) -> {
+            if (now.errors() > 0) {
+                failures.add(name + ": " + now.errors() + " failed requests");
+            }
+            OperationStats before = baseline.get(name);
+            if (before == null) {
+                return; // New operation, nothing to compare with yet
+            }
+            checkMax(failures, name, "p50", now.p50Ms(), before.p50Ms(), tolerance);
+            checkMax(failures, name, "p95", now.p95Ms(), before.p95Ms(), tolerance);
+            checkMax(failures, name, "p99", now.p99Ms(), before.p99Ms(), tolerance);
+            double minThroughput = before.throughputPerSec() * (1 - tolerance);
+            if (now.throughputPerSec() < minThroughput) {
+                failures.add(String.format("%s: throughput %.1f/s below %.1f/s (baseline %.1f/s)", name,
+                        now.throughputPerSec(), minThroughput, before.throughputPerSec()));
+            }
+        });
+        return failures;
+    }
+
+    private static void checkMax(List<String> failures, String name, String metric, double now, double baseline,
+            double tolerance) {
+        double limit = baseline * (1 + tolerance);
+        if (now > limit) {
+            failures.add(String.format("%s: %s %.1f ms above %.1f ms (baseline %.1f ms)", name, metric, now, limit,
+                    baseline));
+        }
+    }
+
+    private static void print(Map<String, OperationStats> results, int concurrency, Duration measured) {
+        System.out.printf("%nLoad test: %d clients, %ds measured%n", concurrency, measured.toSeconds());
+        System.out.printf("%-18s %9s %7s %9s %9s %9s %10s%n", "operation", "requests", "errors", "p50 ms", "p95 ms",
+                "p99 ms", "req/s");
+        results.forEach((name, s) -> System.out.printf("%-18s %9d %7d %9.1f %9.1f %9.1f %10.1f%n", name,
+                s.requests(), s.errors(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.throughputPerSec()));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
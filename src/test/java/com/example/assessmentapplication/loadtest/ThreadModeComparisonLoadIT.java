@@ -0,0 +1,163 @@
+package com.example.assessmentapplication.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.assessmentapplication.AssessmentApplication;
+import com.example.assessmentapplication.Service.SpendSummaryReconciler;
+import com.example.assessmentapplication.loadtest.LoadDriver.Operation;
+import com.example.assessmentapplication.loadtest.LoadDriver.SeededUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Platform threads vs virtual threads under many concurrent clients. Only
+ * runs with -Ploadtest, and only on Java 21+ (skipped otherwise):
+ *
+ * mvn -B -Pjava21,loadtest verify -Dit.test=ThreadModeComparisonLoadIT
+ *
+ * Boots the application twice, once per mode (spring.threads.virtual.enabled),
+ * each with its own H2 database, and drives the LoadDriver mix with
+ * loadtest.thread-modes.clients (1000) clients. For each mode it records
+ * throughput, latency percentiles, peak heap, peak RSS and peak live threads.
+ *
+ * The clients run in this JVM too, so heap, RSS and thread counts include
+ * them; they are the same for both modes, compare the difference. There is
+ * no baseline gate: results go to target/loadtest/thread-modes.json and the
+ * console. The run only fails if no requests completed.
+ *
+ * Tunables: loadtest.thread-modes.clients (1000), loadtest.warmup (5s),
+ * loadtest.duration (20s), loadtest.users (200),
+ * loadtest.subscriptions-per-user (25).
+ */
+class ThreadModeComparisonLoadIT {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record ModeResult(long requests, long errors, double throughputPerSec, double p50Ms, double p99Ms,
+            long peakHeapMb, long peakRssMb, int peakThreads, Map<String, OperationStats> operations) {
+    }
+
+    @Test
+    void compareThroughputAndMemory() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21, build with -Pjava21");
+        int clients = Integer.getInteger("loadtest.thread-modes.clients", 1000);
+        Duration warmup = duration("loadtest.warmup", "5s");
+        Duration measured = duration("loadtest.duration", "20s");
+
+        Map<String, ModeResult> results = new LinkedHashMap<>();
+        results.put("platform", run(false, clients, warmup, measured));
+        results.put("virtual", run(true, clients, warmup, measured));
+
+        Path resultFile = Path.of("target", "loadtest", "thread-modes.json");
+        Files.createDirectories(resultFile.getParent());
+        objectMapper.writeValue(resultFile.toFile(), results);
+        print(results, clients, measured);
+
+        results.forEach((mode, result) -> assertTrue(result.requests() > 0, mode + ": no requests completed"));
+    }
+
+    private ModeResult run(boolean virtual, int clients, Duration warmup, Duration measured) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AssessmentApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:threadmode_" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.threads.virtual.enabled=" + virtual,
+                // Logging every statement would be the bottleneck
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--management.tracing.enabled=false",
+                "--app.security.password.bcrypt-strength=4",
+                // Every client may be waiting for a hash at once; queue them rather than shed
+                "--app.security.password.queue-capacity=" + clients,
+                "--app.security.password.max-wait=60s")) {
+            List<SeededUser> users = LoadTestData.seed(context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoder.class), context.getBean(SpendSummaryReconciler.class),
+                    Integer.getInteger("loadtest.users", 200),
+                    Integer.getInteger("loadtest.subscriptions-per-user", 25));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            System.gc(); // Start both modes from a similar heap
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            AtomicLong peakHeap = new AtomicLong();
+            AtomicLong peakRss = new AtomicLong();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                peakHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                        Math::max);
+                peakRss.accumulateAndGet(residentSetBytes(), Math::max);
+            }, 0, 100, TimeUnit.MILLISECONDS);
+            Map<Operation, OperationStats> stats;
+            try {
+                stats = new LoadDriver("http://localhost:" + port, users, clients).run(warmup, measured);
+            } finally {
+                sampler.shutdownNow();
+            }
+            return summarize(stats, measured, peakHeap.get(), peakRss.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    private static ModeResult summarize(Map<Operation, OperationStats> stats, Duration measured, long peakHeap,
+            long peakRss, int peakThreads) {
+        Map<String, OperationStats> byName = new LinkedHashMap<>();
+        stats.forEach((operation, s) -> byName.put(operation.name(), s));
+        long requests = byName.values().stream().mapToLong(OperationStats::requests).sum();
+        long errors = byName.values().stream().mapToLong(OperationStats::errors).sum();
+        // Request-weighted across operations; the per-operation percentiles are in the JSON
+        double p50 = byName.values().stream().mapToDouble(s -> s.p50Ms() * s.requests()).sum() / Math.max(1, requests);
+        double p99 = byName.values().stream().mapToDouble(OperationStats::p99Ms).max().orElse(0);
+        return new ModeResult(requests, errors, requests / (measured.toNanos() / 1e9), p50, p99,
+                peakHeap / (1024 * 1024), peakRss / (1024 * 1024), peakThreads, byName);
+    }
+
+    // VmRSS from /proc (Linux only); 0 elsewhere
+    private static long residentSetBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not available on this platform
+        }
+        return 0;
+    }
+
+    private static void print(Map<String, ModeResult> results, int clients, Duration measured) {
+        System.out.printf("%nThread modes: %d clients, %ds measured%n", clients, measured.toSeconds());
+        System.out.printf("%-9s %9s %7s %9s %9s %9s %9s %9s %8s%n", "mode", "requests", "errors", "req/s", "p50 ms",
+                "max p99", "heap MB", "rss MB", "threads");
+        results.forEach((mode, r) -> System.out.printf("%-9s %9d %7d %9.1f %9.1f %9.1f %9d %9d %8d%n", mode,
+                r.requests(), r.errors(), r.throughputPerSec(), r.p50Ms(), r.p99Ms(), r.peakHeapMb(), r.peakRssMb(),
+                r.peakThreads()));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}